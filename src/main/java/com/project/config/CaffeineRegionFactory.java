@@ -0,0 +1,123 @@
+package com.project.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//!!! Hibernate ikinci seviye cache'i icin uygulama ici Caffeine region'lari. Her region (entity ve ##NaturalId)
+//  ayri bir cache, en fazla maxEntriesPerRegion kayit tutar; hit/miss, eviction ve hit orani Micrometer'dan okunur
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    public static final String HIT_RATIO_GAUGE = "entity.cache.hit.ratio";
+
+    private final transient MeterRegistry meterRegistry;
+    private final long maxEntriesPerRegion;
+    private final transient Map<String, Cache<Object, Object>> caches = new ConcurrentHashMap<>();
+
+    public CaffeineRegionFactory(MeterRegistry meterRegistry, long maxEntriesPerRegion) {
+        this.meterRegistry = meterRegistry;
+        this.maxEntriesPerRegion = maxEntriesPerRegion;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+        // region'lar ilk kullanildiklarinda olusturulur
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        caches.values().forEach(Cache::invalidateAll);
+        caches.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return new CaffeineStorageAccess(caches.computeIfAbsent(regionConfig.getRegionName(), this::boundedCache));
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(caches.computeIfAbsent(regionName, this::boundedCache));
+    }
+
+    //!!! timestamp region'i tablo basina tek kayit tutar, silinirse query cache bayat sonuc donebilir: sinirsiz
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(caches.computeIfAbsent(regionName, name -> Caffeine.newBuilder().build()));
+    }
+
+    private Cache<Object, Object> boundedCache(String regionName) {
+        Cache<Object, Object> cache = Caffeine.newBuilder()
+                .maximumSize(maxEntriesPerRegion)
+                .recordStats()
+                .build();
+        //!!! com.project.entity.concretes.user.UserRole##NaturalId -> UserRole##NaturalId
+        String name = regionName.substring(regionName.lastIndexOf('.') + 1);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        Gauge.builder(HIT_RATIO_GAUGE, cache, c -> c.stats().hitRate())
+                .description("Share of second-level cache lookups served from the region")
+                .tag("cache", name)
+                .register(meterRegistry);
+        return cache;
+    }
+
+    private static class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+        private final Cache<Object, Object> cache;
+
+        private CaffeineStorageAccess(Cache<Object, Object> cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return cache.getIfPresent(key);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (value == null) {
+                cache.invalidate(key);
+            } else {
+                cache.put(key, value);
+            }
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return cache.asMap().containsKey(key);
+        }
+
+        @Override
+        public void evictData() {
+            cache.invalidateAll();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            cache.invalidate(key);
+        }
+
+        @Override
+        public void release() {
+            cache.invalidateAll();
+        }
+    }
+}
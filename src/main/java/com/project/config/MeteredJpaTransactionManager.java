@@ -0,0 +1,72 @@
+package com.project.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+
+//!!! Her transaction'in basindan sonuna kadar gecen sure (connection'in tutuldugu sure) app.transaction timer'ina yazilir.
+//  EntityManager istek boyunca acik (PersistenceContextConfig) oldugu icin session burada read-only yapilmaz;
+//  sadece okuma endpoint'lerinin sorgulari org.hibernate.readOnly hint'i ile entity'leri snapshot'siz yukler
+public class MeteredJpaTransactionManager extends JpaTransactionManager {
+
+    public static final String TRANSACTION_TIMER = "app.transaction";
+
+    private final transient MeterRegistry meterRegistry;
+
+    //!!! REQUIRES_NEW icteki transaction'i disardakinin ustune acar, ayni thread'de LIFO kapanirlar
+    private final transient ThreadLocal<Deque<ActiveTransaction>> activeTransactions =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    public MeteredJpaTransactionManager(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        long startedAt = System.nanoTime();
+        super.doBegin(transaction, definition);
+        activeTransactions.get().push(new ActiveTransaction(timerName(definition.getName()), definition.isReadOnly(),
+                startedAt));
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        ActiveTransaction active = activeTransactions.get().poll();
+        super.doCleanupAfterCompletion(transaction);
+        if (active != null) {
+            Timer.builder(TRANSACTION_TIMER)
+                    .description("Time a transaction holds its database connection")
+                    .tag("name", active.name)
+                    .tag("readOnly", String.valueOf(active.readOnly))
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - active.startedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    //!!! @Transactional isimleri paket dahil gelir: com.project.service.business.MeetService.getAll -> MeetService.getAll
+    private String timerName(String transactionName) {
+        if (transactionName == null) {
+            return "programmatic";
+        }
+        int methodDot = transactionName.lastIndexOf('.');
+        int classDot = methodDot > 0 ? transactionName.lastIndexOf('.', methodDot - 1) : -1;
+        return transactionName.substring(classDot + 1);
+    }
+
+    private static class ActiveTransaction {
+        private final String name;
+        private final boolean readOnly;
+        private final long startedAt;
+
+        private ActiveTransaction(String name, boolean readOnly, long startedAt) {
+            this.name = name;
+            this.readOnly = readOnly;
+            this.startedAt = startedAt;
+        }
+    }
+}
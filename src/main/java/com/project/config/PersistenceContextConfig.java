@@ -0,0 +1,62 @@
+package com.project.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.SharedCacheMode;
+
+@Configuration
+public class PersistenceContextConfig {
+
+    // !!! EntityManager security filtrelerinden once aciliyor; AuthTokenFilter'in yukledigi kullanici
+    //  servislerde de managed kalir, lazy alanlar okunabilir ve save icin tekrar SELECT atilmaz.
+    //  Bu yuzden spring.jpa.open-in-view kapali, interceptor yerine bu filtre kullaniliyor.
+    @Bean
+    public FilterRegistrationBean<OpenEntityManagerInViewFilter> openEntityManagerInViewFilter(
+            EntityManagerFactory entityManagerFactory) {
+        OpenEntityManagerInViewFilter filter = new OpenEntityManagerInViewFilter() {
+            @Override
+            protected EntityManagerFactory lookupEntityManagerFactory() {
+                return entityManagerFactory;
+            }
+        };
+        FilterRegistrationBean<OpenEntityManagerInViewFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    //!!! Boot'un JpaTransactionManager'i yerine; spring.transaction.* ayarlari customizer'larla yine uygulanir
+    @Bean
+    public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+                                                         MeterRegistry meterRegistry,
+                                                         ObjectProvider<TransactionManagerCustomizers> customizers) {
+        MeteredJpaTransactionManager transactionManager = new MeteredJpaTransactionManager(meterRegistry);
+        transactionManager.setEntityManagerFactory(entityManagerFactory);
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+    //!!! ikinci seviye cache sadece @Cacheable entity'ler icin (rol, ders, egitim donemi gibi nadiren degisen veriler)
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            MeterRegistry meterRegistry,
+            @Value("${backendapi.app.entityCache.maxEntriesPerRegion:1000}") long maxEntriesPerRegion) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY,
+                    new CaffeineRegionFactory(meterRegistry, maxEntriesPerRegion));
+            properties.put(AvailableSettings.JPA_SHARED_CACHE_MODE, SharedCacheMode.ENABLE_SELECTIVE);
+        };
+    }
+}
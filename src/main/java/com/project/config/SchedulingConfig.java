@@ -0,0 +1,10 @@
+package com.project.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+//!!! periyodik arka plan isleri (ornegin silinen kullanicilarin purge taramasi) icin
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -4,6 +4,7 @@ import com.project.contactMessage.dto.ContactMessageRequest;
 import com.project.contactMessage.dto.ContactMessageResponse;
 import com.project.contactMessage.entity.ContactMessage;
 import com.project.contactMessage.service.ContactMessageService;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -38,6 +39,17 @@ public class ContactMessageController {
         return contactMessageService.getAll(page,size,sort,type);
     }
 
+    @GetMapping(value = "/getAll", params = "after") // http://localhost:8080/contactMessages/getAll?after= + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public KeysetSlice<ContactMessageResponse> getAllByCursor(
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size",defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "dateTime") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ){
+        return contactMessageService.getAllByCursor(after,size,sort,type);
+    }
+
     @GetMapping("/searchByEmail") // http://localhost:8080/contactMessages/searchByEmail?email=aaa@bbb.com + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public Page<ContactMessageResponse> searchByEmail(
@@ -50,6 +62,18 @@ public class ContactMessageController {
         return contactMessageService.searchByEmail(email,page,size,sort,type);
     }
 
+    @GetMapping(value = "/searchByEmail", params = "after") // http://localhost:8080/contactMessages/searchByEmail?email=aaa@bbb.com&after= + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public KeysetSlice<ContactMessageResponse> searchByEmailWithCursor(
+            @RequestParam(value = "email") String email,
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size",defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "dateTime") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ){
+        return contactMessageService.searchByEmailWithCursor(email,after,size,sort,type);
+    }
+
     @GetMapping("/searchBySubject") // http://localhost:8080/contactMessages/searchBySubject?subject=deneme + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public Page<ContactMessageResponse> searchBySubject(
@@ -62,6 +86,18 @@ public class ContactMessageController {
         return contactMessageService.searchBySubject(subject,page,size,sort,type);
     }
 
+    @GetMapping(value = "/searchBySubject", params = "after") // http://localhost:8080/contactMessages/searchBySubject?subject=deneme&after= + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public KeysetSlice<ContactMessageResponse> searchBySubjectWithCursor(
+            @RequestParam(value = "subject") String subject,
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size",defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "dateTime") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ){
+        return contactMessageService.searchBySubjectWithCursor(subject,after,size,sort,type);
+    }
+
     @DeleteMapping("/deleteById/{contactMessageId}")  // http://localhost:8080/contactMessages/deleteById/3 + DELETE
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public ResponseEntity<String> deleteByIdPath(@PathVariable Long contactMessageId){
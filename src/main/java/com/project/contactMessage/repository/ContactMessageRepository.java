@@ -2,25 +2,35 @@ package com.project.contactMessage.repository;
 
 import com.project.contactMessage.dto.ContactMessageResponse;
 import com.project.contactMessage.entity.ContactMessage;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.bind.annotation.PathVariable;
 
-import java.time.LocalDate;
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ContactMessageRepository extends JpaRepository<ContactMessage,Long> {
-    Page<ContactMessage> findByEmailEquals(String email, Pageable pageable);
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT c FROM ContactMessage c")
+    List<ContactMessage> findPageContent(Pageable pageable);
 
-    Page<ContactMessage> findBySubjectEquals(String subject, Pageable pageable);
+    List<ContactMessage> findByEmailEquals(String email, Pageable pageable);
 
-   @Query("SELECT c FROM ContactMessage c WHERE FUNCTION('DATE', c.dateTime) BETWEEN ?1 and ?2")
-    List<ContactMessage> findMessagesBetweenDates(LocalDate beginDate, LocalDate endDate);
+    long countByEmailEquals(String email);
+
+    List<ContactMessage> findBySubjectEquals(String subject, Pageable pageable);
+
+    long countBySubjectEquals(String subject);
+
+   //!!! kolon fonksiyona sokulmadan aralik olarak aranir, boylece ix_contact_message_date_time kullanilabilir
+   @Query("SELECT c FROM ContactMessage c WHERE c.dateTime >= ?1 AND c.dateTime < ?2")
+    List<ContactMessage> findMessagesBetweenDates(LocalDateTime begin, LocalDateTime endExclusive);
 
    @Query("SELECT c FROM ContactMessage c WHERE " +
             "(EXTRACT(HOUR FROM c.dateTime) BETWEEN :startH AND :endH) AND " +
@@ -8,7 +8,11 @@ import com.project.contactMessage.messages.Messages;
 import com.project.contactMessage.repository.ContactMessageRepository;
 import com.project.exception.ConflictException;
 import com.project.exception.ResourceNotFoundException;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.PageCountHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -16,6 +20,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
@@ -28,7 +33,10 @@ public class ContactMessageService {
 
     private final ContactMessageRepository contactMessageRepository;
     private final ContactMessageMapper contactMessageMapper;
+    private final KeysetPageHelper keysetPageHelper;
+    private final PageCountHelper pageCountHelper;
 
+    @Transactional
     public ResponseMessage<ContactMessageResponse> save(ContactMessageRequest contactMessageRequest) {
 
         // DTO--> POJO
@@ -43,6 +51,7 @@ public class ContactMessageService {
                .build();
     }
 
+    @Transactional(readOnly = true)
     public Page<ContactMessageResponse> getAll(int page, int size, String sort, String type) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
@@ -50,9 +59,18 @@ public class ContactMessageService {
             pageable = PageRequest.of(page, size, Sort.by(sort).descending());
         }
 
-        return contactMessageRepository.findAll(pageable).map(contactMessageMapper::contactMessageToResponse);
+        return pageCountHelper.getPage(contactMessageRepository.findPageContent(pageable), pageable,
+                CountStrategy.ESTIMATED, "contact_message", contactMessageRepository::count,
+                contactMessageMapper::contactMessageToResponse);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<ContactMessageResponse> getAllByCursor(String after, int size, String sort, String type) {
+        return keysetPageHelper.findSlice(ContactMessage.class, null, sort, type, size, after,
+                contactMessageMapper::contactMessageToResponse);
+    }
+
+    @Transactional(readOnly = true)
     public Page<ContactMessageResponse> searchByEmail(String email, int page, int size, String sort, String type) {
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
@@ -60,19 +78,43 @@ public class ContactMessageService {
             pageable = PageRequest.of(page, size, Sort.by(sort).descending());
         }
 
-        return contactMessageRepository.findByEmailEquals(email, pageable).map(contactMessageMapper::contactMessageToResponse);
+        return pageCountHelper.getPage(contactMessageRepository.findByEmailEquals(email, pageable), pageable,
+                CountStrategy.CACHED, "contactMessage:email:" + email,
+                () -> contactMessageRepository.countByEmailEquals(email),
+                contactMessageMapper::contactMessageToResponse);
         //return contactMessageRepository.findByEmailEquals(email, pageable).map(e->contactMessageMapper.contactMessageToResponse(e));
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<ContactMessageResponse> searchByEmailWithCursor(String email, String after, int size, String sort,
+                                                                      String type) {
+        return keysetPageHelper.findSlice(ContactMessage.class,
+                (root, query, cb) -> cb.equal(root.get("email"), email),
+                sort, type, size, after, contactMessageMapper::contactMessageToResponse);
+    }
+
+    @Transactional(readOnly = true)
     public Page<ContactMessageResponse> searchBySubject(String subject, int page, int size, String sort, String type) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
         if(Objects.equals(type, "desc")) {
             pageable = PageRequest.of(page, size, Sort.by(sort).descending());
         }
 
-        return contactMessageRepository.findBySubjectEquals(subject, pageable).map(contactMessageMapper::contactMessageToResponse);
+        return pageCountHelper.getPage(contactMessageRepository.findBySubjectEquals(subject, pageable), pageable,
+                CountStrategy.CACHED, "contactMessage:subject:" + subject,
+                () -> contactMessageRepository.countBySubjectEquals(subject),
+                contactMessageMapper::contactMessageToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetSlice<ContactMessageResponse> searchBySubjectWithCursor(String subject, String after, int size,
+                                                                        String sort, String type) {
+        return keysetPageHelper.findSlice(ContactMessage.class,
+                (root, query, cb) -> cb.equal(root.get("subject"), subject),
+                sort, type, size, after, contactMessageMapper::contactMessageToResponse);
     }
 
+    @Transactional
     public String deleteById(Long contactMessageId) {
         getContactMessageById(contactMessageId);
         contactMessageRepository.deleteById(contactMessageId);
@@ -85,16 +127,20 @@ public class ContactMessageService {
         );
     }
 
+    @Transactional(readOnly = true)
     public List<ContactMessage> searchByDateBetween(String beginDateString, String endDateString) {
         try {
             LocalDate beginDate = LocalDate.parse(beginDateString);
             LocalDate endDate = LocalDate.parse(endDateString);
-            return contactMessageRepository.findMessagesBetweenDates(beginDate,endDate);
+            //!!! bitis gunu dahil: [beginDate 00:00, endDate + 1 gun 00:00)
+            return contactMessageRepository.findMessagesBetweenDates(beginDate.atStartOfDay(),
+                    endDate.plusDays(1).atStartOfDay());
         } catch (DateTimeParseException e) {
             throw new ConflictException(Messages.WRONG_DATE_FORMAT);
         }
     }
 
+    @Transactional(readOnly = true)
     public List<ContactMessage> searchBetweenTimes(String startHour, String startMinute, String endHour, String endMinute) {
 
         try {
@@ -24,9 +24,10 @@ public class AuthenticationController {
     private final AuthenticationService authenticationService;
 
     @PostMapping("/login") // http://localhost:8080/auth/login  + POST + JSON
-    public ResponseEntity<AuthResponse> authenticateUser(@RequestBody @Valid LoginRequest loginRequest){
+    public ResponseEntity<AuthResponse> authenticateUser(@RequestBody @Valid LoginRequest loginRequest,
+                                                         HttpServletRequest request){
 
-        return authenticationService.authenticateUser(loginRequest);
+        return authenticationService.authenticateUser(loginRequest, request.getRemoteAddr());
     }
 
 
@@ -7,7 +7,9 @@ import com.project.payload.response.UserResponse;
 import com.project.payload.response.abstracts.BaseUserResponse;
 import com.project.service.UserService;
 import lombok.RequiredArgsConstructor;
+import com.project.payload.response.KeysetSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -45,6 +47,19 @@ public class UserController {
         return new ResponseEntity<>(adminsOrDeans, HttpStatus.OK);
     }
 
+    //!!! "after" parametresi gelirse offset yerine keyset sayfalama calisir, ilk sayfa icin after bos gonderilir
+    @GetMapping(value = "/getAllUserByPage/{userRole}", params = "after") // http://localhost:8080/user/getAllUserByPage/Admin?after=  + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public ResponseEntity<KeysetSlice<UserResponse>> getUserByCursor(
+            @PathVariable String userRole,
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "name") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ) {
+        return ResponseEntity.ok(userService.getUserByCursor(after, size, sort, type, userRole));
+    }
+
     @GetMapping("/getUserById/{userId}")  // http://localhost:8080/user/getUserById/1  + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER')")
     public ResponseMessage<BaseUserResponse> getUserById(@PathVariable Long userId) {
@@ -61,8 +76,10 @@ public class UserController {
     @PutMapping("/update/{userId}") // http://localhost:8080/user/update/3 + PUT  + JSON
     @PreAuthorize("hasAuthority('ADMIN')")
     public ResponseMessage<BaseUserResponse> updateAdminDeanViceDeanForAdmin(@RequestBody @Valid UserRequest userRequest,
-                                                                             @PathVariable Long userId) {
-        return userService.updateUser(userRequest, userId);
+                                                                             @PathVariable Long userId,
+                                                                             @RequestHeader(value = HttpHeaders.IF_MATCH,
+                                                                                     required = false) String ifMatch) {
+        return userService.updateUser(userRequest, userId, ifMatch);
     }
 
     @PatchMapping("/updateUser") // http://localhost:8080/user/updateUser + PATCH + JSON
@@ -79,6 +96,17 @@ public class UserController {
         return userService.getUserByName(userName);
     }
 
+    //!!! name, surname, username ve studentNumber uzerinde siralanmis type-ahead aramasi
+    @GetMapping("/search") // http://localhost:8080/user/search?q=jo&page=0&size=10 + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseEntity<Page<UserResponse>> searchUsers(
+            @RequestParam(value = "q") String query,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "10") int size
+    ) {
+        return ResponseEntity.ok(userService.searchUsers(query, page, size));
+    }
+
 }
 
 
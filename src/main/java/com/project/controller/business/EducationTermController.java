@@ -5,6 +5,7 @@ import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.EducationTermResponse;
 import com.project.service.business.EducationTermService;
 import lombok.RequiredArgsConstructor;
+import com.project.payload.response.KeysetSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -49,6 +50,17 @@ public class EducationTermController {
         return educationTermService.getAllEducationTermByPage(page,size,sort,type);
     }
 
+    @GetMapping(value = "/getAllEducationTermByPage", params = "after")//http://localhost:8080/educationTerms/getAllEducationTermByPage?after= + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER')")
+    public KeysetSlice<EducationTermResponse> getAllEducationTermByCursor(
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size", defaultValue = "10") int size,
+            @RequestParam(value = "sort", defaultValue = "startDate") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type
+    ){
+        return educationTermService.getAllEducationTermByCursor(after,size,sort,type);
+    }
+
     @DeleteMapping("/delete/{id}")//http://localhost:8080/educationTerms/delete/2 + DELETE
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public ResponseMessage<?> deleteEducationTermById(@PathVariable Long id){
@@ -6,6 +6,7 @@ import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.LessonResponse;
 import com.project.service.business.LessonService;
 import lombok.RequiredArgsConstructor;
+import com.project.payload.response.KeysetSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -50,6 +51,17 @@ public class LessonController {
         return lessonService.findLessonByPage(page,size,sort,type);
     }
 
+    @GetMapping(value = "/findLessonByPage", params = "after")  // http://localhost:8080/lessons/findLessonByPage?after=&size=10&sort=lessonName&type=desc + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public KeysetSlice<LessonResponse> findLessonByCursor(
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "sort") String sort,
+            @RequestParam(value = "type") String type)
+    {
+        return lessonService.findLessonByCursor(after,size,sort,type);
+    }
+
     @GetMapping("/getAllLessonByLessonId")// http://localhost:8080/lessons/getAllLessonByLessonId?lessonId=1,2,3 + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public Set<Lesson> getAllLessonByLessonId(@RequestParam(name = "lessonId") Set<Long> idSet){
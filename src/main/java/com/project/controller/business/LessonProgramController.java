@@ -5,6 +5,7 @@ import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.LessonProgramResponse;
 import com.project.service.business.LessonProgramService;
 import lombok.RequiredArgsConstructor;
+import com.project.payload.response.KeysetSlice;
 import org.springframework.data.domain.Page;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -70,6 +71,17 @@ public class LessonProgramController {
       return   lessonProgramService.getAllLessonProgramWithPage(page,size,sort,type);
     }
 
+    @GetMapping(value = "/getAllLessonProgramWithPage", params = "after") // http://localhost:8080/lessonPrograms/getAllLessonProgramWithPage?after=&size=10&sort=id&type=desc + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER','TEACHER','STUDENT')")
+    public KeysetSlice<LessonProgramResponse> getAllLessonProgramWithCursor(
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "sort") String sort,
+            @RequestParam(value = "type") String type
+    ){
+        return lessonProgramService.getAllLessonProgramWithCursor(after,size,sort,type);
+    }
+
     //Bir ogretmenin kendine ait lessonProgramlari getiriyoruz
     @GetMapping("/getAllLessonProgramByTeacher")// http://localhost:8080/lessonPrograms/getAllLessonProgramByTeacher  + GET
     @PreAuthorize("hasAnyAuthority('TEACHER')")
@@ -5,7 +5,9 @@ import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.MeetResponse;
 import com.project.service.business.MeetService;
 import lombok.RequiredArgsConstructor;
+import com.project.payload.response.KeysetSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -59,12 +61,22 @@ public class MeetController {
         return meetService.getAllMeetByPage(page,size);
     }
 
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    @GetMapping(value = "/getAllMeetByPage", params = "after") // http://localhost:8080/meet/getAllMeetByPage?after=&size=1
+    public KeysetSlice<MeetResponse> getAllMeetByCursor(
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size") int size
+    ){
+        return meetService.getAllMeetByCursor(after,size);
+    }
+
     @PutMapping("/update/{meetId}")// http://localhost:8080/meet/update/2 + PUT + JSON
     @PreAuthorize("hasAnyAuthority('TEACHER')")
     public ResponseMessage<MeetResponse> updateMeet(@RequestBody @Valid MeetRequest meetRequest,
                                                     @PathVariable Long meetId,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                     HttpServletRequest httpServletRequest){
-         return meetService.updateMeet(meetRequest, meetId, httpServletRequest);
+         return meetService.updateMeet(meetRequest, meetId, ifMatch, httpServletRequest);
     }
 
     @GetMapping("/getAllMeetByAdvisorTeacherAsList")// http://localhost:8080/meet/getAllMeetByAdvisorTeacherAsList
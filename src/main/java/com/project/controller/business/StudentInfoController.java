@@ -6,7 +6,9 @@ import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.StudentInfoResponse;
 import com.project.service.business.StudentInfoService;
 import lombok.RequiredArgsConstructor;
+import com.project.payload.response.KeysetSlice;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -47,6 +49,17 @@ public class StudentInfoController {
         return studentInfoService.getAllStudentInfoByPage(page,size,sort,type);
     }
 
+    @GetMapping(value = "/getAllStudentInfoByPage", params = "after")// http://localhost:8080/studentInfo/getAllStudentInfoByPage?after=&size=10&sort=id&type=desc + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public KeysetSlice<StudentInfoResponse> getAllStudentInfoByCursor(
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size") int size,
+            @RequestParam(value = "sort") String sort,
+            @RequestParam(value = "type") String type
+    ){
+        return studentInfoService.getAllStudentInfoByCursor(after,size,sort,type);
+    }
+
     @GetMapping("/get/{studentInfoId}")// http://localhost:8080/studentInfo/get/1 + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public ResponseEntity<StudentInfoResponse> getStudentInfoById(@PathVariable Long studentInfoId) {
@@ -56,8 +69,9 @@ public class StudentInfoController {
     @PutMapping("/update/{studentInfoId}")// http://localhost:8080/studentInfo/update/1  + PUT + JSON
     @PreAuthorize("hasAnyAuthority('ADMIN','TEACHER')")
     public ResponseMessage<StudentInfoResponse> update(@RequestBody @Valid UpdateStudentInfoRequest studentInfoRequest,
-                                                       @PathVariable Long studentInfoId ){
-        return studentInfoService.update(studentInfoRequest, studentInfoId);
+                                                       @PathVariable Long studentInfoId,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return studentInfoService.update(studentInfoRequest, studentInfoId, ifMatch);
     }
 
     @GetMapping("/getAllForTeacher")// http://localhost:8080/studentInfo/getAllForTeacher?page=0&size=1
@@ -70,6 +84,16 @@ public class StudentInfoController {
         return new ResponseEntity<>(studentInfoService.getAllForTeacher(httpServletRequest,page,size), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/getAllForTeacher", params = "after")// http://localhost:8080/studentInfo/getAllForTeacher?after=&size=1
+    @PreAuthorize("hasAnyAuthority('TEACHER')")
+    public ResponseEntity<KeysetSlice<StudentInfoResponse>> getAllForTeacherByCursor(
+            HttpServletRequest httpServletRequest,
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size") int size
+    ){
+        return ResponseEntity.ok(studentInfoService.getAllForTeacherByCursor(httpServletRequest,after,size));
+    }
+
     @GetMapping("/getAllForStudent")// http://localhost:8080/studentInfo/getAllForStudent?page=0&size=1
     @PreAuthorize("hasAnyAuthority('STUDENT')")
     public ResponseEntity<Page<StudentInfoResponse>> getAllForStudent(
@@ -80,6 +104,16 @@ public class StudentInfoController {
         return new ResponseEntity<>(studentInfoService.getAllForStudent(httpServletRequest,page,size), HttpStatus.OK);
     }
 
+    @GetMapping(value = "/getAllForStudent", params = "after")// http://localhost:8080/studentInfo/getAllForStudent?after=&size=1
+    @PreAuthorize("hasAnyAuthority('STUDENT')")
+    public ResponseEntity<KeysetSlice<StudentInfoResponse>> getAllForStudentByCursor(
+            HttpServletRequest httpServletRequest,
+            @RequestParam(value = "after") String after,
+            @RequestParam(value = "size") int size
+    ){
+        return ResponseEntity.ok(studentInfoService.getAllForStudentByCursor(httpServletRequest,after,size));
+    }
+
     @GetMapping("/getByStudentId/{studentId}")// http://localhost:8080/studentInfo/getByStudentId/1 + GET
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public ResponseEntity<List<StudentInfoResponse>> getStudentInfoByStudentId(@PathVariable Long studentId){
@@ -1,17 +1,31 @@
 package com.project.controller.user;
 
 import com.project.payload.request.business.ChooseLessonProgramWithId;
+import com.project.payload.request.user.StudentBulkRequest;
+import com.project.payload.request.user.StudentFilterRequest;
 import com.project.payload.request.user.StudentRequest;
 import com.project.payload.request.user.StudentRequestWithoutPassword;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
+import com.project.entity.enums.RoleType;
+import com.project.payload.response.user.ArchivedStudentResponse;
+import com.project.payload.response.user.StudentBulkResponse;
 import com.project.payload.response.user.StudentResponse;
+import com.project.payload.response.user.UserImportResponse;
+import com.project.service.user.StudentArchiveService;
 import com.project.service.user.StudentService;
+import com.project.service.user.UserImportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import javax.validation.Valid;
 
 @RestController
@@ -20,6 +34,8 @@ import javax.validation.Valid;
 public class StudentController {
 
     private final StudentService studentService ;
+    private final UserImportService userImportService;
+    private final StudentArchiveService studentArchiveService;
 
     @PostMapping("/save") // http://localhost:8080/students/save + POST + JSON
     @PreAuthorize("hasAnyAuthority('ADMIN')")
@@ -28,6 +44,15 @@ public class StudentController {
         return ResponseEntity.ok(studentService.saveStudent(studentRequest));
     }
 
+    //!!! CSV (header satiri StudentRequest alan adlari) veya her satiri bir StudentRequest olan NDJSON
+    @PostMapping(value = "/import", consumes = {UserImportService.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    // http://localhost:8080/students/import + POST + CSV/NDJSON
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public DeferredResult<ResponseEntity<ResponseMessage<UserImportResponse>>> importStudents(
+            HttpServletRequest request) throws IOException {
+        return userImportService.importUsers(RoleType.STUDENT, request.getInputStream(), request.getContentType());
+    }
+
     //!!! ogrencinin kendisini update etme islemi
     @PatchMapping("/update") // http://localhost:8080/students/update + PATCH + JSON
     @PreAuthorize("hasAnyAuthority('STUDENT')")
@@ -40,8 +65,9 @@ public class StudentController {
     @PutMapping("/update/{userId}")// http://localhost:8080/students/update/1 + PUT + JSON
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public ResponseMessage<StudentResponse> updateStudentForManagers(@PathVariable Long userId,
-                                                                     @RequestBody @Valid StudentRequest studentRequest ){
-        return studentService.updateStudentForManagers(userId,studentRequest);
+                                                                     @RequestBody @Valid StudentRequest studentRequest,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return studentService.updateStudentForManagers(userId,studentRequest,ifMatch);
     }
 
     //Ogrenci kendine LessonProgram ekliyor
@@ -58,4 +84,40 @@ public class StudentController {
     public ResponseMessage changeStatusOfStudent(@RequestParam Long id, @RequestParam boolean status){
         return studentService.changeStatusOfStudent(id,status);
     }
+
+    //!!! bos birakilan kriterler uygulanmaz; ilk sayfa icin after bos gonderilir, sonraki sayfalar nextCursor ile
+    @GetMapping("/filter") // http://localhost:8080/students/filter?active=true&advisorTeacherId=2&after= + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseEntity<KeysetSlice<StudentResponse>> getStudentsByFilter(
+            StudentFilterRequest filter,
+            @RequestParam(value = "after", defaultValue = "") String after,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "sort", defaultValue = "studentNumber") String sort,
+            @RequestParam(value = "type", defaultValue = "asc") String type){
+        return ResponseEntity.ok(studentService.getStudentsByFilter(filter, after, size, sort, type));
+    }
+
+    //!!! durum degistirme / rehber ogretmen atama-kaldirma, id listesi veya mevcut rehber ogretmene gore toplu
+    @PatchMapping("/bulk") // http://localhost:8080/students/bulk + PATCH + JSON
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<StudentBulkResponse> bulkUpdateStudents(@RequestBody @Valid StudentBulkRequest bulkRequest){
+        return studentService.bulkUpdateStudents(bulkRequest);
+    }
+
+    //!!! arsivlenen ogrenciler sadece okunabilir, canli tablolara geri donmez
+    @GetMapping("/archive") // http://localhost:8080/students/archive?page=0&size=10&sort=archivedAt&type=desc + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public Page<ArchivedStudentResponse> getArchivedStudents(
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size,
+            @RequestParam(value = "sort", defaultValue = "archivedAt") String sort,
+            @RequestParam(value = "type", defaultValue = "desc") String type){
+        return studentArchiveService.getArchivedStudents(page, size, sort, type);
+    }
+
+    @GetMapping("/archive/{userId}") // http://localhost:8080/students/archive/1 + GET
+    @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
+    public ResponseMessage<ArchivedStudentResponse> getArchivedStudent(@PathVariable Long userId){
+        return studentArchiveService.getArchivedStudent(userId);
+    }
 }
@@ -1,19 +1,26 @@
 package com.project.controller.user;
 
+import com.project.entity.enums.RoleType;
 import com.project.payload.request.business.ChooseLessonTeacherRequest;
 import com.project.payload.request.user.TeacherRequest;
 import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.UserResponse;
 import com.project.payload.response.user.StudentResponse;
 import com.project.payload.response.user.TeacherResponse;
+import com.project.payload.response.user.UserImportResponse;
 import com.project.service.user.TeacherService;
+import com.project.service.user.UserImportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -22,6 +29,7 @@ import java.util.List;
 public class TeacherController {
 
     private final TeacherService teacherService;
+    private final UserImportService userImportService;
 
     @PostMapping("/save") // http://localhost:8080/teacher/save + POST + JSON
     @PreAuthorize("hasAnyAuthority('ADMIN')")
@@ -30,11 +38,21 @@ public class TeacherController {
         return ResponseEntity.ok(teacherService.saveTeacher(teacherRequest));
     }
 
+    //!!! CSV'de lessonIdList degerleri ';' ile ayrilir, NDJSON'da her satir bir TeacherRequest
+    @PostMapping(value = "/import", consumes = {UserImportService.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    // http://localhost:8080/teacher/import + POST + CSV/NDJSON
+    @PreAuthorize("hasAnyAuthority('ADMIN')")
+    public DeferredResult<ResponseEntity<ResponseMessage<UserImportResponse>>> importTeachers(
+            HttpServletRequest request) throws IOException {
+        return userImportService.importUsers(RoleType.TEACHER, request.getInputStream(), request.getContentType());
+    }
+
     @PutMapping("/update/{userId}")// http://localhost:8080/teacher/update/1 + PUT + JSON
     @PreAuthorize("hasAnyAuthority('ADMIN','MANAGER','ASSISTANT_MANAGER')")
     public ResponseMessage<TeacherResponse> updateTeacherForManagers(@RequestBody @Valid TeacherRequest teacherRequest,
-                                                                     @PathVariable Long userId){
-        return teacherService.updateTeacherForManagers(teacherRequest,userId);
+                                                                     @PathVariable Long userId,
+                                                                     @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch){
+        return teacherService.updateTeacherForManagers(teacherRequest,userId,ifMatch);
     }
 
     //!!! Bir rehber ogretmenin rehberligindeki ogrencilerinin tamamini getiren method
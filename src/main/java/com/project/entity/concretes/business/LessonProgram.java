@@ -1,6 +1,7 @@
 package com.project.entity.concretes.business;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.project.entity.concretes.user.User;
 import com.project.entity.enums.Day;
 import lombok.*;
@@ -20,9 +21,14 @@ import java.util.Set;
 public class LessonProgram {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lesson_program_seq")
+    @SequenceGenerator(name = "lesson_program_seq", sequenceName = "lesson_program_id_seq", allocationSize = 50)
     private Long id;
 
+    @JsonIgnore
+    @Version
+    private Long version;
+
     @Enumerated(EnumType.STRING)
     private Day day;
 
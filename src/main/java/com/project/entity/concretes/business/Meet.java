@@ -1,18 +1,21 @@
 package com.project.entity.concretes.business;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.project.entity.concretes.user.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.List;
+import java.util.Set;
 
 @Entity
+@DynamicUpdate
 
 @Data
 @AllArgsConstructor
@@ -21,9 +24,14 @@ import java.util.List;
 public class Meet {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meet_seq")
+    @SequenceGenerator(name = "meet_seq", sequenceName = "meet_id_seq", allocationSize = 50)
     private Long id;
 
+    @JsonIgnore
+    @Version
+    private Long version;
+
     private String description;
 
     @JsonFormat(shape = JsonFormat.Shape.STRING , pattern = "yyyy-MM-dd")
@@ -44,6 +52,6 @@ public class Meet {
             joinColumns = @JoinColumn(name = "meet_id"),
             inverseJoinColumns = @JoinColumn(name = "student_id")
     )
-    private List<User> studentList;
+    private Set<User> studentList;
 
 }
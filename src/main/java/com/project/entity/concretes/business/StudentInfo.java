@@ -7,10 +7,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
 @Entity
+@DynamicUpdate
 
 @Data
 @AllArgsConstructor
@@ -19,9 +21,14 @@ import javax.persistence.*;
 public class StudentInfo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_info_seq")
+    @SequenceGenerator(name = "student_info_seq", sequenceName = "student_info_id_seq", allocationSize = 50)
     private Long id;
 
+    @JsonIgnore
+    @Version
+    private Long version;
+
     private Integer absentee;
 
     private Double midtermExam;
@@ -0,0 +1,43 @@
+package com.project.entity.concretes.user;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.*;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+//!!! Arsivlenen ogrencinin t_user satiri ve bagimli satirlari tek bir JSON dokuman olarak tutulur.
+//  Canli tablolarin kolonlari degisse de arsiv okunabilir kalir; PostgreSQL buyuk text degerlerini TOAST ile sikistirir
+@Entity
+@Table(name = "student_archive")
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class StudentArchive {
+
+    //!!! t_user'daki id aynen korunur
+    @Id
+    private Long userId;
+
+    private String username;
+
+    private String name;
+
+    private String surname;
+
+    private int studentNumber;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "US")
+    private LocalDateTime inactiveSince;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "US")
+    private LocalDateTime archivedAt;
+
+    @Column(columnDefinition = "text")
+    private String record;
+}
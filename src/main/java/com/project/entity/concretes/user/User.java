@@ -7,10 +7,14 @@ import com.project.entity.concretes.business.LessonProgram;
 import com.project.entity.concretes.business.Meet;
 import com.project.entity.concretes.business.StudentInfo;
 import com.project.entity.enums.Gender;
+import com.project.service.user.UserSearchIndexListener;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -21,13 +25,35 @@ import java.util.Set;
 @Builder(toBuilder = true)
 
 @Entity
-@Table(name = "t_user")
+//!!! UPDATE sadece degisen kolonlari yazar (sifre hash'i ve index'li kolonlar gereksiz yere yeniden yazilmaz)
+@DynamicUpdate
+//!!! ogrenci filtreleme ekraninin composite index'leri, son kolonlar keyset siralamasi (studentNumber/birthDay, id)
+@Table(name = "t_user", indexes = {
+        @Index(name = "ix_t_user_role_active_number", columnList = "user_role_id, isActive, studentNumber, id"),
+        @Index(name = "ix_t_user_advisor_number", columnList = "advisorTeacherId, studentNumber, id"),
+        @Index(name = "ix_t_user_role_birth_day", columnList = "user_role_id, birthDay, id")
+})
+//!!! silinen kullanicilar purge edilene kadar tabloda kalir ama hicbir sorguda gorunmez
+@Where(clause = "deleted_at IS NULL")
+@EntityListeners(UserSearchIndexListener.class)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    //!!! IDENTITY insert batch'lemeyi kapatiyordu; id'ler sequence'ten 50'lik bloklar halinde aliniyor
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+    @SequenceGenerator(name = "user_seq", sequenceName = "t_user_id_seq", allocationSize = 50)
     private Long id;
 
+    //!!! optimistic locking: ayni kullaniciyi es zamanli guncelleyenlerden sonra gelen ConflictException alir,
+    //  ETag olarak da bu deger kullanilir
+    @JsonIgnore
+    @Version
+    private Long version;
+
+    //!!! sifre/rol degisince artar, token'daki epoch bundan kucukse token gecersizdir (TokenRevocationRegistry)
+    @JsonIgnore
+    private int tokenEpoch;
+
     @Column(unique = true)
     private String username;
 
@@ -62,10 +88,16 @@ public class User {
 
     private boolean isActive;
 
+    @JsonIgnore
+    private LocalDateTime inactiveSince; // ogrenci pasife alindiginda dolar, StudentArchiveService saklama suresini buradan sayar
+
     private Boolean isAdvisor;// True
 
     private Long advisorTeacherId; //  ogrenciler icin gerekli
 
+    @JsonIgnore
+    private LocalDateTime deletedAt; // dolu ise kullanici silinmis, UserPurgeService fiziksel silmeyi yapacak
+
     @Enumerated(EnumType.STRING)
     private Gender gender; // Bay - bay - BAY
 
@@ -81,16 +113,14 @@ public class User {
     @JoinTable(
             name = "user_lessonprogram",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "lesson_program_id")
+            inverseJoinColumns = @JoinColumn(name = "lesson_program_id"),
+            indexes = @Index(name = "ix_user_lessonprogram_program_user", columnList = "lesson_program_id, user_id")
     )
     private Set<LessonProgram> lessonProgramList;
 
+    //!!! meet_student_table'in sahibi Meet.studentList; bu taraf sadece okunur,
+    //  aksi halde kullanici merge edilince tum meet satirlari silinip yeniden yaziliyordu
     @JsonIgnore
-    @ManyToMany
-    @JoinTable(
-            name = "meet_student_table",
-            joinColumns = @JoinColumn(name = "student_id"),
-            inverseJoinColumns = @JoinColumn(name = "meet_id")
-    )
+    @ManyToMany(mappedBy = "studentList")
     private List<Meet> meetList;
 }
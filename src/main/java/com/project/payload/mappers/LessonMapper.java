@@ -6,6 +6,8 @@ import com.project.payload.response.business.LessonResponse;
 import lombok.Data;
 import org.springframework.stereotype.Component;
 
+import static com.project.payload.mappers.PatchSupport.setIfPresent;
+
 @Data
 @Component
 public class LessonMapper {
@@ -29,12 +31,10 @@ public class LessonMapper {
                 .build();
     }
 
-    public Lesson mapLessonRequestToUpdatedLesson(Long lessonId, LessonRequest lessonRequest){
-        return Lesson.builder()
-                .lessonId(lessonId)
-                .lessonName(lessonRequest.getLessonName())
-                .creditScore(lessonRequest.getCreditScore())
-                .isCompulsory(lessonRequest.getIsCompulsory())
-                .build();
+    //!!! LessonRequest --> managed Lesson (lessonPrograms korunur)
+    public void updateLessonWithRequest(Lesson lesson, LessonRequest lessonRequest){
+        setIfPresent(lessonRequest.getLessonName(), lesson::setLessonName);
+        setIfPresent(lessonRequest.getCreditScore(), lesson::setCreditScore);
+        setIfPresent(lessonRequest.getIsCompulsory(), lesson::setIsCompulsory);
     }
 }
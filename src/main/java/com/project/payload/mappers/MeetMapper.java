@@ -1,11 +1,17 @@
 package com.project.payload.mappers;
 
 import com.project.entity.concretes.business.Meet;
+import com.project.entity.concretes.user.User;
 import com.project.payload.request.business.MeetRequest;
 import com.project.payload.response.business.MeetResponse;
 import lombok.Data;
 import org.springframework.stereotype.Component;
 
+import java.util.Comparator;
+import java.util.stream.Collectors;
+
+import static com.project.payload.mappers.PatchSupport.setIfPresent;
+
 @Data
 @Component
 public class MeetMapper {
@@ -29,18 +35,18 @@ public class MeetMapper {
                 .advisorTeacherId(savedMeet.getAdvisoryTeacher().getId())
                 .teacherSsn(savedMeet.getAdvisoryTeacher().getSsn())
                 .teacherName(savedMeet.getAdvisoryTeacher().getName())
-                .students(savedMeet.getStudentList())
+                //!!! studentList bir Set, sirasi sabit degil; cevaplarda ayni sira icin id'ye gore siralaniyor
+                .students(savedMeet.getStudentList().stream()
+                        .sorted(Comparator.comparing(User::getId))
+                        .collect(Collectors.toList()))
                 .build();
     }
 
-    public Meet mapMeetUpdateRequestToMeet(MeetRequest updateMeetRequest, Long meetId) {
-        return Meet.builder()
-                .id(meetId)
-                .startTime(updateMeetRequest.getStartTime())
-                .stopTime(updateMeetRequest.getStopTime())
-                .date(updateMeetRequest.getDate())
-                .description(updateMeetRequest.getDescription())
-                .build();
-
+    //!!! yeni Meet olusturulmuyor, managed nesne guncelleniyor (merge ogrenci listesini bastan yazmasin diye)
+    public void updateMeetWithRequest(Meet meet, MeetRequest updateMeetRequest) {
+        setIfPresent(updateMeetRequest.getStartTime(), meet::setStartTime);
+        setIfPresent(updateMeetRequest.getStopTime(), meet::setStopTime);
+        setIfPresent(updateMeetRequest.getDate(), meet::setDate);
+        setIfPresent(updateMeetRequest.getDescription(), meet::setDescription);
     }
 }
@@ -0,0 +1,17 @@
+package com.project.payload.mappers;
+
+import java.util.function.Consumer;
+
+//!!! Guncelleme DTO'larini managed entity uzerine uygular: request'te gelmeyen (null) alan entity'de oldugu gibi kalir.
+//  Degismeyen degerler dirty checking'e takilmaz, @DynamicUpdate ile UPDATE'e sadece degisen kolonlar girer
+final class PatchSupport {
+
+    private PatchSupport() {
+    }
+
+    static <T> void setIfPresent(T value, Consumer<T> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+}
@@ -11,6 +11,8 @@ import lombok.Data;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import static com.project.payload.mappers.PatchSupport.setIfPresent;
+
 @Data
 @Component
 public class StudentInfoDto {
@@ -47,22 +49,20 @@ public class StudentInfoDto {
                 .build();
     }
 
-    public StudentInfo mapStudentInfoUpdateToStudentInfo(UpdateStudentInfoRequest studentInfoRequest,
-                                                         Long studentInfoRequestId,
-                                                         Lesson lesson,
-                                                         EducationTerm educationTerm,
-                                                         Note note,
-                                                         Double average){
-        return StudentInfo.builder()
-                .id(studentInfoRequestId)
-                .infoNote(studentInfoRequest.getInfoNote())
-                .midtermExam(studentInfoRequest.getMidtermExam())
-                .finalExam(studentInfoRequest.getFinalExam())
-                .absentee(studentInfoRequest.getAbsentee())
-                .lesson(lesson)
-                .educationTerm(educationTerm)
-                .examAverage(average)
-                .letterGrade(note)
-                .build();
+    //!!! UpdateStudentInfoRequest --> managed StudentInfo (teacher ve student korunur)
+    public void updateStudentInfoWithRequest(StudentInfo studentInfo,
+                                             UpdateStudentInfoRequest studentInfoRequest,
+                                             Lesson lesson,
+                                             EducationTerm educationTerm,
+                                             Note note,
+                                             Double average){
+        setIfPresent(studentInfoRequest.getInfoNote(), studentInfo::setInfoNote);
+        setIfPresent(studentInfoRequest.getMidtermExam(), studentInfo::setMidtermExam);
+        setIfPresent(studentInfoRequest.getFinalExam(), studentInfo::setFinalExam);
+        setIfPresent(studentInfoRequest.getAbsentee(), studentInfo::setAbsentee);
+        setIfPresent(lesson, studentInfo::setLesson);
+        setIfPresent(educationTerm, studentInfo::setEducationTerm);
+        setIfPresent(average, studentInfo::setExamAverage);
+        setIfPresent(note, studentInfo::setLetterGrade);
     }
 }
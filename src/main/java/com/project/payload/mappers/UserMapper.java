@@ -1,16 +1,20 @@
 package com.project.payload.mappers;
 
 import com.project.entity.concretes.user.User;
+import com.project.payload.request.abstracts.AbstractUserRequest;
 import com.project.payload.request.abstracts.BaseUserRequest;
 import com.project.payload.request.user.StudentRequest;
 import com.project.payload.request.user.TeacherRequest;
-import com.project.payload.request.user.UserRequest;
 import com.project.payload.response.UserResponse;
 import com.project.payload.response.abstracts.BaseUserResponse;
 import com.project.payload.response.user.StudentResponse;
 import com.project.payload.response.user.TeacherResponse;
+import com.project.repository.projection.StudentListView;
+import com.project.repository.projection.UserListView;
 import org.springframework.stereotype.Component;
 
+import static com.project.payload.mappers.PatchSupport.setIfPresent;
+
 @Component
 public class UserMapper {
 
@@ -31,6 +35,23 @@ public class UserMapper {
                 .build();
     }
 
+    // !!! Projection --> DTO
+    public UserResponse mapUserViewToUserResponse(UserListView user){
+        return UserResponse.builder()
+                .userId(user.getId())
+                .username(user.getUsername())
+                .name(user.getName())
+                .surname(user.getSurname())
+                .phoneNumber(user.getPhoneNumber())
+                .gender(user.getGender())
+                .birthDay(user.getBirthDay())
+                .birthPlace(user.getBirthPlace())
+                .ssn(user.getSsn())
+                .email(user.getEmail())
+                .userRole(user.getRoleType().name())
+                .build();
+    }
+
     //!!! DTO --> POJO
     public User mapUserRequestToUser(BaseUserRequest userRequest){
 
@@ -69,6 +90,25 @@ public class UserMapper {
 
     }
 
+    public StudentResponse mapStudentViewToStudentResponse(StudentListView student) {
+
+        return StudentResponse.builder()
+                .userId(student.getId())
+                .username(student.getUsername())
+                .name(student.getName())
+                .surname(student.getSurname())
+                .birthDay(student.getBirthDay())
+                .birthPlace(student.getBirthPlace())
+                .phoneNumber(student.getPhoneNumber())
+                .gender(student.getGender())
+                .email(student.getEmail())
+                .fatherName(student.getFatherName())
+                .motherName(student.getMotherName())
+                .studentNumber(student.getStudentNumber())
+                .isActive(student.getActive())
+                .build();
+    }
+
     public TeacherResponse mapUserToTeacherResponse(User teacher) {
 
         return TeacherResponse.builder()
@@ -87,20 +127,17 @@ public class UserMapper {
                 .build();
     }
 
-    public User mapUserRequestToUpdatedUser(UserRequest userRequest, Long userId) {
-        return User.builder()
-                .id((userId))
-                .username(userRequest.getUsername())
-                .name(userRequest.getName())
-                .surname(userRequest.getSurname())
-                .password(userRequest.getPassword())
-                .ssn(userRequest.getSsn())
-                .birthDay(userRequest.getBirthDay())
-                .birthPlace(userRequest.getBirthPlace())
-                .phoneNumber(userRequest.getPhoneNumber())
-                .gender(userRequest.getGender())
-                .email(userRequest.getEmail())
-                .build();
+    //!!! AbstractUserRequest --> managed User (rol, sifre, iliskiler ve durum alanlarina dokunulmaz)
+    public void updateUserWithRequest(User user, AbstractUserRequest userRequest) {
+        setIfPresent(userRequest.getUsername(), user::setUsername);
+        setIfPresent(userRequest.getName(), user::setName);
+        setIfPresent(userRequest.getSurname(), user::setSurname);
+        setIfPresent(userRequest.getSsn(), user::setSsn);
+        setIfPresent(userRequest.getBirthDay(), user::setBirthDay);
+        setIfPresent(userRequest.getBirthPlace(), user::setBirthPlace);
+        setIfPresent(userRequest.getPhoneNumber(), user::setPhoneNumber);
+        setIfPresent(userRequest.getGender(), user::setGender);
+        setIfPresent(userRequest.getEmail(), user::setEmail);
     }
 
     //!!! TeacherRequest --> User
@@ -121,23 +158,10 @@ public class UserMapper {
                 .build();
     }
 
-    //!!! TeacherRequest --> UpdatedUser
-    public User mapTeacherRequestToUpdatedUser(TeacherRequest userRequest, Long userId){
-        return User.builder()
-                .id(userId)
-                .username(userRequest.getUsername())
-                .name(userRequest.getName())
-                .surname(userRequest.getSurname())
-                .password(userRequest.getPassword())
-                .ssn(userRequest.getSsn())
-                .birthDay(userRequest.getBirthDay())
-                .birthPlace(userRequest.getBirthPlace())
-                .phoneNumber(userRequest.getPhoneNumber())
-                .gender(userRequest.getGender())
-                .email(userRequest.getEmail())
-                .isAdvisor(userRequest.getIsAdvisorTeacher())
-                .build();
-
+    //!!! TeacherRequest --> managed User
+    public void updateTeacherWithRequest(User teacher, TeacherRequest teacherRequest){
+        updateUserWithRequest(teacher, teacherRequest);
+        setIfPresent(teacherRequest.getIsAdvisorTeacher(), teacher::setIsAdvisor);
     }
 
     //!!! StudentRequest --> User
@@ -49,5 +49,25 @@ public class ErrorMessages {
     public static final String MEET_HOURS_CONFLICT = "Error: Meet hours has conflict with existing meets";
     public static final String MEET_NOT_FOUND_MESSAGE = "Error: Meet with id %d not found" ;
 
+    public static final String USER_IMPORT_READ_FAILED = "Error: Import file could not be read : %s";
+    public static final String USER_IMPORT_MISSING_HEADER = "Error: CSV import file must start with a header row";
+    public static final String USER_IMPORT_INVALID_ROW = "Error: Row could not be parsed";
+    public static final String USER_IMPORT_ROW_CONFLICT = "Error : User with username %s conflicts with an existing user";
+
+    public static final String INVALID_PAGE_CURSOR = "Error: Page cursor is not valid for this listing";
+    public static final String INVALID_SORT_PROPERTY = "Error: Cursor paging can not sort by : %s";
+    public static final String INVALID_PAGE_SIZE = "Error: Page size must be at least 1 : %d";
+    public static final String INVALID_PAGE_NUMBER = "Error: Page number must not be negative : %d";
+
+    public static final String BULK_STUDENT_SELECTION = "Error: Select students either by studentIds or by currentAdvisorTeacherId";
+    public static final String BULK_STATUS_REQUIRED = "Error: status is required for %s";
+    public static final String BULK_ADVISOR_REQUIRED = "Error: advisorTeacherId is required for %s";
+
+    public static final String ARCHIVED_STUDENT_NOT_FOUND = "Error: Archived student with id %d not found";
+    public static final String ARCHIVE_RECORD_UNREADABLE = "Error: Archive record of student with id %d could not be read";
+
+    public static final String STALE_VERSION_MESSAGE = "Error: Record was changed by another request, current ETag is %s";
+    public static final String CONCURRENT_UPDATE_MESSAGE = "Error: Record was changed by another request, please reload and try again";
+
 
 }
@@ -19,6 +19,10 @@ public class SuccessMessages {
 
     public static final String STUDENT_SAVE = "Student is saved Successfully";
     public static final String STUDENT_UPDATE = "Student is updated Successfully";
+    public static final String STUDENT_BULK_UPDATE = "%d students are updated Successfully";
+    public static final String ARCHIVED_STUDENT_FOUND = "Archived student is found Successfully";
+
+    public static final String USER_IMPORT_COMPLETED = "Import is completed";
 
     public static final String EDUCATION_TERM_SAVE = "Education Term is saved Successfully";
     public static final String EDUCATION_TERM_DELETE = "Education Term is deleted Successfully";
@@ -0,0 +1,36 @@
+package com.project.payload.request.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.Set;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class StudentBulkRequest {
+
+    public enum Operation {
+        SET_STATUS, REASSIGN_ADVISOR, UNASSIGN_ADVISOR
+    }
+
+    @NotNull(message = "Please select bulk operation")
+    private Operation operation;
+
+    //!!! ogrenciler ya id listesiyle ya da mevcut rehber ogretmen filtresiyle secilir, ikisi birden verilemez
+    @Size(min = 1, max = 1000, message = "Student ids must contain between 1 and 1000 ids")
+    private Set<Long> studentIds;
+
+    private Long currentAdvisorTeacherId;
+
+    //!!! SET_STATUS icin
+    private Boolean status;
+
+    //!!! REASSIGN_ADVISOR icin yeni rehber ogretmen
+    private Long advisorTeacherId;
+}
@@ -0,0 +1,36 @@
+package com.project.payload.request.user;
+
+import com.project.entity.enums.Gender;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+//!!! bos birakilan kriterler filtreye eklenmez; araliklarin iki ucu da dahildir
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class StudentFilterRequest {
+
+    private Boolean active;
+
+    private Long advisorTeacherId;
+
+    private Gender gender;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate birthDayFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate birthDayTo;
+
+    private Integer studentNumberFrom;
+
+    private Integer studentNumberTo;
+
+    private Long lessonProgramId;
+}
@@ -0,0 +1,22 @@
+package com.project.payload.response;
+
+import com.project.service.helper.CountStrategy;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+//!!! JSON'a "countType" alani eklenir, istemci totalElements degerinin kesin mi tahmini mi oldugunu bilir
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final CountStrategy countType;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, CountStrategy countType) {
+        super(content, pageable, total);
+        this.countType = countType;
+    }
+
+    public CountStrategy getCountType() {
+        return countType;
+    }
+}
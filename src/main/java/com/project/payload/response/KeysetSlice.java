@@ -0,0 +1,23 @@
+package com.project.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//!!! Keyset sayfalamanin cevabi: toplam sayi yok, sonraki sayfa icin nextCursor "after" parametresine verilir
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class KeysetSlice<E> {
+
+    private List<E> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.project.payload.response.user;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArchivedStudentResponse {
+
+    private Long userId;
+    private String username;
+    private String name;
+    private String surname;
+    private int studentNumber;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "US")
+    private LocalDateTime inactiveSince;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "US")
+    private LocalDateTime archivedAt;
+
+    //!!! sadece tek kayit getirilirken dolar: user, studentInfos, lessonProgramIds, meetIds
+    private JsonNode record;
+}
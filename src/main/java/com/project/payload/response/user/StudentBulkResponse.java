@@ -0,0 +1,17 @@
+package com.project.payload.response.user;
+
+import com.project.payload.request.user.StudentBulkRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class StudentBulkResponse {
+
+    private StudentBulkRequest.Operation operation;
+    private int affectedCount;
+}
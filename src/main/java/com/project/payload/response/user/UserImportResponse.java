@@ -0,0 +1,19 @@
+package com.project.payload.response.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder(toBuilder = true)
+public class UserImportResponse {
+
+    private long totalRows;
+    private long importedRows;
+    private List<UserImportRowError> errors;
+}
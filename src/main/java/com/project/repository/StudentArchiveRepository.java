@@ -0,0 +1,18 @@
+package com.project.repository;
+
+import com.project.entity.concretes.user.StudentArchive;
+import com.project.repository.projection.StudentArchiveView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface StudentArchiveRepository extends JpaRepository<StudentArchive, Long> {
+
+    //!!! List donen sayfali sorgu COUNT calistirmaz, toplam sayi PageCountHelper'da bulunur
+    @Query("SELECT a.userId AS userId, a.username AS username, a.name AS name, a.surname AS surname, " +
+            "a.studentNumber AS studentNumber, a.inactiveSince AS inactiveSince, a.archivedAt AS archivedAt " +
+            "FROM StudentArchive a")
+    List<StudentArchiveView> findPageContent(Pageable pageable);
+}
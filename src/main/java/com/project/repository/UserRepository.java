@@ -4,17 +4,43 @@ import com.project.entity.concretes.user.User;
 import com.project.entity.enums.RoleType;
 import com.project.payload.response.UserResponse;
 import com.project.payload.response.user.StudentResponse;
-import org.springframework.data.domain.Page;
+import com.project.repository.projection.StudentListView;
+import com.project.repository.projection.UserListView;
+import com.project.repository.projection.UserSearchView;
+import com.project.repository.projection.UserUniquePropertiesView;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    //!!! liste sorgularinda entity yerine sadece response kolonlari secilir, persistence context'e bir sey girmez
+    String USER_LIST_COLUMNS = "u.id AS id, u.username AS username, u.name AS name, u.surname AS surname, " +
+            "u.birthDay AS birthDay, u.ssn AS ssn, u.birthPlace AS birthPlace, u.phoneNumber AS phoneNumber, " +
+            "u.gender AS gender, u.email AS email, r.roleType AS roleType";
+
+    String STUDENT_LIST_COLUMNS = "u.id AS id, u.username AS username, u.name AS name, u.surname AS surname, " +
+            "u.birthDay AS birthDay, u.birthPlace AS birthPlace, u.phoneNumber AS phoneNumber, " +
+            "u.gender AS gender, u.email AS email, u.fatherName AS fatherName, u.motherName AS motherName, " +
+            "u.studentNumber AS studentNumber, u.isActive AS active";
+
+    //!!! toplu islemler sadece silinmemis ogrencilere dokunur; bulk UPDATE'lerde @Where uygulanmaz
+    String STUDENT_BULK_SCOPE = "u.deletedAt IS NULL AND u.userRole IN " +
+            "(SELECT r FROM UserRole r WHERE r.roleType = com.project.entity.enums.RoleType.STUDENT)";
+
     User findByUsernameEquals(String username);
 
     //!!! alttaki ve ustteki ayni isi yapiyor
@@ -28,18 +54,59 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u WHERE u.userRole.roleName = :roleName") // JPQL
-    Page<User> findByUserByRole(String roleName, Pageable pageable);
+    //!!! unique kontroller native: @Where'a takilmadan purge bekleyen silinmis kullanicilar da gorulur
+    String UNIQUE_PROPERTY_COLUMNS = "SELECT username AS \"username\", ssn AS \"ssn\", " +
+            "phone_number AS \"phoneNumber\", email AS \"email\" FROM t_user";
+
+    @Query(value = UNIQUE_PROPERTY_COLUMNS + " WHERE (username = :username OR ssn = :ssn " +
+            "OR phone_number = :phoneNumber OR email = :email) AND id <> :excludedUserId", nativeQuery = true)
+    List<UserUniquePropertiesView> findUniquePropertyConflicts(String username, String ssn, String phoneNumber,
+                                                               String email, Long excludedUserId);
+
+    @Query(value = UNIQUE_PROPERTY_COLUMNS + " WHERE username IN :usernames OR ssn IN :ssns " +
+            "OR phone_number IN :phoneNumbers OR email IN :emails", nativeQuery = true)
+    List<UserUniquePropertiesView> findUniquePropertyConflictsIn(Collection<String> usernames, Collection<String> ssns,
+                                                                 Collection<String> phoneNumbers,
+                                                                 Collection<String> emails);
+
+    @Query(value = UNIQUE_PROPERTY_COLUMNS, nativeQuery = true)
+    Stream<UserUniquePropertiesView> streamAllUniqueProperties();
 
-    List<User> getUserByNameContaining(String name);
+    //!!! PostgreSQL fetch size verilmezse butun sonucu bellege alir
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "1000"))
+    @Query("SELECT u.id AS id, u.name AS name, u.surname AS surname, u.username AS username, " +
+            "u.studentNumber AS studentNumber FROM User u")
+    Stream<UserSearchView> streamAllSearchFields();
+
+    @Query("SELECT " + USER_LIST_COLUMNS + " FROM User u JOIN u.userRole r WHERE u.id IN :ids")
+    List<UserListView> findUserViewsByIdIn(Collection<Long> ids);
+
+    //!!! List donuyor, COUNT sorgusu calismaz; toplam sayi PageCountHelper'da bulunur
+    @Query("SELECT " + USER_LIST_COLUMNS + " FROM User u JOIN u.userRole r WHERE r.roleName = :roleName") // JPQL
+    List<UserListView> findByUserByRole(String roleName, Pageable pageable);
+
+    @Query("SELECT COUNT(u) FROM User u WHERE u.userRole.roleName = :roleName")
+    long countByUserRole(String roleName);
+
+    //!!! derived "Containing" sorgusu gibi %, _ karakterleri escape ediliyor
+    @Query("SELECT " + USER_LIST_COLUMNS + " FROM User u JOIN u.userRole r " +
+            "WHERE u.name LIKE %?#{escape([0])}% ESCAPE ?#{escapeCharacter()}")
+    List<UserListView> getUserByNameContaining(String name);
 
     @Query(value = "SELECT COUNT(u) FROM User u WHERE u.userRole.roleType = ?1")
     long countAdmin(RoleType roleType);
 
     List<User> findByAdvisorTeacherId(Long id);
 
-    @Query("SELECT u FROM User u WHERE u.isAdvisor =?1")
-    List<User> findAllByAdvisor(Boolean aTrue);
+    @Query("SELECT " + STUDENT_LIST_COLUMNS + " FROM User u WHERE u.advisorTeacherId = :advisorTeacherId")
+    List<StudentListView> findStudentViewsByAdvisorTeacherId(Long advisorTeacherId);
+
+    @Query("SELECT " + USER_LIST_COLUMNS + " FROM User u JOIN u.userRole r WHERE u.isAdvisor =?1")
+    List<UserListView> findAllByAdvisor(Boolean aTrue);
+
+    //!!! verilen id'lerden rehber ogretmen olanlar; import her parca icin yalnizca referans verdigi id'leri sorar
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.isAdvisor = true AND u.userRole.roleType = :roleType")
+    Set<Long> findAdvisorTeacherIdsIn(Set<Long> ids, RoleType roleType);
 
     @Query(value = "SELECT (count (u)>0) FROM User u WHERE u.userRole.roleType = ?1")
     boolean findStudent(RoleType roleType);
@@ -47,7 +114,48 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query(value = "SELECT MAX (u.studentNumber) FROM User u")
     int getMaxStudentNumber();
 
-    @Query("SELECT u FROM User u WHERE u.id IN :studentIds")
-    List<User> findByIdsEquals(Long[] studentIds);
+    @Query("SELECT u.tokenEpoch FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenEpoch(Long id);
+
+    //!!! arttirma veritabaninda yapilir, ayni anda calisan node'lar birbirinin degerini ezmez
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.tokenEpoch = u.tokenEpoch + 1 WHERE u.id = :id")
+    int incrementTokenEpoch(Long id);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.deletedAt = :deletedAt, u.isActive = false, u.version = u.version + 1 WHERE u.id = :id")
+    int markDeleted(Long id, LocalDateTime deletedAt);
+
+    //!!! toplu UPDATE'ler version'i da arttirir, bu kullanicilar icin verilmis ETag'ler gecersiz olur
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.isActive = :status, u.inactiveSince = :inactiveSince, u.version = u.version + 1 " +
+            "WHERE u.id IN :studentIds AND u.isActive <> :status AND " + STUDENT_BULK_SCOPE)
+    int updateStudentStatusByIds(Collection<Long> studentIds, boolean status, LocalDateTime inactiveSince);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.isActive = :status, u.inactiveSince = :inactiveSince, u.version = u.version + 1 " +
+            "WHERE u.advisorTeacherId = :currentAdvisorTeacherId AND u.isActive <> :status AND " + STUDENT_BULK_SCOPE)
+    int updateStudentStatusByAdvisor(Long currentAdvisorTeacherId, boolean status, LocalDateTime inactiveSince);
+
+    //!!! advisorTeacherId null verilirse ogrencilerin rehber ogretmeni kaldirilir
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.advisorTeacherId = :advisorTeacherId, u.version = u.version + 1 " +
+            "WHERE u.id IN :studentIds AND " + STUDENT_BULK_SCOPE)
+    int updateStudentAdvisorByIds(Collection<Long> studentIds, Long advisorTeacherId);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.advisorTeacherId = :advisorTeacherId, u.version = u.version + 1 " +
+            "WHERE u.advisorTeacherId = :currentAdvisorTeacherId AND " + STUDENT_BULK_SCOPE)
+    int updateStudentAdvisorByAdvisor(Long currentAdvisorTeacherId, Long advisorTeacherId);
+
+    //!!! rol eager oldugu icin ayri select'lerle gelmesin diye ayni sorguda cekiliyor
+    @Query("SELECT u FROM User u JOIN FETCH u.userRole WHERE u.id IN :userIds")
+    List<User> findAllWithRoleByIdIn(Collection<Long> userIds);
 
 }
@@ -2,9 +2,12 @@ package com.project.repository.business;
 
 import com.project.entity.concretes.business.EducationTerm;
 import com.project.entity.enums.Term;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 public interface EducationTermRepository extends JpaRepository<EducationTerm, Long> {
@@ -14,4 +17,8 @@ public interface EducationTermRepository extends JpaRepository<EducationTerm, Lo
 
     @Query("SELECT e FROM EducationTerm e WHERE EXTRACT(YEAR FROM e.startDate) = ?1")
     List<EducationTerm> findByYear(int year);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT e FROM EducationTerm e")
+    List<EducationTerm> findPageContent(Pageable pageable);
 }
@@ -2,18 +2,24 @@ package com.project.repository.business;
 
 import com.project.entity.concretes.business.LessonProgram;
 import com.project.payload.response.business.LessonProgramResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
 public interface LessonProgramRepository extends JpaRepository<LessonProgram, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     List<LessonProgram> findByUsers_IdNull();
 
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     List<LessonProgram> findByUsers_IdNotNull();
 
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     @Query("SELECT l FROM LessonProgram l INNER JOIN l.users users WHERE users.username = ?1")
     Set<LessonProgram> getLessonProgramByUsersUsername(String username);
 
@@ -21,5 +27,13 @@ public interface LessonProgramRepository extends JpaRepository<LessonProgram, Lo
     @Query("SELECT l FROM LessonProgram l WHERE l.id IN :lessonIdSet")
     Set<LessonProgram> getLessonProgramByLessonProgramIdList(Set<Long> lessonIdSet);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Set<LessonProgram> findByUsers_IdEquals(Long userId);
+
+    @Query("SELECT l.id FROM LessonProgram l WHERE l.id IN :ids")
+    Set<Long> findExistingIds(Set<Long> ids);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT l FROM LessonProgram l")
+    List<LessonProgram> findPageContent(Pageable pageable);
 }
@@ -1,11 +1,18 @@
 package com.project.repository.business;
 
 import com.project.entity.concretes.business.Lesson;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
-import java.util.Optional;
+import javax.persistence.QueryHint;
+import java.util.List;
 
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
     boolean existsLessonByLessonNameEqualsIgnoreCase(String lessonName);
-    Optional<Lesson> getLessonByLessonName(String lessonName); //Derived Method, Query
+
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT l FROM Lesson l")
+    List<Lesson> findPageContent(Pageable pageable);
 }
@@ -1,13 +1,33 @@
 package com.project.repository.business;
 
 import com.project.entity.concretes.business.Meet;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface MeetRepository extends JpaRepository<Meet, Long> {
     List<Meet> getByAdvisoryTeacher_IdEquals(Long advisorTeacherId);
 
+    //!!! ogretmen icin cakisma kontrolu: sadece o gunku meet'ler (ix_meet_advisory_teacher_date)
+    @Query("SELECT m FROM Meet m WHERE m.advisoryTeacher.id = :advisoryTeacherId AND m.date = :date")
+    List<Meet> findByAdvisoryTeacherIdAndDate(Long advisoryTeacherId, LocalDate date);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     List<Meet> findByStudentList_IdEquals(Long studentId);
 
+    //!!! cakisma kontrolu icin tum ogrencilerin o gunku meet'leri tek sorguda
+    @Query("SELECT DISTINCT m FROM Meet m JOIN m.studentList s WHERE s.id IN :studentIds AND m.date = :date")
+    List<Meet> findByStudentIdsAndDate(Collection<Long> studentIds, LocalDate date);
+
+    //!!! List donen sayfali sorgular COUNT calistirmaz, toplam sayi PageCountHelper'da bulunur
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT m FROM Meet m")
+    List<Meet> findPageContent(Pageable pageable);
+
 }
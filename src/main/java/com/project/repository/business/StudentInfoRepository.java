@@ -2,11 +2,12 @@ package com.project.repository.business;
 
 import com.project.entity.concretes.business.StudentInfo;
 import com.project.payload.response.business.StudentInfoResponse;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 import java.util.stream.DoubleStream;
 
@@ -15,12 +16,26 @@ public interface StudentInfoRepository extends JpaRepository<StudentInfo, Long>
 
     boolean existsByIdEquals(Long id);
 
+    //!!! List donen sayfali sorgular COUNT calistirmaz, toplam sayi PageCountHelper'da bulunur
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
+    @Query("SELECT s FROM StudentInfo s")
+    List<StudentInfo> findPageContent(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     @Query("SELECT s FROM StudentInfo s WHERE s.teacher.username= ?1")
-    Page<StudentInfo> findByTeacherId_UsernameEquals(String username, Pageable pageable);
+    List<StudentInfo> findByTeacherId_UsernameEquals(String username, Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM StudentInfo s WHERE s.teacher.username= ?1")
+    long countByTeacherUsername(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     @Query("SELECT s FROM StudentInfo s WHERE s.student.username= ?1")
-    Page<StudentInfo> findByStudentId_UsernameEquals(String username, Pageable pageable);
+    List<StudentInfo> findByStudentId_UsernameEquals(String username, Pageable pageable);
+
+    @Query("SELECT COUNT(s) FROM StudentInfo s WHERE s.student.username= ?1")
+    long countByStudentUsername(String username);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.readOnly", value = "true"))
     @Query("SELECT s FROM StudentInfo s WHERE s.student.id= ?1")
     List<StudentInfo> findByStudent_IdEquals(Long studentId);
 }
@@ -0,0 +1,21 @@
+package com.project.repository.projection;
+
+import java.time.LocalDateTime;
+
+//!!! Arsiv listesinde record kolonu (JSON dokuman) okunmaz
+public interface StudentArchiveView {
+
+    Long getUserId();
+
+    String getUsername();
+
+    String getName();
+
+    String getSurname();
+
+    int getStudentNumber();
+
+    LocalDateTime getInactiveSince();
+
+    LocalDateTime getArchivedAt();
+}
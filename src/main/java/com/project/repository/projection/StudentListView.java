@@ -0,0 +1,35 @@
+package com.project.repository.projection;
+
+import com.project.entity.enums.Gender;
+
+import java.time.LocalDate;
+
+//!!! Ogrenci listelerinde StudentResponse icin gereken kolonlar, entity ve koleksiyonlari yuklenmiyor
+public interface StudentListView {
+
+    Long getId();
+
+    String getUsername();
+
+    String getName();
+
+    String getSurname();
+
+    LocalDate getBirthDay();
+
+    String getBirthPlace();
+
+    String getPhoneNumber();
+
+    Gender getGender();
+
+    String getEmail();
+
+    String getFatherName();
+
+    String getMotherName();
+
+    int getStudentNumber();
+
+    boolean getActive();
+}
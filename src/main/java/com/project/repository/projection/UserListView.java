@@ -0,0 +1,32 @@
+package com.project.repository.projection;
+
+import com.project.entity.enums.Gender;
+import com.project.entity.enums.RoleType;
+
+import java.time.LocalDate;
+
+//!!! Liste endpoint'lerinin UserResponse icin ihtiyac duydugu kolonlar, rol ayni sorguda join'leniyor
+public interface UserListView {
+
+    Long getId();
+
+    String getUsername();
+
+    String getName();
+
+    String getSurname();
+
+    LocalDate getBirthDay();
+
+    String getSsn();
+
+    String getBirthPlace();
+
+    String getPhoneNumber();
+
+    Gender getGender();
+
+    String getEmail();
+
+    RoleType getRoleType();
+}
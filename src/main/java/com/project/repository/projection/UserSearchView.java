@@ -0,0 +1,15 @@
+package com.project.repository.projection;
+
+//!!! UserSearchIndex'in startup'ta doldurulmasi icin sadece aranan alanlar
+public interface UserSearchView {
+
+    Long getId();
+
+    String getName();
+
+    String getSurname();
+
+    String getUsername();
+
+    Integer getStudentNumber();
+}
@@ -0,0 +1,13 @@
+package com.project.repository.projection;
+
+//!!! t_user tablosundaki unique alanlar, duplicate kontrolu tek sorgu ile bu projection uzerinden yapiliyor
+public interface UserUniquePropertiesView {
+
+    String getUsername();
+
+    String getSsn();
+
+    String getPhoneNumber();
+
+    String getEmail();
+}
@@ -0,0 +1,60 @@
+package com.project.repository.specification;
+
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.payload.request.user.StudentFilterRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Subquery;
+import java.util.ArrayList;
+import java.util.List;
+
+//!!! UserRepository icin dinamik kriterler. Rol id ile karsilastirilir ki t_user uzerindeki
+//  (user_role_id, ...) composite index'leri roles tablosuna join'e gerek kalmadan kullanilabilsin
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> studentFilter(UserRole studentRole, StudentFilterRequest filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.equal(root.get("userRole"), studentRole));
+            if (filter.getActive() != null) {
+                predicates.add(cb.equal(root.get("isActive"), filter.getActive()));
+            }
+            if (filter.getAdvisorTeacherId() != null) {
+                predicates.add(cb.equal(root.get("advisorTeacherId"), filter.getAdvisorTeacherId()));
+            }
+            if (filter.getGender() != null) {
+                predicates.add(cb.equal(root.get("gender"), filter.getGender()));
+            }
+            if (filter.getBirthDayFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("birthDay"), filter.getBirthDayFrom()));
+            }
+            if (filter.getBirthDayTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("birthDay"), filter.getBirthDayTo()));
+            }
+            if (filter.getStudentNumberFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("studentNumber"), filter.getStudentNumberFrom()));
+            }
+            if (filter.getStudentNumberTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("studentNumber"), filter.getStudentNumberTo()));
+            }
+            if (filter.getLessonProgramId() != null) {
+                //!!! join yerine EXISTS: ayni ogrenci birden fazla satir olarak donmez, DISTINCT gerekmez
+                Subquery<Long> enrollment = query.subquery(Long.class);
+                Root<User> student = enrollment.correlate(root);
+                Join<User, LessonProgram> lessonProgram = student.join("lessonProgramList");
+                enrollment.select(lessonProgram.get("id"))
+                        .where(cb.equal(lessonProgram.get("id"), filter.getLessonProgramId()));
+                predicates.add(cb.exists(enrollment));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.security.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+//!!! Uygulama ayaga kalkarken bu makinede latency butcesine sigan en guclu BCrypt cost degerini bulur
+@Component
+public class BCryptStrengthCalibrator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BCryptStrengthCalibrator.class);
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+    private static final int SAMPLES = 3;
+
+    @Value("${backendapi.app.bcrypt.latencyBudgetMs:50}")
+    private long latencyBudgetMs;
+
+    @Value("${backendapi.app.bcrypt.minStrength:10}")
+    private int minStrength;
+
+    @Value("${backendapi.app.bcrypt.maxStrength:14}")
+    private int maxStrength;
+
+    public int calibrateStrength() {
+        //!!! minStrength guvenlik tabani, butce asilsa bile altina inilmez
+        int chosenStrength = minStrength;
+        for (int strength = minStrength; strength <= maxStrength; strength++) {
+            long elapsedMs = measureMatchMillis(strength);
+            LOGGER.info("BCrypt strength {} takes {} ms on this host", strength, elapsedMs);
+            if (elapsedMs > latencyBudgetMs) {
+                break;
+            }
+            chosenStrength = strength;
+        }
+        LOGGER.info("BCrypt strength {} selected for a latency budget of {} ms", chosenStrength, latencyBudgetMs);
+        return chosenStrength;
+    }
+
+    //!!! login'de calisan islem matches oldugu icin o olculuyor, gurultuye karsi en kisa olcum aliniyor
+    private long measureMatchMillis(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return TimeUnit.NANOSECONDS.toMillis(best);
+    }
+}
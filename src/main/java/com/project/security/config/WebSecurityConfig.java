@@ -2,8 +2,11 @@ package com.project.security.config;
 
 import com.project.security.jwt.AuthEntryPointJwt;
 import com.project.security.jwt.AuthTokenFilter;
+import com.project.security.service.OffloadingPasswordEncoder;
+import com.project.security.service.PasswordHashingExecutor;
 import com.project.security.service.UserDetailsServiceImpl;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,6 +32,8 @@ public class WebSecurityConfig {
 
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthEntryPointJwt authEntryPointJwt;
+    private final BCryptStrengthCalibrator bCryptStrengthCalibrator;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
@@ -55,16 +60,28 @@ public class WebSecurityConfig {
         return new AuthTokenFilter();
     }
 
+    //!!! filtre sadece security zincirinde calismali, servlet filtresi olarak ikinci kez kaydedilmiyor
+    @Bean
+    public FilterRegistrationBean<AuthTokenFilter> authTokenFilterRegistration(AuthTokenFilter authTokenFilter){
+        FilterRegistrationBean<AuthTokenFilter> registration = new FilterRegistrationBean<>(authTokenFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bCryptStrengthCalibrator.calibrateStrength());
     }
 
     @Bean
     public DaoAuthenticationProvider authenticationProvider(){
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(userDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        //!!! login'de BCrypt sinirli hash havuzunda, kullanici sorgusu istek thread'inde
+        authenticationProvider.setPasswordEncoder(
+                new OffloadingPasswordEncoder(passwordEncoder(), passwordHashingExecutor));
+        //!!! farkli (dusuk) cost ile hashlenmis sifreler basarili login sonrasi yeniden hashleniyor
+        authenticationProvider.setUserDetailsPasswordService(userDetailsService);
         return authenticationProvider;
     }
 
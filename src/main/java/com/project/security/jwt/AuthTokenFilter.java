@@ -1,6 +1,9 @@
 package com.project.security.jwt;
 
+import com.project.security.service.CurrentUserHolder;
+import com.project.security.service.UserDetailsImpl;
 import com.project.security.service.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +13,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -20,7 +22,6 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 
-@Component
 @RequiredArgsConstructor
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -32,14 +33,27 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private CurrentUserHolder currentUserHolder;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if(jwt != null && jwtUtils.validateJwtToken(jwt) ){
-               String userName = jwtUtils.getUserNameFromJwtToken(jwt);
-               UserDetails userDetails = userDetailsService.loadUserByUsername(userName);
+            //!!! token tek seferde dogrulanip claim bilgileri aliniyor
+            Claims claims = jwtUtils.getVerifiedClaims(jwt);
+            if(claims != null && jwtUtils.isRevoked(claims)){
+                LOGGER.error("Jwt token is revoked for user : {}", claims.getSubject());
+            } else if(claims != null){
+               String userName = claims.getSubject();
+               //!!! stateless modda principal token'dan, aksi halde DB'den olusturuluyor
+               UserDetails userDetails = jwtUtils.getPrincipalFromClaims(claims);
+               if(userDetails == null) {
+                   userDetails = userDetailsService.loadUserByUsername(userName);
+               } else {
+                   currentUserHolder.setUserId(((UserDetailsImpl) userDetails).getId());
+               }
                request.setAttribute("username", userName);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,null,userDetails.getAuthorities());
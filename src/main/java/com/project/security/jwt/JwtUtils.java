@@ -1,34 +1,79 @@
 package com.project.security.jwt;
 
+import com.project.security.service.TokenRevocationRegistry;
 import com.project.security.service.UserDetailsImpl;
 import io.jsonwebtoken.*;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final String CLAIM_USER_ID = "userId";
+    private static final String CLAIM_NAME = "name";
+    private static final String CLAIM_ROLE_TYPE = "roleType";
+    private static final String CLAIM_IS_ADVISOR = "isAdvisor";
+    private static final String CLAIM_EPOCH = "epoch";
+
     @Value("${backendapi.app.jwtSecret}")
     private String jwtSecret;
 
     @Value("${backendapi.app.jwtExpirationMs}")
     private long jwtExpirationMs;
 
+    //!!! true ise principal bilgileri token icine gomulur, her istekte DB'ye gidilmez
+    @Value("${backendapi.app.statelessPrincipal:false}")
+    private boolean statelessPrincipal;
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    private void initParser() {
+        //!!! parser her istekte yeniden olusturulmuyor, ayarlari sabit oldugu icin thread-safe kullanilabilir
+        jwtParser = Jwts.parser().setSigningKey(jwtSecret);
+    }
+
     //Not: Generate JWT
     public String generateJwtToken(Authentication authentication){
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        return generateJwtTokenFromUsername(userDetails.getUsername());
+        if(!statelessPrincipal) {
+            return generateJwtTokenFromUsername(userDetails.getUsername());
+        }
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userDetails.getId());
+        claims.put(CLAIM_NAME, userDetails.getName());
+        claims.put(CLAIM_ROLE_TYPE, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .findFirst()
+                .orElse(null));
+        claims.put(CLAIM_IS_ADVISOR, userDetails.getIsAdvisor());
+        claims.put(CLAIM_EPOCH, tokenRevocationRegistry.currentEpoch(userDetails.getId()));
+        return generateJwtTokenFromUsername(userDetails.getUsername(), claims);
     }
 
     public String generateJwtTokenFromUsername(String username){
+        return generateJwtTokenFromUsername(username, new HashMap<>());
+    }
+
+    public String generateJwtTokenFromUsername(String username, Map<String, Object> claims){
         return Jwts.builder()
+                .setClaims(claims)
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(new Date().getTime() + jwtExpirationMs))
@@ -38,9 +83,22 @@ public class JwtUtils {
 
     // Not: Validate JWT
     public boolean validateJwtToken(String jwtToken){
+        return getVerifiedClaims(jwtToken) != null;
+    }
+
+    //!!! Token bir kez dogrulanir, claim bilgileri token expire olana kadar cache'den doner
+    public Claims getVerifiedClaims(String jwtToken){
+        if(jwtToken == null) {
+            return null;
+        }
+        Claims cachedClaims = verifiedTokenCache.get(jwtToken);
+        if(cachedClaims != null) {
+            return cachedClaims;
+        }
         try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(jwtToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(jwtToken).getBody();
+            verifiedTokenCache.put(jwtToken, claims);
+            return claims;
         } catch (ExpiredJwtException e) {
             LOGGER.error("Jwt token is expired : {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
@@ -52,13 +110,41 @@ public class JwtUtils {
         } catch (IllegalArgumentException e) {
             LOGGER.error("Jwt is empty : {}", e.getMessage());
         }
-        return false;
+        return null;
+    }
+
+    //!!! Stateless modda principal claim bilgilerinden olusturulur, claim yoksa null doner
+    public UserDetailsImpl getPrincipalFromClaims(Claims claims){
+        if(!statelessPrincipal || claims.get(CLAIM_USER_ID) == null || claims.get(CLAIM_ROLE_TYPE) == null) {
+            return null;
+        }
+        return new UserDetailsImpl(
+                ((Number) claims.get(CLAIM_USER_ID)).longValue(),
+                claims.getSubject(),
+                claims.get(CLAIM_NAME, String.class),
+                claims.get(CLAIM_IS_ADVISOR, Boolean.class),
+                null,
+                claims.get(CLAIM_ROLE_TYPE, String.class),
+                (String) null);
+    }
+
+    //!!! Sifresi veya rolu degisen kullanicinin eski tokenlari reddedilir
+    public boolean isRevoked(Claims claims){
+        Object userId = claims.get(CLAIM_USER_ID);
+        Object epoch = claims.get(CLAIM_EPOCH);
+        if(userId == null || epoch == null) {
+            return false;
+        }
+        return tokenRevocationRegistry.isRevoked(((Number) userId).longValue(), ((Number) epoch).intValue());
     }
 
     // Not: getUsernameFromJWT
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(jwtSecret)
+        Claims cachedClaims = verifiedTokenCache.get(token);
+        if(cachedClaims != null) {
+            return cachedClaims.getSubject();
+        }
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
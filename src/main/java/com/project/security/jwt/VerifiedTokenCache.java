@@ -0,0 +1,115 @@
+package com.project.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+//!!! Imzasi daha once dogrulanmis tokenlarin claim bilgilerini, token expire olana kadar tutan sinirli cache
+@Component
+@RequiredArgsConstructor
+public class VerifiedTokenCache {
+
+    public static final String GETS_COUNTER = "auth.token.cache.gets";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, CachedClaims> cache = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    @Value("${backendapi.app.jwtCacheMaxSize:10000}")
+    private int maxSize;
+
+    @PostConstruct
+    private void init() {
+        FunctionCounter.builder(GETS_COUNTER, hits, LongAdder::sum)
+                .description("Token verifications served from the cache")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder(GETS_COUNTER, misses, LongAdder::sum)
+                .description("Token verifications that had to parse and check the signature")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.token.cache.size", cache, Map::size)
+                .description("Verified tokens held in the cache")
+                .register(meterRegistry);
+    }
+
+    public Claims get(String token) {
+        String key = digest(token);
+        CachedClaims cached = cache.get(key);
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        //!!! token expire olduysa cache'den dusuruyoruz, tekrar parse edilince ExpiredJwtException alinacak
+        if (cached.expiresAt <= System.currentTimeMillis()) {
+            cache.remove(key, cached);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.claims;
+    }
+
+    public void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return; // expire suresi olmayan token cache'e alinmaz
+        }
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        cache.put(digest(token), new CachedClaims(claims, expiration.getTime()));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    //!!! once expire olanlar temizlenir, yer acilmadiysa en az bir kayit atilir
+    private void evict() {
+        long now = System.currentTimeMillis();
+        cache.values().removeIf(cached -> cached.expiresAt <= now);
+
+        Iterator<String> iterator = cache.keySet().iterator();
+        while (cache.size() >= maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedClaims {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private CachedClaims(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+
+//!!! Public endpointler icin limit politikalari; reddedilen istekler metric olarak sayiliyor
+@Component
+@RequiredArgsConstructor
+public class RateLimitService {
+
+    public static final String LOGIN_BY_IP = "login.ip";
+    public static final String LOGIN_BY_USERNAME = "login.username";
+    public static final String LOGIN_BY_ACCOUNT = "login.account";
+    public static final String CONTACT_MESSAGE_BY_IP = "contactMessage.ip";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TokenBucketRateLimiter> limiters = new HashMap<>();
+    private final Map<String, Counter> rejectedCounters = new HashMap<>();
+
+    @Value("${backendapi.app.rateLimit.maxKeys:100000}")
+    private int maxKeys;
+
+    //!!! NAT arkasindaki bir okulun tum girisleri ayni IP'den gelir
+    @Value("${backendapi.app.rateLimit.login.ip.capacity:300}")
+    private long loginIpCapacity;
+
+    @Value("${backendapi.app.rateLimit.login.ip.refillPerMinute:300}")
+    private long loginIpRefillPerMinute;
+
+    //!!! (IP, username) basina basarisiz giris denemesi
+
+    @Value("${backendapi.app.rateLimit.login.username.capacity:5}")
+    private long loginUsernameCapacity;
+
+    @Value("${backendapi.app.rateLimit.login.username.refillPerMinute:5}")
+    private long loginUsernameRefillPerMinute;
+
+    //!!! IP'den bagimsiz, username basina basarisiz giris denemesi: bir hesaba farkli IP'lerden gelen
+    //  denemeleri sinirlar. Tek bir IP'nin hesabi kolayca kilitleyememesi icin limit daha yuksek
+
+    @Value("${backendapi.app.rateLimit.login.account.capacity:50}")
+    private long loginAccountCapacity;
+
+    @Value("${backendapi.app.rateLimit.login.account.refillPerMinute:10}")
+    private long loginAccountRefillPerMinute;
+
+    @Value("${backendapi.app.rateLimit.contactMessage.ip.capacity:5}")
+    private long contactMessageIpCapacity;
+
+    @Value("${backendapi.app.rateLimit.contactMessage.ip.refillPerMinute:5}")
+    private long contactMessageIpRefillPerMinute;
+
+    @PostConstruct
+    private void init() {
+        register(LOGIN_BY_IP, loginIpCapacity, loginIpRefillPerMinute);
+        register(LOGIN_BY_USERNAME, loginUsernameCapacity, loginUsernameRefillPerMinute);
+        register(LOGIN_BY_ACCOUNT, loginAccountCapacity, loginAccountRefillPerMinute);
+        register(CONTACT_MESSAGE_BY_IP, contactMessageIpCapacity, contactMessageIpRefillPerMinute);
+    }
+
+    private void register(String policy, long capacity, long refillPerMinute) {
+        limiters.put(policy, new TokenBucketRateLimiter(capacity, refillPerMinute, maxKeys));
+        rejectedCounters.put(policy, Counter.builder("ratelimit.rejected")
+                .description("Requests rejected by the rate limiter")
+                .tag("policy", policy)
+                .register(meterRegistry));
+    }
+
+    public boolean tryAcquire(String policy, String key) {
+        if (key == null) {
+            return true;
+        }
+        if (limiters.get(policy).tryAcquire(key)) {
+            return true;
+        }
+        rejectedCounters.get(policy).increment();
+        return false;
+    }
+
+    //!!! sadece basarisiz denemelerin harcadigi limitler: hak islemden once tryAcquire ile tek adimda alinir,
+    //  islem basarili olursa release ile geri verilir. Es zamanli basarisiz denemeler limiti asamaz
+    public void release(String policy, String key) {
+        if (key != null) {
+            limiters.get(policy).release(key);
+        }
+    }
+
+    public long getRetryAfterSeconds(String policy) {
+        return limiters.get(policy).getRetryAfterSeconds();
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.security.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+//!!! Anahtar (IP, username) basina token bucket; tablo stripe'lara bolunmus ve boyutu sinirli (LRU)
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final long capacity;
+    private final double tokensPerNano;
+    private final Stripe[] stripes;
+
+    public TokenBucketRateLimiter(long capacity, long refillPerMinute, int maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillPerMinute / TimeUnit.MINUTES.toNanos(1);
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    public boolean tryAcquire(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            } else {
+                bucket.tokens = refilledTokens(bucket, now);
+                bucket.lastRefill = now;
+            }
+            if (bucket.tokens < 1) {
+                return false;
+            }
+            bucket.tokens -= 1;
+            return true;
+        }
+    }
+
+    //!!! tryAcquire ile alinan token'i geri verir; bucket bu arada LRU ile atildiysa zaten dolu baslar
+    public void release(String key) {
+        Stripe stripe = stripeFor(key);
+        long now = System.nanoTime();
+        synchronized (stripe) {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket != null) {
+                bucket.tokens = Math.min(capacity, refilledTokens(bucket, now) + 1);
+                bucket.lastRefill = now;
+            }
+        }
+    }
+
+    private Stripe stripeFor(String key) {
+        return stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+    }
+
+    private double refilledTokens(Bucket bucket, long now) {
+        return Math.min(capacity, bucket.tokens + (now - bucket.lastRefill) * tokensPerNano);
+    }
+
+    //!!! bos bir bucket'a bir token dolmasi icin gereken sure
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (long) Math.ceil(1 / (tokensPerNano * TimeUnit.SECONDS.toNanos(1))));
+    }
+
+    private static final class Stripe {
+        private final Map<String, Bucket> buckets;
+
+        private Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(double tokens, long lastRefill) {
+            this.tokens = tokens;
+            this.lastRefill = lastRefill;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.security.service;
+
+import com.project.entity.concretes.user.User;
+import com.project.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+//!!! AuthTokenFilter'da yuklenen kullanici istek boyunca burada tutulur, servisler ayni satiri tekrar sorgulamaz
+@Component
+@RequiredArgsConstructor
+public class CurrentUserHolder {
+
+    private static final String USER_ATTRIBUTE = CurrentUserHolder.class.getName() + ".user";
+    private static final String USER_ID_ATTRIBUTE = CurrentUserHolder.class.getName() + ".userId";
+
+    private final UserRepository userRepository;
+
+    public void setUser(User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    //!!! stateless modda filtre DB'ye gitmez, kullanici ilk ihtiyac aninda id ile yuklenir
+    public void setUserId(Long userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(USER_ID_ATTRIBUTE, userId, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    //!!! istekteki kullanici verilen username'e ait degilse null doner
+    public User getUser(String username) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null || username == null) {
+            return null;
+        }
+        User user = (User) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user == null) {
+            Long userId = (Long) attributes.getAttribute(USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (userId == null) {
+                return null;
+            }
+            user = userRepository.findById(userId).orElse(null);
+            attributes.removeAttribute(USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (user == null) {
+                return null;
+            }
+            setUser(user);
+        }
+        return username.equals(user.getUsername()) ? user : null;
+    }
+}
@@ -0,0 +1,29 @@
+package com.project.security.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+//!!! Login'de sadece BCrypt hesaplamasi hash havuzunda calisir; kullanici sorgusu ve rehash kaydi
+//  istek thread'inde, istegin EntityManager'i ile yapilir. Havuz doluysa RejectedExecutionException firlar
+@RequiredArgsConstructor
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordHashingExecutor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordHashingExecutor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    //!!! sadece hash'in cost degerine bakar, havuza gonderilmiyor
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,61 @@
+package com.project.security.service;
+
+import com.project.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+//!!! Kullanici bazli iptal sayaci: token icindeki epoch degeri guncel degerden kucukse token gecersizdir.
+//  Kalici deger t_user.token_epoch kolonunda, yeniden baslatmada kaybolmaz. Istekler bellekteki kopyayi okur,
+//  kullanici ilk istekte DB'den yuklenir. Iptal bu node'un kopyasini commit sonrasi siler; baska node'lar
+//  kendi kopyalarini yeniden baslayana kadar tutar
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry {
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Integer> epochs = new ConcurrentHashMap<>();
+
+    public int currentEpoch(Long userId) {
+        Integer epoch = epochOf(userId);
+        return epoch == null ? 0 : epoch;
+    }
+
+    //!!! kopya silinir, guncellenmez: commit'ten once yuklenen eski deger arttirilsaydi yeni token'lar da reddedilirdi
+    public void revokeTokens(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        userRepository.incrementTokenEpoch(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    epochs.remove(userId);
+                }
+            });
+        } else {
+            epochs.remove(userId);
+        }
+    }
+
+    //!!! satiri DB'den dogrudan silinen kullanici (arsiv) bir sonraki istekte yeniden yuklenir, token'i reddedilir
+    public void evict(Long userId) {
+        epochs.remove(userId);
+    }
+
+    //!!! silinmis kullanicinin satiri gorunmez, token'i da gecersiz; bellege alinmadigi icin her istekte DB'ye sorulur
+    public boolean isRevoked(Long userId, int tokenEpoch) {
+        Integer epoch = epochOf(userId);
+        return epoch == null || tokenEpoch < epoch;
+    }
+
+    private Integer epochOf(Long userId) {
+        return epochs.computeIfAbsent(userId, id -> userRepository.findTokenEpoch(id).orElse(null));
+    }
+}
@@ -4,15 +4,17 @@ import com.project.entity.concretes.user.User;
 import com.project.repository.UserRepository;
 import lombok.AllArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private UserRepository userRepository;
+    private CurrentUserHolder currentUserHolder;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -20,16 +22,33 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         User user = userRepository.findByUsernameEquals(username);
 
         if(user != null){
-            return new UserDetailsImpl(
-                    user.getId(),
-                    user.getUsername(),
-                    user.getName(),
-                    false,
-                    user.getPassword(),
-                    user.getUserRole().getRoleType().name(), //ADMIN
-                    user.getSsn());
+            //!!! istek icinde yuklenen kullanici servisler icin saklaniyor
+            currentUserHolder.setUser(user);
+            return mapUserToUserDetails(user);
         }
 
         throw new UsernameNotFoundException("User' " + username + " not found");
     }
+
+    private UserDetailsImpl mapUserToUserDetails(User user){
+        return new UserDetailsImpl(
+                user.getId(),
+                user.getUsername(),
+                user.getName(),
+                Boolean.TRUE.equals(user.getIsAdvisor()),
+                user.getPassword(),
+                user.getUserRole().getRoleType().name(), //ADMIN
+                user.getSsn());
+    }
+
+    //!!! DaoAuthenticationProvider, sifre guncel cost ile hashlenmemisse login sonrasi burayi cagirir
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsernameEquals(userDetails.getUsername());
+        if(user == null){
+            return userDetails;
+        }
+        user.setPassword(newPassword);
+        return mapUserToUserDetails(userRepository.save(user));
+    }
 }
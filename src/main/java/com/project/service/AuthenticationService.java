@@ -10,8 +10,14 @@ import com.project.payload.response.AuthResponse;
 import com.project.payload.response.UserResponse;
 import com.project.repository.UserRepository;
 import com.project.security.jwt.JwtUtils;
+import com.project.security.ratelimit.RateLimitService;
+import com.project.security.service.PasswordHashingExecutor;
+import com.project.security.service.TokenRevocationRegistry;
 import com.project.security.service.UserDetailsImpl;
+import com.project.service.helper.MethodHelper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,10 +26,12 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,13 +43,38 @@ public class AuthenticationService {
     private final JwtUtils jwtUtils;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final RateLimitService rateLimitService;
+    private final MethodHelper methodHelper;
 
-    public ResponseEntity<AuthResponse> authenticateUser(LoginRequest loginRequest) {
+    public ResponseEntity<AuthResponse> authenticateUser(LoginRequest loginRequest, String clientIp) {
        String username = loginRequest.getUsername();
        String password = loginRequest.getPassword();
-       //!!! authenticationManager uzerinden kullanici valide ediliyor
-       Authentication authentication =
-              authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, password));
+       //!!! basarisiz deneme limitleri (IP + username ve sadece username), DB ve BCrypt isinden once deneme hakki
+       //  ayriliyor. Basarili girisler hakki geri verir, sadece basarisiz denemeler limiti harcar
+       String failureKey = clientIp + "|" + username;
+       if(!rateLimitService.tryAcquire(RateLimitService.LOGIN_BY_USERNAME, failureKey)){
+           return tooManyRequests(RateLimitService.LOGIN_BY_USERNAME);
+       }
+       if(!rateLimitService.tryAcquire(RateLimitService.LOGIN_BY_ACCOUNT, username)){
+           rateLimitService.release(RateLimitService.LOGIN_BY_USERNAME, failureKey);
+           return tooManyRequests(RateLimitService.LOGIN_BY_ACCOUNT);
+       }
+       //!!! authenticationManager uzerinden kullanici valide ediliyor, sadece BCrypt sinirli havuzda calisiyor
+       //  (OffloadingPasswordEncoder)
+       Authentication authentication;
+       try {
+           authentication = authenticationManager.authenticate(
+                   new UsernamePasswordAuthenticationToken(username, password));
+       } catch (RejectedExecutionException e) {
+           releaseLoginAttempt(failureKey, username);
+           //!!! havuz dolu ise istegi bekletmeden 503 donuyoruz
+           return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                   .header(HttpHeaders.RETRY_AFTER, String.valueOf(passwordHashingExecutor.getRetryAfterSeconds()))
+                   .build();
+       }
+       releaseLoginAttempt(failureKey, username);
 
        //!!! valide edilen kullanici context e atiliyor
         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -68,16 +101,29 @@ public class AuthenticationService {
         return ResponseEntity.ok(authResponse.build());
     }
 
+    private void releaseLoginAttempt(String failureKey, String username) {
+        rateLimitService.release(RateLimitService.LOGIN_BY_USERNAME, failureKey);
+        rateLimitService.release(RateLimitService.LOGIN_BY_ACCOUNT, username);
+    }
+
+    private ResponseEntity<AuthResponse> tooManyRequests(String policy) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(rateLimitService.getRetryAfterSeconds(policy)))
+                .build();
+    }
+
+    @Transactional(readOnly = true)
     public UserResponse findByUsername(String username) {
-       User user = userRepository.findByUsername(username);
+       User user = methodHelper.isUserExistByUsername(username);
        //!!! Pojo --> DTO
         return userMapper.mapUserToUserResponse(user);
     }
 
+    @Transactional
     public void updatePassword(UpdatePasswordRequest updatePasswordRequest, HttpServletRequest request) {
 
         String userName = (String) request.getAttribute("username");
-        User user = userRepository.findByUsername(userName);
+        User user = methodHelper.isUserExistByUsername(userName);
 
         //!!! Built_IN kontrolu
         if(Boolean.TRUE.equals(user.getBuilt_in())){ // TRUE - FALSE - NULL ( NullPointerException )
@@ -92,6 +138,8 @@ public class AuthenticationService {
         //!!! update
         user.setPassword(hashedPassword);
         userRepository.save(user);
+        //!!! eski sifre ile alinmis tokenlar gecersiz
+        tokenRevocationRegistry.revokeTokens(user.getId());
 
     }
 }
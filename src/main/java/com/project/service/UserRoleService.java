@@ -4,6 +4,7 @@ import com.project.entity.concretes.user.UserRole;
 import com.project.entity.enums.RoleType;
 import com.project.payload.messages.ErrorMessages;
 import com.project.repository.UserRoleRepository;
+import com.project.service.helper.NaturalIdHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -15,9 +16,11 @@ import java.util.List;
 public class UserRoleService {
 
     private final UserRoleRepository userRoleRepository;
+    private final NaturalIdHelper naturalIdHelper;
 
+    //!!! her kayitta cagriliyor, rol natural-id cache'inden gelir
     public UserRole getUserRole(RoleType roleType){
-        return userRoleRepository.findByEnumRoleEquals(roleType).orElseThrow(
+        return naturalIdHelper.findByNaturalId(UserRole.class, roleType).orElseThrow(
                 ()-> new ResolutionException(ErrorMessages.ROLE_NOT_FOUND)
         );
     }
@@ -9,23 +9,40 @@ import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.user.UserRequest;
 import com.project.payload.request.user.UserRequestWithoutPassword;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.UserResponse;
 import com.project.payload.response.abstracts.BaseUserResponse;
 import com.project.repository.UserRepository;
+import com.project.repository.projection.UserListView;
+import com.project.security.service.TokenRevocationRegistry;
+import com.project.service.helper.EntityVersionHelper;
 import com.project.service.helper.MethodHelper;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.PageCountHelper;
 import com.project.service.helper.PageableHelper;
+import com.project.service.user.UserPurgeService;
+import com.project.service.user.UserSearchIndex;
 import com.project.service.validator.UniquePropertyValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -39,8 +56,15 @@ public class UserService {
     private final UserRoleService userRoleService;
     private final PasswordEncoder passwordEncoder;
     private final PageableHelper pageableHelper;
+    private final PageCountHelper pageCountHelper;
+    private final KeysetPageHelper keysetPageHelper;
     private final MethodHelper methodHelper;
+    private final EntityVersionHelper entityVersionHelper;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final UserPurgeService userPurgeService;
+    private final UserSearchIndex userSearchIndex;
 
+    @Transactional
     public ResponseMessage<UserResponse> saveUser(UserRequest userRequest, String userRole) { //
         //!!! username-ssn-phoneNumber-email unique mi ??
         uniquePropertyValidator.checkDuplicate(userRequest.getUsername(), userRequest.getSsn(),
@@ -66,7 +90,7 @@ public class UserService {
         //!!! Advisor durumu false yapiliyor
         user.setIsAdvisor(Boolean.FALSE);
 
-        User savedUser = userRepository.save(user);
+        User savedUser = uniquePropertyValidator.saveWithUniqueCheck(user);
 
         return ResponseMessage.<UserResponse>builder()
                 .message(SuccessMessages.USER_CREATE)
@@ -75,11 +99,22 @@ public class UserService {
 
     }
 
+    @Transactional(readOnly = true)
     public Page<UserResponse> getUserByPage(int page, int size, String sort, String type, String userRole) {
         Pageable pageable =  pageableHelper.getPageableWithProperties(page, size, sort, type);
-        return userRepository.findByUserByRole(userRole, pageable).map(userMapper::mapUserToUserResponse);
+        return pageCountHelper.getPage(userRepository.findByUserByRole(userRole, pageable), pageable,
+                CountStrategy.CACHED, "user:role:" + userRole, () -> userRepository.countByUserRole(userRole),
+                userMapper::mapUserViewToUserResponse);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<UserResponse> getUserByCursor(String after, int size, String sort, String type, String userRole) {
+        return keysetPageHelper.findSlice(User.class,
+                (root, query, cb) -> cb.equal(root.get("userRole").get("roleName"), userRole),
+                sort, type, size, after, userMapper::mapUserToUserResponse);
+    }
+
+    @Transactional(readOnly = true)
     public ResponseMessage<BaseUserResponse> getUserById(Long userId) {
 
         BaseUserResponse baseUserResponse = null;
@@ -93,6 +128,7 @@ public class UserService {
         } else {
             baseUserResponse = userMapper.mapUserToUserResponse(user);
         }
+        entityVersionHelper.setETag(user.getVersion());
 
         return ResponseMessage.<BaseUserResponse>builder()
                 .message(SuccessMessages.USER_FOUND)
@@ -101,13 +137,14 @@ public class UserService {
                 .build();
     }
 
+    @Transactional
     public String deleteUserById(Long id, HttpServletRequest request) {
 
         //!!! silinecek user var mi kontrolu
         User user = methodHelper.isUserExist(id); // silinmesini istedigim user
         //!!! silinme talebinde bulunan user
         String userName = (String) request.getAttribute("username");
-        User user2 =  userRepository.findByUsername(userName); // silinme talebinde bulunan user
+        User user2 =  methodHelper.isUserExistByUsername(userName); // silinme talebinde bulunan user
         //!!! built in kontrolu
         if(Boolean.TRUE.equals(user.getBuilt_in())){
             throw new BadRequestException(ErrorMessages.NOT_PERMITTED_METHOD_MESSAGE);
@@ -126,25 +163,39 @@ public class UserService {
             }
         }
 
-        userRepository.deleteById(id);
+        //!!! kullanici hemen pasif hale getirilir; StudentInfo, meet ve ders programi baglantilari arka planda silinir
+        userRepository.markDeleted(id, LocalDateTime.now());
+        tokenRevocationRegistry.revokeTokens(id);
+        //!!! silme rollback olursa kullanici aramada kalmali
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userSearchIndex.remove(id);
+            }
+        });
+        userPurgeService.requestPurge(id);
         return SuccessMessages.USER_DELETE;
     }
 
-    public ResponseMessage<BaseUserResponse> updateUser(UserRequest userRequest, Long userId) {
+    @Transactional
+    public ResponseMessage<BaseUserResponse> updateUser(UserRequest userRequest, Long userId, String ifMatch) {
         //!!! var mi yok mu kontrolu
         User user = methodHelper.isUserExist(userId);
+        //!!! istemcinin okudugu versiyon hala guncel mi
+        entityVersionHelper.checkIfMatch(ifMatch, user.getVersion());
         //!!! builIn kontrolu
         methodHelper.checkBuiltIn(user);
         //!!! unique kontrolu
         uniquePropertyValidator.checkUniqueProperties(user, userRequest);
-        //!!! DTO --> POJO
-        User updatedUser =  userMapper.mapUserRequestToUpdatedUser(userRequest, userId);
+        //!!! DTO --> managed POJO, UPDATE'e sadece degisen kolonlar girer
+        userMapper.updateUserWithRequest(user, userRequest);
         //!!! Password encode
-        updatedUser.setPassword(passwordEncoder.encode(userRequest.getPassword()));
-        //!!! Rol setleniyor
-        updatedUser.setUserRole(user.getUserRole());
+        user.setPassword(passwordEncoder.encode(userRequest.getPassword()));
 
-        User savedUser = userRepository.save(updatedUser);
+        User savedUser = uniquePropertyValidator.saveWithUniqueCheck(user);
+        entityVersionHelper.setETag(savedUser.getVersion());
+        //!!! sifre guncellendigi icin eski tokenlar iptal
+        tokenRevocationRegistry.revokeTokens(userId);
         return  ResponseMessage.<BaseUserResponse>builder()
                 .message(SuccessMessages.USER_UPDATE_MESSAGE)
                 .status(HttpStatus.OK)
@@ -152,37 +203,65 @@ public class UserService {
                 .build();
     }
 
+    @Transactional
     public ResponseEntity<String> updateUserForUsers(UserRequestWithoutPassword userRequest,
                                                      HttpServletRequest request) {
         String userName = (String) request.getAttribute("username");
-        User user = userRepository.findByUsername(userName);
+        User user = methodHelper.isUserExistByUsername(userName);
         //!!! builtIn kontrol
         methodHelper.checkBuiltIn(user);
         //!!! unique kontrol
         uniquePropertyValidator.checkUniqueProperties(user, userRequest);
         //!!! DTO --> POJO
-        user.setUsername(userRequest.getUsername());
-        user.setBirthDay(userRequest.getBirthDay());
-        user.setEmail(userRequest.getEmail());
-        user.setPhoneNumber(userRequest.getPhoneNumber());
-        user.setBirthPlace(userRequest.getBirthPlace());
-        user.setGender(userRequest.getGender());
-        user.setName(userRequest.getName());
-        user.setSurname(userRequest.getSurname());
-        user.setSsn(userRequest.getSsn());
-
-        userRepository.save(user);
+        userMapper.updateUserWithRequest(user, userRequest);
+
+        uniquePropertyValidator.saveWithUniqueCheck(user);
+        //!!! username degismis olabilir, eski tokenlar iptal
+        tokenRevocationRegistry.revokeTokens(user.getId());
 
         String message = SuccessMessages.USER_UPDATE_MESSAGE;
 
         return ResponseEntity.ok(message);
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponse> getUserByName(String name) {
-
+        //!!! index hazir degilse veya 3 karakterden kisa parca varsa eski LIKE sorgusu calisir
+        if(userSearchIndex.canSearchName(name)){
+            return getUserViewsInOrder(userSearchIndex.searchName(name));
+        }
         return  userRepository.getUserByNameContaining(name)
                 .stream()
-                .map(userMapper::mapUserToUserResponse)
+                .map(userMapper::mapUserViewToUserResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public Page<UserResponse> searchUsers(String query, int requestedPage, int requestedSize) {
+        int page = pageableHelper.checkPageNumber(requestedPage);
+        int size = pageableHelper.checkPageSize(requestedSize);
+        if(!userSearchIndex.isReady()){
+            List<UserResponse> users = getUserByName(query);
+            int from = (int) Math.min((long) page * size, users.size());
+            return new PageImpl<>(users.subList(from, Math.min(from + size, users.size())),
+                    PageRequest.of(page, size), users.size());
+        }
+        Page<Long> userIds = userSearchIndex.search(query, page, size);
+        return new PageImpl<>(getUserViewsInOrder(userIds.getContent()), userIds.getPageable(),
+                userIds.getTotalElements());
+    }
+
+    //!!! index'in siralamasi korunur; index ile DB arasinda silinen kullanici atlanir
+    private List<UserResponse> getUserViewsInOrder(List<Long> userIds){
+        if(userIds.isEmpty()){
+            return new ArrayList<>();
+        }
+        Map<Long, UserResponse> usersById = userRepository.findUserViewsByIdIn(userIds)
+                .stream()
+                .collect(Collectors.toMap(UserListView::getId, userMapper::mapUserViewToUserResponse));
+        return userIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
@@ -194,10 +273,6 @@ public class UserService {
         return userRepository.findById(userId).orElseThrow(()->
                 new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE,userId)));
     }
-
-    public List<User> getStudentById(Long[] studentIds){
-        return userRepository.findByIdsEquals(studentIds);
-    }
 }
 
 
@@ -7,15 +7,20 @@ import com.project.payload.mappers.EducationTermMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.EducationTermRequest;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.EducationTermResponse;
 import com.project.repository.business.EducationTermRepository;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.PageCountHelper;
 import com.project.service.helper.PageableHelper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -27,7 +32,10 @@ public class EducationTermService {
     private final EducationTermRepository educationTermRepository;
     private final EducationTermMapper educationTermMapper;
     private final PageableHelper pageableHelper;
+    private final PageCountHelper pageCountHelper;
+    private final KeysetPageHelper keysetPageHelper;
 
+    @Transactional
     public ResponseMessage<EducationTermResponse> saveEducationTerm(EducationTermRequest educationTermRequest) {
         validateEducationTermDates(educationTermRequest);
         EducationTerm savedEducationTerm =
@@ -84,6 +92,7 @@ public class EducationTermService {
 
     }
 
+    @Transactional(readOnly = true)
     public EducationTermResponse getEducationTermById(Long id) {
         EducationTerm term = isEducationTermExist(id);
         return educationTermMapper.mapEducationTermToEducationTermResponse(term);
@@ -94,6 +103,7 @@ public class EducationTermService {
                 new ResourceNotFoundException(String.format(ErrorMessages.EDUCATION_TERM_NOT_FOUND_MESSAGE,id)));
     }
 
+    @Transactional(readOnly = true)
     public List<EducationTermResponse> getAllEducationTerms() {
 
         return educationTermRepository.findAll()
@@ -102,12 +112,22 @@ public class EducationTermService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Page<EducationTermResponse> getAllEducationTermByPage(int page, int size, String sort, String type) {
        Pageable pageable = pageableHelper.getPageableWithProperties(page, size, sort, type);
-       return educationTermRepository.findAll(pageable)
-               .map(educationTermMapper::mapEducationTermToEducationTermResponse);
+       return pageCountHelper.getPage(educationTermRepository.findPageContent(pageable), pageable,
+               CountStrategy.EXACT, null, educationTermRepository::count,
+               educationTermMapper::mapEducationTermToEducationTermResponse);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<EducationTermResponse> getAllEducationTermByCursor(String after, int size, String sort,
+                                                                         String type) {
+        return keysetPageHelper.findSlice(EducationTerm.class, null, sort, type, size, after,
+                educationTermMapper::mapEducationTermToEducationTermResponse);
+    }
+
+    @Transactional
     public ResponseMessage<?> deleteEducationTermById(Long id) {
         isEducationTermExist(id);
         educationTermRepository.deleteById(id);
@@ -118,6 +138,7 @@ public class EducationTermService {
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<EducationTermResponse> updateEducationTerm(Long id, EducationTermRequest educationTermRequest) {
 
         isEducationTermExist(id);
@@ -10,11 +10,16 @@ import com.project.payload.mappers.LessonProgramMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.LessonProgramRequest;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.LessonProgramResponse;
 import com.project.repository.business.LessonProgramRepository;
 import com.project.repository.business.LessonRepository;
+import com.project.service.helper.EntityVersionHelper;
 import com.project.service.helper.MethodHelper;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.PageCountHelper;
 import com.project.service.helper.PageableHelper;
 import com.project.service.validator.DateTimeValidator;
 import lombok.RequiredArgsConstructor;
@@ -22,6 +27,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
@@ -38,8 +44,12 @@ public class LessonProgramService {
     private final DateTimeValidator dateTimeValidator;
     private final LessonProgramMapper lessonProgramMapper;
     private final PageableHelper pageableHelper;
+    private final PageCountHelper pageCountHelper;
+    private final KeysetPageHelper keysetPageHelper;
     private final MethodHelper methodHelper;
+    private final EntityVersionHelper entityVersionHelper;
 
+    @Transactional
     public ResponseMessage<LessonProgramResponse> saveLessonProgram(LessonProgramRequest lessonProgramRequest) {
         Set<Lesson> lessons =  lessonService.getAllLessonByLessonId(lessonProgramRequest.getLessonIdList());
         EducationTerm educationTerm = educationTermService.findEducationTermById(
@@ -67,6 +77,7 @@ public class LessonProgramService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<LessonProgramResponse> getAllLessonPrograms() {
         return lessonProgramRepository
                 .findAll()
@@ -75,8 +86,11 @@ public class LessonProgramService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public LessonProgramResponse getLessonProgramById(Long id) {
-        return lessonProgramMapper.mapLessonProgramToLessonProgramResponse(isLessonProgramExistById(id));
+        LessonProgram lessonProgram = isLessonProgramExistById(id);
+        entityVersionHelper.setETag(lessonProgram.getVersion());
+        return lessonProgramMapper.mapLessonProgramToLessonProgramResponse(lessonProgram);
     }
 
     private LessonProgram isLessonProgramExistById(Long id){
@@ -84,6 +98,7 @@ public class LessonProgramService {
                 new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE,id)));
     }
 
+    @Transactional(readOnly = true)
     public List<LessonProgramResponse> getAllUnassigned() {
         return lessonProgramRepository.findByUsers_IdNull()
                 .stream()
@@ -91,6 +106,7 @@ public class LessonProgramService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<LessonProgramResponse> getAllAssigned() {
 
         return lessonProgramRepository.findByUsers_IdNotNull()
@@ -99,6 +115,7 @@ public class LessonProgramService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public ResponseMessage deleteLessonProgramById(Long id) {
         isLessonProgramExistById(id);
         lessonProgramRepository.deleteById(id);
@@ -109,12 +126,22 @@ public class LessonProgramService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public Page<LessonProgramResponse> getAllLessonProgramWithPage(int page, int size, String sort, String type) {
         Pageable pageable =  pageableHelper.getPageableWithProperties(page, size, sort, type);
-        return lessonProgramRepository.findAll(pageable)
-                .map(lessonProgramMapper::mapLessonProgramToLessonProgramResponse);
+        return pageCountHelper.getPage(lessonProgramRepository.findPageContent(pageable), pageable,
+                CountStrategy.EXACT, null, lessonProgramRepository::count,
+                lessonProgramMapper::mapLessonProgramToLessonProgramResponse);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<LessonProgramResponse> getAllLessonProgramWithCursor(String after, int size, String sort,
+                                                                           String type) {
+        return keysetPageHelper.findSlice(LessonProgram.class, null, sort, type, size, after,
+                lessonProgramMapper::mapLessonProgramToLessonProgramResponse);
+    }
+
+    @Transactional(readOnly = true)
     public Set<LessonProgramResponse> getAllLessonProgramByUser(HttpServletRequest httpServletRequest) {
         String userName = (String) httpServletRequest.getAttribute("username");
 
@@ -135,6 +162,7 @@ public class LessonProgramService {
        return lessonPrograms;
     }
 
+    @Transactional(readOnly = true)
     public Set<LessonProgramResponse> getByTeacherId(Long teacherId) {
         User teacher = methodHelper.isUserExist(teacherId);
         methodHelper.checkRole(teacher, RoleType.TEACHER);
@@ -145,6 +173,7 @@ public class LessonProgramService {
                 .collect(Collectors.toSet());
     }
 
+    @Transactional(readOnly = true)
     public Set<LessonProgramResponse> getByStudentId(Long studentId) {
         User student = methodHelper.isUserExist(studentId);
         methodHelper.checkRole(student,RoleType.STUDENT);
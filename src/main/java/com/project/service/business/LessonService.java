@@ -7,9 +7,14 @@ import com.project.payload.mappers.LessonMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.LessonRequest;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.LessonResponse;
 import com.project.repository.business.LessonRepository;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.NaturalIdHelper;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.PageCountHelper;
 import com.project.service.helper.PageableHelper;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.boot.model.source.spi.PluralAttributeElementSourceOneToMany;
@@ -17,8 +22,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,7 +38,11 @@ public class LessonService {
     private final LessonRepository lessonRepository;
     private final LessonMapper lessonMapper;
     private final PageableHelper pageableHelper;
+    private final PageCountHelper pageCountHelper;
+    private final KeysetPageHelper keysetPageHelper;
+    private final NaturalIdHelper naturalIdHelper;
 
+    @Transactional
     public ResponseMessage<LessonResponse> saveLesson(LessonRequest lessonRequest) {
 
         //!!! lesson Name ile conflict kontrolu
@@ -55,6 +69,7 @@ public class LessonService {
         }
     }
 
+    @Transactional
     public ResponseMessage deleteLessonById(Long id) {
 
         isLessonExistById(id);
@@ -71,13 +86,14 @@ public class LessonService {
                 new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_WITH_ID_MESSAGE,id)));
     }
 
+    @Transactional(readOnly = true)
     public ResponseMessage<LessonResponse> getLessonByLessonName(String lessonName) {
         //TODO : Case Sensitive calisiyor istenirse bu kaldirilabilir
-        if(lessonRepository.getLessonByLessonName(lessonName).isPresent()) {
+        Optional<Lesson> lesson = naturalIdHelper.findByNaturalId(Lesson.class, lessonName);
+        if(lesson.isPresent()) {
             return ResponseMessage.<LessonResponse>builder()
                     .message(SuccessMessages.LESSON_FOUND)
-                    .object(lessonMapper.mapLessonToLessonResponse(
-                            lessonRepository.getLessonByLessonName(lessonName).get()))
+                    .object(lessonMapper.mapLessonToLessonResponse(lesson.get()))
                     .build();
         } else {
             return ResponseMessage.<LessonResponse>builder()
@@ -87,17 +103,33 @@ public class LessonService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Page<LessonResponse> findLessonByPage(int page, int size, String sort, String type) {
         Pageable pageable = pageableHelper.getPageableWithProperties(page, size, sort, type);
-        return lessonRepository.findAll(pageable).map(lessonMapper::mapLessonToLessonResponse);
+        return pageCountHelper.getPage(lessonRepository.findPageContent(pageable), pageable,
+                CountStrategy.EXACT, null, lessonRepository::count, lessonMapper::mapLessonToLessonResponse);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<LessonResponse> findLessonByCursor(String after, int size, String sort, String type) {
+        return keysetPageHelper.findSlice(Lesson.class, null, sort, type, size, after,
+                lessonMapper::mapLessonToLessonResponse);
+    }
+
+    //!!! tum id'ler tek IN sorgusu ile, bulunamayan ilk id icin isLessonExistById ile ayni hata
     public Set<Lesson> getAllLessonByLessonId(Set<Long> idSet) { // 2;4;6
-        return idSet.stream()
-                .map(this::isLessonExistById)
-                .collect(Collectors.toSet());
+        Map<Long, Lesson> lessons = lessonRepository.findAllById(idSet)
+                .stream()
+                .collect(Collectors.toMap(Lesson::getLessonId, Function.identity()));
+        for (Long id : idSet) {
+            if (!lessons.containsKey(id)) {
+                throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_LESSON_WITH_ID_MESSAGE, id));
+            }
+        }
+        return new HashSet<>(lessons.values());
     }
 
+    @Transactional
     public LessonResponse updateLessonById(Long lessonId, LessonRequest lessonRequest) {
         Lesson lesson = isLessonExistById(lessonId);
 
@@ -109,14 +141,9 @@ public class LessonService {
                     String.format(ErrorMessages.ALREADY_EXIST_LESSON_WITH_LESSON_NAME_MESSAGE, lessonRequest.getLessonName()));
         }
 
-//        lesson.setLessonName(lessonRequest.getLessonName());
-//        lesson.setCreditScore(lessonRequest.getCreditScore());
-//        lesson.setIsCompulsory(lessonRequest.getIsCompulsory());
-
-        Lesson updatedLesson = lessonMapper.mapLessonRequestToUpdatedLesson(lessonId, lessonRequest);
-        updatedLesson.setLessonPrograms(lesson.getLessonPrograms());
+        lessonMapper.updateLessonWithRequest(lesson, lessonRequest);
 
-        Lesson savedLesson =  lessonRepository.save(updatedLesson);
+        Lesson savedLesson =  lessonRepository.save(lesson);
 
         return lessonMapper.mapLessonToLessonResponse(savedLesson);
 
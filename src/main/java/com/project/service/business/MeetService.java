@@ -10,11 +10,15 @@ import com.project.payload.mappers.MeetMapper;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.MeetRequest;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.MeetResponse;
 import com.project.repository.business.MeetRepository;
-import com.project.service.UserService;
+import com.project.service.helper.EntityVersionHelper;
 import com.project.service.helper.MethodHelper;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.PageCountHelper;
 import com.project.service.helper.PageableHelper;
 import com.project.service.user.TeacherService;
 import com.project.service.validator.DateTimeValidator;
@@ -24,11 +28,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,11 +45,14 @@ public class MeetService {
 
     private final MeetRepository meetRepository;
     private final MethodHelper methodHelper;
+    private final EntityVersionHelper entityVersionHelper;
     private final DateTimeValidator dateTimeValidator;
-    private final UserService userService;
     private final MeetMapper meetMapper;
     private final PageableHelper pageableHelper;
+    private final PageCountHelper pageCountHelper;
+    private final KeysetPageHelper keysetPageHelper;
 
+    @Transactional
     public ResponseMessage<MeetResponse> saveMeet(HttpServletRequest httpServletRequest, MeetRequest meetRequest) {
 
         String username = (String) httpServletRequest.getAttribute("username");
@@ -51,22 +62,21 @@ public class MeetService {
 
         dateTimeValidator.checkTimeWithException(meetRequest.getStartTime(), meetRequest.getStopTime());
         // !!! teacher icin meet conflict kontrolu
-        checkMeetConflict(advisorTeacher.getId(), meetRequest.getDate(),
-                meetRequest.getStartTime(), meetRequest.getStopTime());
+        checkMeetConflict(meetRepository.findByAdvisoryTeacherIdAndDate(advisorTeacher.getId(), meetRequest.getDate()),
+                meetRequest.getDate(), meetRequest.getStartTime(), meetRequest.getStopTime());
+
+        //!!! Meete katilacak Studentlar tek sorguda getiriliyor
+        List<User> students = methodHelper.isUsersExist(Arrays.asList(meetRequest.getStudentIds()));
 
         // !!! Stdent icin meet conflict
-        for(Long studentId: meetRequest.getStudentIds()){
-            User student = methodHelper.isUserExist(studentId);
+        for(User student : students){
             methodHelper.checkRole(student, RoleType.STUDENT);
-
-            checkMeetConflict(studentId, meetRequest.getDate(), meetRequest.getStartTime(), meetRequest.getStopTime());
         }
-
-        //!!! Meete katilacak Studentlar getiriliyor
-        List<User> students = userService.getStudentById(meetRequest.getStudentIds());
+        checkMeetConflict(meetRepository.findByStudentIdsAndDate(idsOf(students), meetRequest.getDate()),
+                meetRequest.getDate(), meetRequest.getStartTime(), meetRequest.getStopTime());
 
         Meet meet = meetMapper.mapMeetRequestToMeet(meetRequest);
-        meet.setStudentList(students);
+        meet.setStudentList(new HashSet<>(students));
         meet.setAdvisoryTeacher(advisorTeacher);
         Meet savedMeet = meetRepository.save(meet);
 
@@ -80,12 +90,11 @@ public class MeetService {
 
     }
 
-    private void checkMeetConflict(Long userId, LocalDate date, LocalTime startTime, LocalTime stopTime){
+    private List<Long> idsOf(List<User> users){
+        return users.stream().map(User::getId).collect(Collectors.toList());
+    }
 
-        List<Meet> meets ;
-        if(Boolean.TRUE.equals(userService.getUserByUserId(userId).getIsAdvisor())){
-            meets = meetRepository.getByAdvisoryTeacher_IdEquals(userId);
-        } else meets = meetRepository.findByStudentList_IdEquals(userId);
+    private void checkMeetConflict(List<Meet> meets, LocalDate date, LocalTime startTime, LocalTime stopTime){
 
         for (Meet meet : meets){
             LocalTime existingStartTime = meet.getStartTime();
@@ -109,6 +118,7 @@ public class MeetService {
 
     }
 
+    @Transactional(readOnly = true)
     public List<MeetResponse> getAll() {
         return meetRepository.findAll()
                 .stream()
@@ -116,11 +126,14 @@ public class MeetService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public ResponseMessage<MeetResponse> getMeetById(Long meetId) {
+        Meet meet = isMeetExistById(meetId);
+        entityVersionHelper.setETag(meet.getVersion());
         return ResponseMessage.<MeetResponse>builder()
                 .message(SuccessMessages.MEET_FOUND)
                 .status(HttpStatus.OK)
-                .object(meetMapper.mapMeetToMeetResponse(isMeetExistById(meetId)))
+                .object(meetMapper.mapMeetToMeetResponse(meet))
                 .build();
     }
 
@@ -130,6 +143,7 @@ public class MeetService {
                         ()->new ResourceNotFoundException(String.format(ErrorMessages.MEET_NOT_FOUND_MESSAGE,meetId)));
     }
 
+    @Transactional
     public ResponseMessage delete(Long meetId, HttpServletRequest httpServletRequest) {
         Meet meet = isMeetExistById(meetId);
         //!!! Teacher ise sadece kendi Meet lerini silebilsin
@@ -157,20 +171,30 @@ public class MeetService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Page<MeetResponse> getAllMeetByPage(int page, int size) {
         Pageable pageable = pageableHelper.getPageableWithProperties(page, size);
-        return meetRepository.findAll(pageable).map(meetMapper::mapMeetToMeetResponse);
+        return pageCountHelper.getPage(meetRepository.findPageContent(pageable), pageable,
+                CountStrategy.ESTIMATED, "meet", meetRepository::count, meetMapper::mapMeetToMeetResponse);
     }
 
-    public ResponseMessage<MeetResponse> updateMeet(MeetRequest updateMeetRequest, Long meetId,
+    @Transactional(readOnly = true)
+    public KeysetSlice<MeetResponse> getAllMeetByCursor(String after, int size) {
+        return keysetPageHelper.findSlice(Meet.class, null, "id", "desc", size, after, meetMapper::mapMeetToMeetResponse);
+    }
+
+    @Transactional
+    public ResponseMessage<MeetResponse> updateMeet(MeetRequest updateMeetRequest, Long meetId, String ifMatch,
                                                     HttpServletRequest httpServletRequest) {
         Meet meet = isMeetExistById(meetId);
+        entityVersionHelper.checkIfMatch(ifMatch, meet.getVersion());
         String userName = (String) httpServletRequest.getAttribute("username");
         User teacher = methodHelper.isUserExistByUsername(userName);
         //!!! Teacher kendine ait olan meet i mi guncelliyor
         isTeacherControl(meet, teacher);
         //!!! cakisma var mi kontrolu
         dateTimeValidator.checkTimeWithException(updateMeetRequest.getStartTime(), updateMeetRequest.getStopTime());
+        List<User> students = methodHelper.isUsersExist(Arrays.asList(updateMeetRequest.getStudentIds()));
         //!!! Teacher ve student icin cakisma kontrolu :
         if(!(
                meet.getDate().equals(updateMeetRequest.getDate()) &&
@@ -179,25 +203,26 @@ public class MeetService {
           ))
         {
             //!!! Student icin cakisma kontrolu :
-            for (Long studentId : updateMeetRequest.getStudentIds()){
-                checkMeetConflict(studentId, updateMeetRequest.getDate(),
-                        updateMeetRequest.getStartTime(),updateMeetRequest.getStopTime());
-            }
+            checkMeetConflict(meetRepository.findByStudentIdsAndDate(idsOf(students), updateMeetRequest.getDate()),
+                    updateMeetRequest.getDate(),
+                    updateMeetRequest.getStartTime(),updateMeetRequest.getStopTime());
 
             //!!! Teacher icin cakisma kontrolu
-            checkMeetConflict(meet.getAdvisoryTeacher().getId(),
+            checkMeetConflict(meetRepository.findByAdvisoryTeacherIdAndDate(meet.getAdvisoryTeacher().getId(),
+                            updateMeetRequest.getDate()),
                     updateMeetRequest.getDate(),
                     updateMeetRequest.getStartTime(),
                     updateMeetRequest.getStopTime());
         }
 
-        List<User> students = userService.getStudentById(updateMeetRequest.getStudentIds());
-        //!!! DTO --> POJO
-        Meet updatedMeet =  meetMapper.mapMeetUpdateRequestToMeet(updateMeetRequest, meetId);
-        updatedMeet.setAdvisoryTeacher(meet.getAdvisoryTeacher());
-        updatedMeet.setStudentList(students);
+        meetMapper.updateMeetWithRequest(meet, updateMeetRequest);
+        //!!! set yerinde guncelleniyor: join tablosuna sadece cikan ogrenciler icin DELETE, eklenenler icin INSERT gider
+        Set<User> studentSet = new HashSet<>(students);
+        meet.getStudentList().retainAll(studentSet);
+        meet.getStudentList().addAll(studentSet);
 
-        Meet savedMeet = meetRepository.save(updatedMeet);
+        Meet savedMeet = entityVersionHelper.saveVersioned(() -> meetRepository.saveAndFlush(meet));
+        entityVersionHelper.setETag(savedMeet.getVersion());
 
         return ResponseMessage.<MeetResponse>builder()
                 .message(SuccessMessages.MEET_UPDATE)
@@ -207,6 +232,7 @@ public class MeetService {
 
     }
 
+    @Transactional(readOnly = true)
     public ResponseEntity<List<MeetResponse>> getAllMeetByTeacher(HttpServletRequest httpServletRequest) {
         String userName = (String) httpServletRequest.getAttribute("username");
         User advisoryTeacher = methodHelper.isUserExistByUsername(userName);
@@ -222,6 +248,7 @@ public class MeetService {
 
     }
 
+    @Transactional(readOnly = true)
     public List<MeetResponse> getAllMeetByStudent(HttpServletRequest httpServletRequest) {
         String userName = (String) httpServletRequest.getAttribute("username");
         User student = methodHelper.isUserExistByUsername(userName);
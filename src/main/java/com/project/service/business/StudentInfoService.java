@@ -13,11 +13,16 @@ import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.StudentInfoRequest;
 import com.project.payload.request.business.UpdateStudentInfoRequest;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
 import com.project.payload.response.business.StudentInfoResponse;
 import com.project.repository.business.StudentInfoRepository;
 import com.project.service.UserService;
+import com.project.service.helper.EntityVersionHelper;
 import com.project.service.helper.MethodHelper;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.PageCountHelper;
 import com.project.service.helper.PageableHelper;
 import com.project.service.user.TeacherService;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +31,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.List;
@@ -37,11 +43,14 @@ public class StudentInfoService {
 
     private final StudentInfoRepository studentInfoRepository;
     private final MethodHelper methodHelper;
+    private final EntityVersionHelper entityVersionHelper;
     private final UserService userService;
     private final LessonService lessonService;
     private final EducationTermService educationTermService;
     private final StudentInfoDto studentInfoDto;
     private final PageableHelper pageableHelper;
+    private final PageCountHelper pageCountHelper;
+    private final KeysetPageHelper keysetPageHelper;
 
     @Value("${midterm.exam.impact.percentage}")
     private Double midtermExamPercentage;
@@ -50,6 +59,7 @@ public class StudentInfoService {
     private Double finalExamPercentage;
 
 
+    @Transactional
     public ResponseMessage<StudentInfoResponse> saveStudentInfo(HttpServletRequest httpServletRequest,
                                                                 StudentInfoRequest studentInfoRequest) {
         String teacherUsername = (String) httpServletRequest.getAttribute("username");
@@ -118,6 +128,7 @@ public class StudentInfoService {
         }
     }
 
+    @Transactional
     public ResponseMessage deleteStudentInfo(Long studentInfoId) {
 
         StudentInfo studentInfo = isStudentInfoExistById(studentInfoId);
@@ -139,33 +150,47 @@ public class StudentInfoService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Page<StudentInfoResponse> getAllStudentInfoByPage(int page, int size, String sort, String type) {
         Pageable pageable = pageableHelper.getPageableWithProperties(page, size, sort, type);
-        return studentInfoRepository.findAll(pageable).map(studentInfoDto::mapStudentInfoToStudentInfoResponse);
+        return pageCountHelper.getPage(studentInfoRepository.findPageContent(pageable), pageable,
+                CountStrategy.ESTIMATED, "student_info", studentInfoRepository::count,
+                studentInfoDto::mapStudentInfoToStudentInfoResponse);
     }
 
-    public StudentInfoResponse getStudentInfoById(Long studentInfoId) {
+    @Transactional(readOnly = true)
+    public KeysetSlice<StudentInfoResponse> getAllStudentInfoByCursor(String after, int size, String sort, String type) {
+        return keysetPageHelper.findSlice(StudentInfo.class, null, sort, type, size, after,
+                studentInfoDto::mapStudentInfoToStudentInfoResponse);
+    }
 
-        return studentInfoDto.mapStudentInfoToStudentInfoResponse(isStudentInfoExistById(studentInfoId));
+    @Transactional(readOnly = true)
+    public StudentInfoResponse getStudentInfoById(Long studentInfoId) {
+        StudentInfo studentInfo = isStudentInfoExistById(studentInfoId);
+        entityVersionHelper.setETag(studentInfo.getVersion());
+        return studentInfoDto.mapStudentInfoToStudentInfoResponse(studentInfo);
     }
 
-    public ResponseMessage<StudentInfoResponse> update(UpdateStudentInfoRequest studentInfoRequest, Long studentInfoId) {
+    @Transactional
+    public ResponseMessage<StudentInfoResponse> update(UpdateStudentInfoRequest studentInfoRequest, Long studentInfoId,
+                                                       String ifMatch) {
 
         Lesson lesson =lessonService.isLessonExistById(studentInfoRequest.getLessonId());
         StudentInfo studentInfo = isStudentInfoExistById(studentInfoId);
+        //!!! ayni notu iki ogretmen es zamanli girerse sonraki ConflictException alir
+        entityVersionHelper.checkIfMatch(ifMatch, studentInfo.getVersion());
         EducationTerm educationTerm =
                 educationTermService.findEducationTermById(studentInfoRequest.getEducationTermId());
         Double noteAverage =
                 calculateExamAverage(studentInfoRequest.getMidtermExam(), studentInfoRequest.getFinalExam());
         Note note = checkLetterGrade(noteAverage);
-        StudentInfo studentInfoForUpdate = studentInfoDto.mapStudentInfoUpdateToStudentInfo(studentInfoRequest, studentInfoId,
+        studentInfoDto.updateStudentInfoWithRequest(studentInfo, studentInfoRequest,
                 lesson, educationTerm,
                 note,noteAverage);
 
-        studentInfoForUpdate.setTeacher(studentInfo.getTeacher());
-        studentInfoForUpdate.setStudent(studentInfo.getStudent());
-
-        StudentInfo updatedStudentInfo =  studentInfoRepository.save(studentInfoForUpdate);
+        StudentInfo updatedStudentInfo =
+                entityVersionHelper.saveVersioned(() -> studentInfoRepository.saveAndFlush(studentInfo));
+        entityVersionHelper.setETag(updatedStudentInfo.getVersion());
 
         return ResponseMessage.<StudentInfoResponse>builder()
                 .message(SuccessMessages.STUDENT_INFO_UPDATE)
@@ -175,22 +200,46 @@ public class StudentInfoService {
 
     }
 
+    @Transactional(readOnly = true)
     public Page<StudentInfoResponse> getAllForTeacher(HttpServletRequest httpServletRequest, int page, int size) {
         Pageable pageable = pageableHelper.getPageableWithProperties(page, size);
         String username = (String) httpServletRequest.getAttribute("username");
 
-        return studentInfoRepository.findByTeacherId_UsernameEquals(username, pageable)
-                .map(studentInfoDto::mapStudentInfoToStudentInfoResponse);
+        return pageCountHelper.getPage(studentInfoRepository.findByTeacherId_UsernameEquals(username, pageable),
+                pageable, CountStrategy.CACHED, "studentInfo:teacher:" + username,
+                () -> studentInfoRepository.countByTeacherUsername(username),
+                studentInfoDto::mapStudentInfoToStudentInfoResponse);
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<StudentInfoResponse> getAllForTeacherByCursor(HttpServletRequest httpServletRequest,
+                                                                    String after, int size) {
+        String username = (String) httpServletRequest.getAttribute("username");
+        return keysetPageHelper.findSlice(StudentInfo.class,
+                (root, query, cb) -> cb.equal(root.get("teacher").get("username"), username),
+                "id", "desc", size, after, studentInfoDto::mapStudentInfoToStudentInfoResponse);
+    }
+
+    @Transactional(readOnly = true)
     public Page<StudentInfoResponse> getAllForStudent(HttpServletRequest httpServletRequest, int page, int size) {
         Pageable pageable = pageableHelper.getPageableWithProperties(page, size);
         String username = (String) httpServletRequest.getAttribute("username");
 
-        return studentInfoRepository.findByStudentId_UsernameEquals(username, pageable)
-                .map(studentInfoDto::mapStudentInfoToStudentInfoResponse);
+        return pageCountHelper.getPage(studentInfoRepository.findByStudentId_UsernameEquals(username, pageable),
+                pageable, CountStrategy.EXACT, null, () -> studentInfoRepository.countByStudentUsername(username),
+                studentInfoDto::mapStudentInfoToStudentInfoResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public KeysetSlice<StudentInfoResponse> getAllForStudentByCursor(HttpServletRequest httpServletRequest,
+                                                                    String after, int size) {
+        String username = (String) httpServletRequest.getAttribute("username");
+        return keysetPageHelper.findSlice(StudentInfo.class,
+                (root, query, cb) -> cb.equal(root.get("student").get("username"), username),
+                "id", "desc", size, after, studentInfoDto::mapStudentInfoToStudentInfoResponse);
     }
 
+    @Transactional(readOnly = true)
     public List<StudentInfoResponse> findStudentInfoByStudentId(Long studentId) {
         User student = methodHelper.isUserExist(studentId);
         methodHelper.checkRole(student, RoleType.STUDENT);
@@ -0,0 +1,9 @@
+package com.project.service.helper;
+
+//!!! Page cevaplarindaki totalElements degerinin nasil hesaplandigi
+public enum CountStrategy {
+
+    EXACT,      // her istekte COUNT sorgusu
+    CACHED,     // filtreye gore kisa sureli cache'lenmis COUNT
+    ESTIMATED   // filtresiz tablolar icin PostgreSQL planner istatistigi (pg_class.reltuples)
+}
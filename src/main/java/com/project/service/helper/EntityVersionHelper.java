@@ -0,0 +1,58 @@
+package com.project.service.helper;
+
+import com.project.exception.ConflictException;
+import com.project.payload.messages.ErrorMessages;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.function.Supplier;
+
+//!!! @Version kolonlari uzerinden ETag / If-Match sozlesmesi. Okuma ve guncelleme cevaplari ETag: "<version>" doner,
+//  guncelleme istegi If-Match ile bu degeri geri gonderirse arada degisen kayit ConflictException ile reddedilir
+@Component
+public class EntityVersionHelper {
+
+    //!!! If-Match opsiyonel: gonderilmezse sadece es zamanli yazmalar @Version ile yakalanir
+    public void checkIfMatch(String ifMatch, Long version) {
+        if (!StringUtils.hasText(ifMatch)) {
+            return;
+        }
+        String eTag = eTag(version);
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+                return;
+            }
+        }
+        throw new ConflictException(String.format(ErrorMessages.STALE_VERSION_MESSAGE, eTag));
+    }
+
+    //!!! kayit baska bir istek tarafindan ayni anda guncellendiyse UPDATE ... WHERE version = ? satir bulamaz
+    public <T> T saveVersioned(Supplier<T> writer) {
+        try {
+            return writer.get();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictException(ErrorMessages.CONCURRENT_UPDATE_MESSAGE);
+        }
+    }
+
+    public void setETag(Long version) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes instanceof ServletRequestAttributes) {
+            HttpServletResponse response = ((ServletRequestAttributes) requestAttributes).getResponse();
+            if (response != null) {
+                response.setHeader(HttpHeaders.ETAG, eTag(version));
+            }
+        }
+    }
+
+    private String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+}
@@ -0,0 +1,168 @@
+package com.project.service.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.exception.BadRequestException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.response.KeysetSlice;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import javax.persistence.metamodel.Attribute;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+//!!! Offset yerine son satirin (sort degeri, id) ikilisinden devam eden sayfalama, COUNT sorgusu calistirmaz
+@Component
+@RequiredArgsConstructor
+public class KeysetPageHelper {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final PageableHelper pageableHelper;
+
+    //!!! after bos ise ilk sayfa doner; null degerler PostgreSQL gibi en buyuk kabul edilir (ASC'de sonda, DESC'de basta)
+    @Transactional(readOnly = true)
+    public <E, R> KeysetSlice<R> findSlice(Class<E> entityClass, Specification<E> filter, String sort, String type,
+                                           int requestedSize, String after, Function<E, R> mapper) {
+        int size = pageableHelper.checkPageSize(requestedSize);
+        boolean descending = Objects.equals(type, "desc");
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(entityClass);
+        Root<E> root = query.from(entityClass);
+        Path<Comparable<Object>> sortPath = getSortPath(root, sort);
+        //!!! Lesson'da id alaninin adi lessonId, bu yuzden isim metamodel'den aliniyor
+        String idName = root.getModel().getId(Long.class).getName();
+        Path<Long> idPath = root.get(idName);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter != null) {
+            Predicate filterPredicate = filter.toPredicate(root, query, cb);
+            if (filterPredicate != null) {
+                predicates.add(filterPredicate);
+            }
+        }
+        if (StringUtils.hasText(after)) {
+            Cursor cursor = decodeCursor(after, sort, descending, sortPath.getJavaType());
+            predicates.add(seekPredicate(cb, sortPath, idPath, cursor, descending, sort.equals(idName)));
+        }
+
+        query.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(descending ? cb.desc(sortPath) : cb.asc(sortPath),
+                        descending ? cb.desc(idPath) : cb.asc(idPath));
+
+        //!!! bir fazla satir cekilerek sonraki sayfanin olup olmadigi COUNT'suz anlasilir;
+        //  satirlar sadece response'a cevrilir, read-only yuklenir (snapshot alinmaz)
+        List<E> rows = entityManager.createQuery(query)
+                .setHint("org.hibernate.readOnly", true)
+                .setMaxResults(size + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        return KeysetSlice.<R>builder()
+                .content(rows.stream().map(mapper).collect(Collectors.toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? encodeCursor(rows.get(rows.size() - 1), sort, idName, descending) : null)
+                .build();
+    }
+
+    private <E> Path<Comparable<Object>> getSortPath(Root<E> root, String sort) {
+        Attribute<? super E, ?> attribute;
+        try {
+            attribute = root.getModel().getAttribute(sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_SORT_PROPERTY, sort));
+        }
+        //!!! iliskiler ve koleksiyonlar uzerinden seek yapilamaz, sadece basit kolonlar
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC
+                || attribute.isCollection()
+                || !Comparable.class.isAssignableFrom(ClassUtils.resolvePrimitiveIfNecessary(attribute.getJavaType()))) {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_SORT_PROPERTY, sort));
+        }
+        return root.get(sort);
+    }
+
+    //!!! (a, id) < (v, lastId) ifadesi index'in range scan yapabilecegi "a <= v AND (a < v OR id < lastId)" seklinde yaziliyor
+    private Predicate seekPredicate(CriteriaBuilder cb, Path<Comparable<Object>> sortPath, Path<Long> idPath,
+                                    Cursor cursor, boolean descending, boolean sortById) {
+        Predicate idAfter = descending ? cb.lessThan(idPath, cursor.id) : cb.greaterThan(idPath, cursor.id);
+        if (sortById) {
+            return idAfter;
+        }
+        if (cursor.value == null) {
+            Predicate remainingNulls = cb.and(cb.isNull(sortPath), idAfter);
+            return descending ? cb.or(remainingNulls, cb.isNotNull(sortPath)) : remainingNulls;
+        }
+        Predicate seek = descending
+                ? cb.and(cb.lessThanOrEqualTo(sortPath, cursor.value),
+                         cb.or(cb.lessThan(sortPath, cursor.value), idAfter))
+                : cb.and(cb.greaterThanOrEqualTo(sortPath, cursor.value),
+                         cb.or(cb.greaterThan(sortPath, cursor.value), idAfter));
+        return descending ? seek : cb.or(seek, cb.isNull(sortPath));
+    }
+
+    private String encodeCursor(Object lastRow, String sort, String idName, boolean descending) {
+        BeanWrapperImpl wrapper = new BeanWrapperImpl(lastRow);
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("sort", sort);
+        node.put("desc", descending);
+        node.set("value", objectMapper.valueToTree(wrapper.getPropertyValue(sort)));
+        node.put("id", (Long) wrapper.getPropertyValue(idName));
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(node));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    //!!! cursor farkli bir siralama icin uretildiyse kabul edilmez, aksi halde sayfalar karisir
+    @SuppressWarnings("unchecked")
+    private Cursor decodeCursor(String after, String sort, boolean descending, Class<?> valueType) {
+        try {
+            JsonNode node = objectMapper.readTree(Base64.getUrlDecoder().decode(after));
+            if (!sort.equals(node.path("sort").asText()) || node.path("desc").asBoolean() != descending
+                    || !node.path("id").canConvertToLong()) {
+                throw new BadRequestException(ErrorMessages.INVALID_PAGE_CURSOR);
+            }
+            JsonNode value = node.path("value");
+            Object sortValue = value.isNull() || value.isMissingNode()
+                    ? null
+                    : objectMapper.treeToValue(value, ClassUtils.resolvePrimitiveIfNecessary(valueType));
+            return new Cursor((Comparable<Object>) sortValue, node.get("id").asLong());
+        } catch (IOException | IllegalArgumentException e) {
+            throw new BadRequestException(ErrorMessages.INVALID_PAGE_CURSOR);
+        }
+    }
+
+    private static class Cursor {
+        private final Comparable<Object> value;
+        private final Long id;
+
+        private Cursor(Comparable<Object> value, Long id) {
+            this.value = value;
+            this.id = id;
+        }
+    }
+}
@@ -6,25 +6,90 @@ import com.project.exception.BadRequestException;
 import com.project.exception.ResourceNotFoundException;
 import com.project.payload.messages.ErrorMessages;
 import com.project.repository.UserRepository;
+import com.project.security.service.CurrentUserHolder;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 public class MethodHelper {
 
+    private static final String LOADED_USERS_ATTRIBUTE = MethodHelper.class.getName() + ".loadedUsers";
+
     private final UserRepository userRepository;
+    private final CurrentUserHolder currentUserHolder;
 
-    //!!! id ile kontrol
+    //!!! id ile kontrol, ayni istekte daha once yuklenen kullanici tekrar sorgulanmaz
     public User isUserExist(Long userId){
-        return userRepository.findById(userId).orElseThrow(()->
-                new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, userId)));
+        Map<Long, User> loadedUsers = loadedUsers();
+        User user = loadedUsers.get(userId);
+        if(user == null) {
+            user = userRepository.findById(userId).orElseThrow(()->
+                    new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, userId)));
+            loadedUsers.put(userId, user);
+        }
+        return user;
+    }
+
+    //!!! id listesi icin isUserExist: eksik id'ler tek IN sorgusu ile (rolleriyle birlikte) yuklenir,
+    //  tekrar eden id'ler tek kullaniciya iner ve sonuc istek sirasini korur
+    public List<User> isUsersExist(Collection<Long> userIds){
+        Map<Long, User> loadedUsers = loadedUsers();
+        Set<Long> missingIds = new LinkedHashSet<>();
+        for (Long userId : userIds) {
+            if(!loadedUsers.containsKey(userId)) {
+                missingIds.add(userId);
+            }
+        }
+        if(!missingIds.isEmpty()) {
+            userRepository.findAllWithRoleByIdIn(missingIds).forEach(user -> loadedUsers.put(user.getId(), user));
+        }
+        Map<Long, User> users = new LinkedHashMap<>();
+        for (Long userId : userIds) {
+            User user = loadedUsers.get(userId);
+            if(user == null) {
+                throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE, userId));
+            }
+            users.put(userId, user);
+        }
+        return new ArrayList<>(users.values());
+    }
+
+    //!!! istek disinda (zamanlanmis isler) her cagri kendi bos cache'i ile calisir
+    @SuppressWarnings("unchecked")
+    private Map<Long, User> loadedUsers(){
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes == null) {
+            return new HashMap<>();
+        }
+        Map<Long, User> loadedUsers =
+                (Map<Long, User>) attributes.getAttribute(LOADED_USERS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if(loadedUsers == null) {
+            loadedUsers = new HashMap<>();
+            attributes.setAttribute(LOADED_USERS_ATTRIBUTE, loadedUsers, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loadedUsers;
     }
 
     //!!! isUserExistByUsername
     public User isUserExistByUsername(String username){
-     User user =  userRepository.findByUsernameEquals(username);
-     if(user.getId() == null) {
+     //!!! istegi yapan kullanici ise filtrede yuklenen nesne kullaniliyor
+     User user = currentUserHolder.getUser(username);
+     if(user == null) {
+         user = userRepository.findByUsernameEquals(username);
+     }
+     if(user == null || user.getId() == null) {
          throw new ResourceNotFoundException(String.format(ErrorMessages.NOT_FOUND_USER_MESSAGE_WITH_USERNAME,username));
      }
      return user;
@@ -0,0 +1,24 @@
+package com.project.service.helper;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.io.Serializable;
+import java.util.Optional;
+
+//!!! @NaturalId alanindan yukleme: JPQL sorgusunun aksine once natural-id ve entity cache'ine bakar,
+//  cache'te varsa veritabanina gitmez
+@Component
+@RequiredArgsConstructor
+public class NaturalIdHelper {
+
+    private final EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public <T> Optional<T> findByNaturalId(Class<T> entityClass, Serializable naturalId) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(entityClass).loadOptional(naturalId);
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.service.helper;
+
+import com.project.payload.response.CountedPage;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+//!!! Sayfa icerigi COUNT'suz cekilir, toplam sayi endpoint'in sectigi CountStrategy ile bulunur
+@Component
+@RequiredArgsConstructor
+public class PageCountHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageCountHelper.class);
+
+    private static final String ESTIMATE_SQL = "SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+
+    @Value("${backendapi.app.pageCount.cacheTtlSeconds:30}")
+    private long cacheTtlSeconds;
+
+    @Value("${backendapi.app.pageCount.cacheMaxEntries:10000}")
+    private int cacheMaxEntries;
+
+    //!!! bu sayinin altindaki tablolarda tahmin yerine kesin COUNT zaten ucuz
+    @Value("${backendapi.app.pageCount.estimateThreshold:100000}")
+    private long estimateThreshold;
+
+    private final Map<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    private boolean estimatesSupported;
+
+    @PostConstruct
+    private void init() {
+        try {
+            String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+            estimatesSupported = "PostgreSQL".equalsIgnoreCase(product);
+        } catch (MetaDataAccessException e) {
+            LOGGER.warn("Database product could not be detected, estimated page counts are disabled", e);
+        }
+    }
+
+    //!!! countKey CACHED icin filtreyi iceren cache anahtari, ESTIMATED icin tablo adidir
+    public <E, R> Page<R> getPage(List<E> content, Pageable pageable, CountStrategy strategy, String countKey,
+                                  LongSupplier exactCount, Function<E, R> mapper) {
+        List<R> mappedContent = content.stream().map(mapper).collect(Collectors.toList());
+
+        //!!! son sayfadaysak toplam sayi icerikten bellidir, hicbir sorgu gerekmez
+        if (!content.isEmpty() && content.size() < pageable.getPageSize()) {
+            return new CountedPage<>(mappedContent, pageable, pageable.getOffset() + content.size(), CountStrategy.EXACT);
+        }
+
+        switch (strategy) {
+            case CACHED:
+                return new CountedPage<>(mappedContent, pageable, getCachedCount(countKey, exactCount), CountStrategy.CACHED);
+            case ESTIMATED:
+                Long estimate = getEstimatedCount(countKey);
+                if (estimate != null) {
+                    return new CountedPage<>(mappedContent, pageable, estimate, CountStrategy.ESTIMATED);
+                }
+                return new CountedPage<>(mappedContent, pageable, exactCount.getAsLong(), CountStrategy.EXACT);
+            default:
+                return new CountedPage<>(mappedContent, pageable, exactCount.getAsLong(), CountStrategy.EXACT);
+        }
+    }
+
+    private long getCachedCount(String key, LongSupplier exactCount) {
+        long now = System.nanoTime();
+        CachedCount cached = cachedCounts.get(key);
+        if (cached != null && cached.expiresAt - now > 0) {
+            return cached.value;
+        }
+        long value = exactCount.getAsLong();
+        if (cachedCounts.size() >= cacheMaxEntries) {
+            cachedCounts.values().removeIf(entry -> entry.expiresAt - now <= 0);
+            if (cachedCounts.size() >= cacheMaxEntries) {
+                cachedCounts.clear();
+            }
+        }
+        cachedCounts.put(key, new CachedCount(value, now + TimeUnit.SECONDS.toNanos(cacheTtlSeconds)));
+        return value;
+    }
+
+    //!!! tablo hic ANALYZE edilmediyse reltuples -1 (eski surumlerde 0) doner, o durumda kesin sayiya dusulur
+    private Long getEstimatedCount(String tableName) {
+        if (!estimatesSupported) {
+            return null;
+        }
+        Long estimate = jdbcTemplate.query(ESTIMATE_SQL, rs -> rs.next() ? rs.getLong(1) : null, tableName);
+        if (estimate == null || estimate < estimateThreshold) {
+            return null;
+        }
+        return estimate;
+    }
+
+    private static class CachedCount {
+        private final long value;
+        private final long expiresAt;
+
+        private CachedCount(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.project.service.helper;
 
+import com.project.exception.BadRequestException;
+import com.project.payload.messages.ErrorMessages;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -10,6 +13,9 @@ import java.util.Objects;
 @Component
 public class PageableHelper {
 
+    @Value("${backendapi.app.paging.maxPageSize:1000}")
+    private int maxPageSize;
+
     public Pageable getPageableWithProperties(int page, int size, String sort, String type){
         Pageable pageable = PageRequest.of(page, size, Sort.by(sort).ascending());
         if(Objects.equals(type, "desc")){
@@ -22,4 +28,19 @@ public class PageableHelper {
     public Pageable getPageableWithProperties(int page, int size){
         return PageRequest.of(page, size,Sort.by("id").descending());
     }
+
+    //!!! 1'den kucuk size 400 doner, ust sinirin ustundeki size sinira cekilir (tum tablo tek sayfada yuklenmesin)
+    public int checkPageSize(int size) {
+        if (size < 1) {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_PAGE_SIZE, size));
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    public int checkPageNumber(int page) {
+        if (page < 0) {
+            throw new BadRequestException(String.format(ErrorMessages.INVALID_PAGE_NUMBER, page));
+        }
+        return page;
+    }
 }
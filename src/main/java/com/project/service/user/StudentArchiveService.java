@@ -0,0 +1,248 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.user.StudentArchive;
+import com.project.exception.ResourceNotFoundException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.messages.SuccessMessages;
+import com.project.payload.response.ResponseMessage;
+import com.project.payload.response.user.ArchivedStudentResponse;
+import com.project.repository.StudentArchiveRepository;
+import com.project.repository.projection.StudentArchiveView;
+import com.project.security.service.TokenRevocationRegistry;
+import com.project.service.helper.CountStrategy;
+import com.project.service.helper.PageCountHelper;
+import com.project.service.helper.PageableHelper;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+//!!! Saklama suresini asan pasif ogrencileri ve bagimli satirlarini student_archive tablosuna tasir.
+//  Her batch tek transaction: arsiv satiri yazilmadan canli satirlar silinmez
+@Service
+@RequiredArgsConstructor
+public class StudentArchiveService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StudentArchiveService.class);
+
+    //!!! FOR UPDATE: ayni anda tekrar aktif edilen ogrenci arsive tasinmaz, guncelleme batch bitene kadar bekler
+    private static final String CANDIDATES_SQL =
+            "SELECT id FROM t_user WHERE is_active = false AND deleted_at IS NULL AND inactive_since < :cutoff " +
+                    "AND user_role_id IN (SELECT id FROM roles WHERE role_type = 'STUDENT') " +
+                    "ORDER BY inactive_since, id LIMIT :batchSize FOR UPDATE";
+
+    private static final String USERS_SQL = "SELECT * FROM t_user WHERE id IN (:userIds)";
+
+    private static final String STUDENT_INFOS_SQL = "SELECT * FROM student_info WHERE student_id IN (:userIds)";
+
+    private static final String LESSON_PROGRAM_LINKS_SQL =
+            "SELECT user_id, lesson_program_id FROM user_lessonprogram WHERE user_id IN (:userIds)";
+
+    private static final String MEET_LINKS_SQL =
+            "SELECT student_id, meet_id FROM meet_student_table WHERE student_id IN (:userIds)";
+
+    private static final String INSERT_ARCHIVE_SQL =
+            "INSERT INTO student_archive (user_id, username, name, surname, student_number, inactive_since, " +
+                    "archived_at, record) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    //!!! FK sirasina gore: once baglanti tablolari, en son t_user
+    private static final List<String> DELETE_SQLS = List.of(
+            "DELETE FROM meet_student_table WHERE student_id IN (:userIds)",
+            "DELETE FROM user_lessonprogram WHERE user_id IN (:userIds)",
+            "DELETE FROM student_info WHERE student_id IN (:userIds)",
+            "DELETE FROM t_user WHERE id IN (:userIds)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final StudentArchiveRepository studentArchiveRepository;
+    private final UserSearchIndex userSearchIndex;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final PageableHelper pageableHelper;
+    private final PageCountHelper pageCountHelper;
+
+    @Value("${backendapi.app.studentArchive.retentionDays:730}")
+    private int retentionDays;
+
+    @Value("${backendapi.app.studentArchive.batchSize:500}")
+    private int batchSize;
+
+    @Scheduled(initialDelayString = "${backendapi.app.studentArchive.sweepDelayMs:3600000}",
+            fixedDelayString = "${backendapi.app.studentArchive.sweepDelayMs:3600000}")
+    public int archiveInactiveStudents() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        int archived;
+        do {
+            archived = archiveBatch(cutoff);
+            total += archived;
+        } while (archived == batchSize);
+        if (total > 0) {
+            LOGGER.info("Archived {} students inactive since before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> userIds = transactionTemplate.execute(status -> {
+            List<Long> ids = namedParameterJdbcTemplate.queryForList(CANDIDATES_SQL, new MapSqlParameterSource()
+                    .addValue("cutoff", cutoff)
+                    .addValue("batchSize", batchSize), Long.class);
+            if (!ids.isEmpty()) {
+                moveToArchive(ids);
+            }
+            return ids;
+        });
+        if (userIds == null) {
+            return 0;
+        }
+        //!!! silinen satirlar icin JPA listener calismaz, arama index'i ve token epoch kopyasi commit'ten sonra elle guncellenir
+        userIds.forEach(userSearchIndex::remove);
+        userIds.forEach(tokenRevocationRegistry::evict);
+        return userIds.size();
+    }
+
+    private void moveToArchive(List<Long> userIds) {
+        MapSqlParameterSource params = new MapSqlParameterSource("userIds", userIds);
+        Map<Long, List<Map<String, Object>>> studentInfos = groupBy(STUDENT_INFOS_SQL, params, "student_id");
+        Map<Long, List<Object>> lessonProgramIds =
+                groupValues(LESSON_PROGRAM_LINKS_SQL, params, "user_id", "lesson_program_id");
+        Map<Long, List<Object>> meetIds = groupValues(MEET_LINKS_SQL, params, "student_id", "meet_id");
+
+        LocalDateTime archivedAt = LocalDateTime.now();
+        List<Object[]> archiveRows = new ArrayList<>();
+        for (Map<String, Object> row : namedParameterJdbcTemplate.queryForList(USERS_SQL, params)) {
+            Map<String, Object> user = normalize(row);
+            user.remove("password");
+            Long userId = ((Number) user.get("id")).longValue();
+
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("user", user);
+            record.put("studentInfos", studentInfos.getOrDefault(userId, Collections.emptyList()));
+            record.put("lessonProgramIds", lessonProgramIds.getOrDefault(userId, Collections.emptyList()));
+            record.put("meetIds", meetIds.getOrDefault(userId, Collections.emptyList()));
+
+            archiveRows.add(new Object[]{userId, user.get("username"), user.get("name"), user.get("surname"),
+                    user.get("student_number"), user.get("inactive_since"), archivedAt, toJson(record)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ARCHIVE_SQL, archiveRows);
+        DELETE_SQLS.forEach(sql -> namedParameterJdbcTemplate.update(sql, params));
+    }
+
+    private Map<Long, List<Map<String, Object>>> groupBy(String sql, MapSqlParameterSource params, String key) {
+        Map<Long, List<Map<String, Object>>> grouped = new HashMap<>();
+        for (Map<String, Object> row : namedParameterJdbcTemplate.queryForList(sql, params)) {
+            Map<String, Object> normalized = normalize(row);
+            Long userId = ((Number) normalized.get(key)).longValue();
+            grouped.computeIfAbsent(userId, id -> new ArrayList<>()).add(normalized);
+        }
+        return grouped;
+    }
+
+    private Map<Long, List<Object>> groupValues(String sql, MapSqlParameterSource params, String key, String value) {
+        Map<Long, List<Object>> grouped = new HashMap<>();
+        groupBy(sql, params, key).forEach((userId, rows) -> {
+            List<Object> values = new ArrayList<>();
+            rows.forEach(row -> values.add(row.get(value)));
+            grouped.put(userId, values);
+        });
+        return grouped;
+    }
+
+    //!!! kolon adlari kucuk harfe cekilir (surucuye gore buyuk harf donebilir), JDBC tarih tipleri java.time'a cevrilir
+    private Map<String, Object> normalize(Map<String, Object> row) {
+        Map<String, Object> normalized = new LinkedHashMap<>();
+        row.forEach((column, value) -> {
+            Object converted = value;
+            if (value instanceof Timestamp) {
+                converted = ((Timestamp) value).toLocalDateTime();
+            } else if (value instanceof Date) {
+                converted = ((Date) value).toLocalDate();
+            } else if (value instanceof Time) {
+                converted = ((Time) value).toLocalTime();
+            }
+            normalized.put(column.toLowerCase(Locale.ROOT), converted);
+        });
+        return normalized;
+    }
+
+    private String toJson(Map<String, Object> record) {
+        try {
+            return objectMapper.writeValueAsString(record);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Archive record could not be written", e);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ArchivedStudentResponse> getArchivedStudents(int page, int size, String sort, String type) {
+        Pageable pageable = pageableHelper.getPageableWithProperties(page, size, sort, type);
+        return pageCountHelper.getPage(studentArchiveRepository.findPageContent(pageable), pageable,
+                CountStrategy.ESTIMATED, "student_archive", studentArchiveRepository::count,
+                this::mapStudentArchiveViewToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public ResponseMessage<ArchivedStudentResponse> getArchivedStudent(Long userId) {
+        StudentArchive archive = studentArchiveRepository.findById(userId).orElseThrow(() ->
+                new ResourceNotFoundException(String.format(ErrorMessages.ARCHIVED_STUDENT_NOT_FOUND, userId)));
+        JsonNode record;
+        try {
+            record = objectMapper.readTree(archive.getRecord());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(String.format(ErrorMessages.ARCHIVE_RECORD_UNREADABLE, userId), e);
+        }
+        return ResponseMessage.<ArchivedStudentResponse>builder()
+                .message(SuccessMessages.ARCHIVED_STUDENT_FOUND)
+                .object(ArchivedStudentResponse.builder()
+                        .userId(archive.getUserId())
+                        .username(archive.getUsername())
+                        .name(archive.getName())
+                        .surname(archive.getSurname())
+                        .studentNumber(archive.getStudentNumber())
+                        .inactiveSince(archive.getInactiveSince())
+                        .archivedAt(archive.getArchivedAt())
+                        .record(record)
+                        .build())
+                .status(HttpStatus.OK)
+                .build();
+    }
+
+    private ArchivedStudentResponse mapStudentArchiveViewToResponse(StudentArchiveView view) {
+        return ArchivedStudentResponse.builder()
+                .userId(view.getUserId())
+                .username(view.getUsername())
+                .name(view.getName())
+                .surname(view.getSurname())
+                .studentNumber(view.getStudentNumber())
+                .inactiveSince(view.getInactiveSince())
+                .archivedAt(view.getArchivedAt())
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.service.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+//!!! Ogrenci numaralari student_number_seq sequence'inden 50'lik bloklar halinde aliniyor.
+//  Blok icindeki numaralar kilitsiz (CAS) dagitilir, sadece blok bitince DB'ye gidilir.
+//  Sequence tum instance'lar arasinda ortak oldugu icin ayni numara iki kez verilemez.
+@Component
+@RequiredArgsConstructor
+public class StudentNumberAllocator {
+
+    //!!! V1__student_number_sequence.sql icindeki INCREMENT BY ile ayni olmali
+    static final int BLOCK_SIZE = 50;
+
+    private static final String NEXT_BLOCK_SQL = "SELECT nextval('student_number_seq')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<Block> currentBlock = new AtomicReference<>();
+
+    public int next() {
+        while (true) {
+            Block block = currentBlock.get();
+            if (block != null) {
+                long number = block.next.getAndIncrement();
+                if (number < block.end) {
+                    return (int) number;
+                }
+            }
+            refill(block);
+        }
+    }
+
+    //!!! blok bittiginde sadece bir thread sequence'e gider, digerleri yeni blogu bekler
+    private synchronized void refill(Block exhausted) {
+        if (currentBlock.get() != exhausted) {
+            return;
+        }
+        Long start = jdbcTemplate.queryForObject(NEXT_BLOCK_SQL, Long.class);
+        currentBlock.set(new Block(start, start + BLOCK_SIZE));
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
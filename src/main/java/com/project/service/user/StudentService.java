@@ -3,16 +3,26 @@ package com.project.service.user;
 import com.project.entity.concretes.business.LessonProgram;
 import com.project.entity.concretes.user.User;
 import com.project.entity.enums.RoleType;
+import com.project.exception.BadRequestException;
 import com.project.payload.mappers.UserMapper;
+import com.project.payload.messages.ErrorMessages;
 import com.project.payload.messages.SuccessMessages;
 import com.project.payload.request.business.ChooseLessonProgramWithId;
+import com.project.payload.request.user.StudentBulkRequest;
+import com.project.payload.request.user.StudentFilterRequest;
 import com.project.payload.request.user.StudentRequest;
 import com.project.payload.request.user.StudentRequestWithoutPassword;
+import com.project.payload.response.KeysetSlice;
 import com.project.payload.response.ResponseMessage;
+import com.project.payload.response.user.StudentBulkResponse;
 import com.project.payload.response.user.StudentResponse;
 import com.project.repository.UserRepository;
+import com.project.repository.specification.UserSpecifications;
+import com.project.security.service.TokenRevocationRegistry;
 import com.project.service.UserRoleService;
 import com.project.service.business.LessonProgramService;
+import com.project.service.helper.KeysetPageHelper;
+import com.project.service.helper.EntityVersionHelper;
 import com.project.service.helper.MethodHelper;
 import com.project.service.validator.DateTimeValidator;
 import com.project.service.validator.UniquePropertyValidator;
@@ -21,8 +31,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpServletRequest;
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Service
@@ -31,13 +43,18 @@ public class StudentService {
 
     private final UserRepository userRepository;
     private final MethodHelper methodHelper;
+    private final EntityVersionHelper entityVersionHelper;
     private final UniquePropertyValidator uniquePropertyValidator;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final UserRoleService userRoleService;
     private final LessonProgramService lessonProgramService;
     private final DateTimeValidator dateTimeValidator;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
+    private final StudentNumberAllocator studentNumberAllocator;
+    private final KeysetPageHelper keysetPageHelper;
 
+    @Transactional
     public ResponseMessage<StudentResponse> saveStudent(StudentRequest studentRequest) {
 
        User advisorTeacher = methodHelper.isUserExist(studentRequest.getAdvisorTeacherId());
@@ -59,23 +76,20 @@ public class StudentService {
        student.setStudentNumber(getLastNumber());
 
        return ResponseMessage.<StudentResponse>builder()
-               .object(userMapper.mapUserToStudentResponse(userRepository.save(student)))
+               .object(userMapper.mapUserToStudentResponse(uniquePropertyValidator.saveWithUniqueCheck(student)))
                .message(SuccessMessages.STUDENT_SAVE)
                .build();
     }
 
     private int getLastNumber(){
-
-        if(!userRepository.findStudent(RoleType.STUDENT)){
-            return 1000;
-        }
-        return userRepository.getMaxStudentNumber() + 1 ;
+        return studentNumberAllocator.next();
     }
 
+    @Transactional
     public ResponseEntity<String> updateStudent(StudentRequestWithoutPassword studentRequest, HttpServletRequest request) {
 
        String userName = (String) request.getAttribute("username");
-       User student = userRepository.findByUsername(userName);
+       User student = methodHelper.isUserExistByUsername(userName);
 
        uniquePropertyValidator.checkUniqueProperties(student, studentRequest);
 
@@ -90,15 +104,18 @@ public class StudentService {
        student.setSurname(studentRequest.getSurname());
        student.setSsn(studentRequest.getSsn());
 
-       userRepository.save(student);
+       uniquePropertyValidator.saveWithUniqueCheck(student);
 
        String message = SuccessMessages.STUDENT_UPDATE;
        return ResponseEntity.ok(message);
     }
 
-    public ResponseMessage<StudentResponse> updateStudentForManagers(Long userId, StudentRequest studentRequest) {
+    @Transactional
+    public ResponseMessage<StudentResponse> updateStudentForManagers(Long userId, StudentRequest studentRequest,
+                                                                     String ifMatch) {
         //!!! id var mi ??
         User user = methodHelper.isUserExist(userId);
+        entityVersionHelper.checkIfMatch(ifMatch, user.getVersion());
         //!!! student mi ??
         methodHelper.checkRole(user, RoleType.STUDENT);
         //!!! unique kontrolu
@@ -125,17 +142,27 @@ public class StudentService {
         user.setPassword(passwordEncoder.encode(studentRequest.getPassword()));
         user.setAdvisorTeacherId(studentRequest.getAdvisorTeacherId());
 
+        User savedStudent = uniquePropertyValidator.saveWithUniqueCheck(user);
+        entityVersionHelper.setETag(savedStudent.getVersion());
+        //!!! sifre guncellendigi icin eski tokenlar iptal
+        tokenRevocationRegistry.revokeTokens(userId);
+
         return ResponseMessage.<StudentResponse>builder()
-                .object(userMapper.mapUserToStudentResponse(userRepository.save(user)))
+                .object(userMapper.mapUserToStudentResponse(savedStudent))
                 .message(SuccessMessages.STUDENT_UPDATE)
                 .status(HttpStatus.OK)
                 .build();
     }
 
+    @Transactional
     public ResponseMessage changeStatusOfStudent(Long id, boolean status) {
         User student = methodHelper.isUserExist(id);
         methodHelper.checkRole(student,RoleType.STUDENT);
 
+        //!!! arsiv saklama suresi ilk pasife alinma aninda baslar, tekrar pasif yapmak sureyi sifirlamaz
+        if(student.isActive() != status){
+            student.setInactiveSince(status ? null : LocalDateTime.now());
+        }
         student.setActive(status);
         userRepository.save(student);//Merge
 
@@ -145,6 +172,62 @@ public class StudentService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
+    public KeysetSlice<StudentResponse> getStudentsByFilter(StudentFilterRequest filter, String after, int size,
+                                                            String sort, String type) {
+        return keysetPageHelper.findSlice(User.class,
+                UserSpecifications.studentFilter(userRoleService.getUserRole(RoleType.STUDENT), filter),
+                sort, type, size, after, userMapper::mapUserToStudentResponse);
+    }
+
+    @Transactional
+    public ResponseMessage<StudentBulkResponse> bulkUpdateStudents(StudentBulkRequest bulkRequest) {
+        boolean byIds = bulkRequest.getStudentIds() != null;
+        if (byIds == (bulkRequest.getCurrentAdvisorTeacherId() != null)) {
+            throw new BadRequestException(ErrorMessages.BULK_STUDENT_SELECTION);
+        }
+        StudentBulkRequest.Operation operation = bulkRequest.getOperation();
+
+        //!!! her islem tek bir UPDATE, ogrenciler bellege yuklenmez
+        int affectedCount;
+        switch (operation) {
+            case SET_STATUS:
+                if (bulkRequest.getStatus() == null) {
+                    throw new BadRequestException(String.format(ErrorMessages.BULK_STATUS_REQUIRED, operation));
+                }
+                LocalDateTime inactiveSince = bulkRequest.getStatus() ? null : LocalDateTime.now();
+                affectedCount = byIds
+                        ? userRepository.updateStudentStatusByIds(bulkRequest.getStudentIds(), bulkRequest.getStatus(),
+                                                                  inactiveSince)
+                        : userRepository.updateStudentStatusByAdvisor(bulkRequest.getCurrentAdvisorTeacherId(),
+                                                                      bulkRequest.getStatus(), inactiveSince);
+                break;
+            case REASSIGN_ADVISOR:
+                if (bulkRequest.getAdvisorTeacherId() == null) {
+                    throw new BadRequestException(String.format(ErrorMessages.BULK_ADVISOR_REQUIRED, operation));
+                }
+                User advisorTeacher = methodHelper.isUserExist(bulkRequest.getAdvisorTeacherId());
+                methodHelper.checkAdvisor(advisorTeacher);
+                affectedCount = updateAdvisor(bulkRequest, advisorTeacher.getId());
+                break;
+            default:
+                affectedCount = updateAdvisor(bulkRequest, null);
+        }
+
+        return ResponseMessage.<StudentBulkResponse>builder()
+                .object(StudentBulkResponse.builder().operation(operation).affectedCount(affectedCount).build())
+                .message(String.format(SuccessMessages.STUDENT_BULK_UPDATE, affectedCount))
+                .status(HttpStatus.OK)
+                .build();
+    }
+
+    private int updateAdvisor(StudentBulkRequest bulkRequest, Long advisorTeacherId) {
+        return bulkRequest.getStudentIds() != null
+                ? userRepository.updateStudentAdvisorByIds(bulkRequest.getStudentIds(), advisorTeacherId)
+                : userRepository.updateStudentAdvisorByAdvisor(bulkRequest.getCurrentAdvisorTeacherId(), advisorTeacherId);
+    }
+
+    @Transactional
     public ResponseMessage<StudentResponse> addLessonProgramToStudent(String userName,
                                                                       ChooseLessonProgramWithId chooseLessonProgramWithId) {
         //!!! username kontrolu
@@ -14,8 +14,10 @@ import com.project.payload.response.UserResponse;
 import com.project.payload.response.user.StudentResponse;
 import com.project.payload.response.user.TeacherResponse;
 import com.project.repository.UserRepository;
+import com.project.security.service.TokenRevocationRegistry;
 import com.project.service.UserRoleService;
 import com.project.service.business.LessonProgramService;
+import com.project.service.helper.EntityVersionHelper;
 import com.project.service.helper.MethodHelper;
 import com.project.service.validator.DateTimeValidator;
 import com.project.service.validator.UniquePropertyValidator;
@@ -23,6 +25,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Set;
@@ -38,9 +41,12 @@ public class TeacherService {
     private final UserRoleService userRoleService;
     private final PasswordEncoder passwordEncoder;
     private final MethodHelper methodHelper;
+    private final EntityVersionHelper entityVersionHelper;
     private final LessonProgramService lessonProgramService;
     private final DateTimeValidator dateTimeValidator;
+    private final TokenRevocationRegistry tokenRevocationRegistry;
 
+    @Transactional
     public ResponseMessage<TeacherResponse> saveTeacher(TeacherRequest teacherRequest) {
         Set<LessonProgram> lessonProgramSet =
                 lessonProgramService.getLessonProgramById(teacherRequest.getLessonIdList());
@@ -59,7 +65,7 @@ public class TeacherService {
             teacher.setIsAdvisor(Boolean.TRUE);
         } else teacher.setIsAdvisor(Boolean.FALSE);
 
-        User savedTeacher = userRepository.save(teacher);
+        User savedTeacher = uniquePropertyValidator.saveWithUniqueCheck(teacher);
 
         return ResponseMessage.<TeacherResponse>builder()
                 .message(SuccessMessages.TEACHER_SAVE)
@@ -68,23 +74,30 @@ public class TeacherService {
                 .build();
     }
 
-    public ResponseMessage<TeacherResponse> updateTeacherForManagers(TeacherRequest teacherRequest, Long userId) {
+    @Transactional
+    public ResponseMessage<TeacherResponse> updateTeacherForManagers(TeacherRequest teacherRequest, Long userId,
+                                                                     String ifMatch) {
         //!!! id kontrol
         User user = methodHelper.isUserExist(userId);
+        entityVersionHelper.checkIfMatch(ifMatch, user.getVersion());
         //!!! Parametrede gelen id, bir teacher a ait mi kontrolu
         methodHelper.checkRole(user, RoleType.TEACHER);
         Set<LessonProgram> lessonPrograms =
                 lessonProgramService.getLessonProgramById(teacherRequest.getLessonIdList());
         //!!! unique kontrolu
         uniquePropertyValidator.checkUniqueProperties(user, teacherRequest);
-        //!!! DTO --> POJO
-        User updatedTeacher = userMapper.mapTeacherRequestToUpdatedUser(teacherRequest, userId);
+        //!!! DTO --> managed POJO; studentInfos, isActive gibi request'te olmayan alanlar korunur
+        userMapper.updateTeacherWithRequest(user, teacherRequest);
         //!!! Password encode
-        updatedTeacher.setPassword(passwordEncoder.encode(teacherRequest.getPassword()));
-        updatedTeacher.setLessonProgramList(lessonPrograms);
-        updatedTeacher.setUserRole(userRoleService.getUserRole(RoleType.TEACHER));
+        user.setPassword(passwordEncoder.encode(teacherRequest.getPassword()));
+        //!!! set yerinde guncelleniyor, user_lessonprogram'a sadece fark yazilir
+        user.getLessonProgramList().retainAll(lessonPrograms);
+        user.getLessonProgramList().addAll(lessonPrograms);
 
-        User savedTeacher = userRepository.save(updatedTeacher);
+        User savedTeacher = uniquePropertyValidator.saveWithUniqueCheck(user);
+        entityVersionHelper.setETag(savedTeacher.getVersion());
+        //!!! sifre ve rol yeniden setlendigi icin eski tokenlar iptal
+        tokenRevocationRegistry.revokeTokens(userId);
 
         return ResponseMessage.<TeacherResponse>builder()
                 .object(userMapper.mapUserToTeacherResponse(savedTeacher))
@@ -93,19 +106,21 @@ public class TeacherService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<StudentResponse> getAllStudentByAdvisorUsername(String userName) {
         //!!! user kontrolu
         User teacher =  methodHelper.isUserExistByUsername(userName);
         //!!! isAdvisor Kontrol
         methodHelper.checkAdvisor(teacher);
 
-        return userRepository.findByAdvisorTeacherId(teacher.getId())
+        return userRepository.findStudentViewsByAdvisorTeacherId(teacher.getId())
                 .stream()
-                .map(userMapper::mapUserToStudentResponse) // Stream<StudentResponse>
+                .map(userMapper::mapStudentViewToStudentResponse) // Stream<StudentResponse>
                 .collect(Collectors.toList());
 
     }
 
+    @Transactional
     public ResponseMessage<UserResponse> saveAdvisorTeacher(Long teacherId) {
         //!!! id'li User var mi kontrolu
         User teacher = methodHelper.isUserExist(teacherId);
@@ -126,6 +141,7 @@ public class TeacherService {
                 .build();
     }
 
+    @Transactional
     public ResponseMessage<UserResponse> deleteAdvisorTeacherById(Long teacherId) {
 
         //!!! id var mi ?
@@ -136,11 +152,8 @@ public class TeacherService {
         teacher.setIsAdvisor(Boolean.FALSE);
         userRepository.save(teacher);
 
-        //!!! silinen Advisor Teacher in rehberligindeki ogrencileri ile irtibatini kopariyoruz
-        List<User> allStudents = userRepository.findByAdvisorTeacherId(teacherId);
-        if(!allStudents.isEmpty()){// liste doluysa
-            allStudents.forEach(students-> students.setAdvisorTeacherId(null));
-        }
+        //!!! silinen Advisor Teacher in rehberligindeki ogrencileri ile irtibatini tek UPDATE ile kopariyoruz
+        userRepository.updateStudentAdvisorByAdvisor(teacherId, null);
         // TODO: meet ??
         return ResponseMessage.<UserResponse>builder()
                 .message(SuccessMessages.ADVISOR_TEACHER_DELETE)
@@ -149,14 +162,16 @@ public class TeacherService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<UserResponse> getAllAdvisorTeacher() {
 
         return userRepository.findAllByAdvisor(Boolean.TRUE)
                 .stream()
-                .map(userMapper::mapUserToUserResponse)
+                .map(userMapper::mapUserViewToUserResponse)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public ResponseMessage<TeacherResponse> addLessonProgram(ChooseLessonTeacherRequest chooseLessonTeacherRequest) {
 
         User teacher = methodHelper.isUserExist(chooseLessonTeacherRequest.getTeacherId());
@@ -0,0 +1,544 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.exception.BadRequestException;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.messages.SuccessMessages;
+import com.project.payload.request.abstracts.BaseUserRequest;
+import com.project.payload.request.user.StudentRequest;
+import com.project.payload.request.user.TeacherRequest;
+import com.project.payload.response.ResponseMessage;
+import com.project.payload.response.user.UserImportResponse;
+import com.project.payload.response.user.UserImportRowError;
+import com.project.repository.UserRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.projection.UserUniquePropertiesView;
+import com.project.service.UserRoleService;
+import com.project.service.validator.UniquePropertyBloomFilter;
+import com.project.service.validator.UniquePropertyValidator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+//!!! CSV veya NDJSON akisindan toplu ogrenci/ogretmen kaydi.
+//  Satirlar parca parca okunur; validasyon ve BCrypt sinirli bir havuzda paralel calisir,
+//  unique kontrolu parca basina tek sorgu, insert ise JDBC batch ile yapilir.
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserImportService.class);
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String INSERT_USER_SQL = "INSERT INTO t_user (username, ssn, name, surname, birth_day, " +
+            "birth_place, password, phone_number, email, built_in, mother_name, father_name, student_number, " +
+            "is_active, is_advisor, advisor_teacher_id, gender, user_role_id, id, version, token_epoch) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0)";
+
+    //!!! User entity'sindeki @SequenceGenerator ile ayni sequence ve allocationSize
+    private static final String NEXT_USER_ID_SQL = "SELECT nextval('t_user_id_seq')";
+    private static final int USER_ID_ALLOCATION_SIZE = 50;
+
+    private static final String INSERT_USER_LESSON_PROGRAM_SQL =
+            "INSERT INTO user_lessonprogram (user_id, lesson_program_id) VALUES (?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final LessonProgramRepository lessonProgramRepository;
+    private final UserRoleService userRoleService;
+    private final UniquePropertyValidator uniquePropertyValidator;
+    private final UniquePropertyBloomFilter bloomFilter;
+    private final StudentNumberAllocator studentNumberAllocator;
+    private final UserSearchIndex userSearchIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${backendapi.app.userImport.batchSize:500}")
+    private int batchSize;
+
+    @Value("${backendapi.app.userImport.workerPoolSize:0}")
+    private int workerPoolSize;
+
+    @Value("${backendapi.app.userImport.concurrentImports:2}")
+    private int concurrentImports;
+
+    @Value("${backendapi.app.userImport.timeoutMs:900000}")
+    private long timeoutMs;
+
+    @Value("${backendapi.app.userImport.retryAfterSeconds:60}")
+    private int retryAfterSeconds;
+
+    private ThreadPoolExecutor importExecutor;
+    private ThreadPoolExecutor workerExecutor;
+
+    @PostConstruct
+    private void init() {
+        //!!! import isleri kuyruga alinmaz, kapasite doluysa istek 503 ile geri cevrilir
+        importExecutor = newExecutor("user-import-", concurrentImports, 0, new ThreadPoolExecutor.AbortPolicy());
+        //!!! login'lerin hash havuzunu bloklamamak icin ayri, varsayilan olarak cekirdeklerin yarisi kadar worker
+        int workers = workerPoolSize > 0 ? workerPoolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        workerExecutor = newExecutor("user-import-worker-", workers, batchSize,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        importExecutor.shutdown();
+        workerExecutor.shutdown();
+    }
+
+    private ThreadPoolExecutor newExecutor(String namePrefix, int threads, int queueCapacity,
+                                           RejectedExecutionHandler handler) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                queueCapacity > 0 ? new ArrayBlockingQueue<>(queueCapacity) : new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, namePrefix + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                handler);
+    }
+
+    //!!! request thread'i hemen serbest birakilir, rapor import bitince donulur
+    public DeferredResult<ResponseEntity<ResponseMessage<UserImportResponse>>> importUsers(
+            RoleType roleType, InputStream inputStream, String contentType) {
+
+        DeferredResult<ResponseEntity<ResponseMessage<UserImportResponse>>> result = new DeferredResult<>(timeoutMs);
+        try {
+            CompletableFuture.supplyAsync(() -> runImport(roleType, inputStream, contentType), importExecutor)
+                    .whenComplete((response, e) -> {
+                        if (e == null) {
+                            result.setResult(ResponseEntity.ok(response));
+                        } else {
+                            result.setErrorResult(e.getCause() != null ? e.getCause() : e);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            result.setResult(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .build());
+        }
+        return result;
+    }
+
+    private ResponseMessage<UserImportResponse> runImport(RoleType roleType, InputStream inputStream,
+                                                          String contentType) {
+        long start = System.nanoTime();
+        ImportContext context = new ImportContext(roleType);
+        List<ImportRow> chunk = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            boolean csv = contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(
+                    MediaType.parseMediaType(TEXT_CSV_VALUE));
+            List<String> header = csv ? parseHeader(reader.readLine()) : null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                chunk.add(parseRow(++context.totalRows, line, header, context.requestType));
+                if (chunk.size() == batchSize) {
+                    processChunk(chunk, context);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk, context);
+            }
+        } catch (IOException e) {
+            throw new BadRequestException(String.format(ErrorMessages.USER_IMPORT_READ_FAILED, e.getMessage()));
+        }
+
+        LOGGER.info("{} import finished: {} rows, {} imported, {} errors in {} ms", roleType, context.totalRows,
+                context.importedRows, context.errors.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        return ResponseMessage.<UserImportResponse>builder()
+                .message(SuccessMessages.USER_IMPORT_COMPLETED)
+                .status(HttpStatus.OK)
+                .object(UserImportResponse.builder()
+                        .totalRows(context.totalRows)
+                        .importedRows(context.importedRows)
+                        .errors(context.errors)
+                        .build())
+                .build();
+    }
+
+    private List<String> parseHeader(String line) {
+        if (line == null) {
+            throw new BadRequestException(ErrorMessages.USER_IMPORT_MISSING_HEADER);
+        }
+        return parseCsvLine(line.startsWith("\uFEFF") ? line.substring(1) : line);
+    }
+
+    private ImportRow parseRow(long rowNumber, String line, List<String> header,
+                               Class<? extends BaseUserRequest> requestType) {
+        ImportRow row = new ImportRow(rowNumber);
+        try {
+            Map<String, Object> values;
+            if (header == null) {
+                values = objectMapper.readValue(line, LinkedHashMap.class);
+            } else {
+                values = new LinkedHashMap<>();
+                List<String> fields = parseCsvLine(line);
+                for (int i = 0; i < header.size() && i < fields.size(); i++) {
+                    String value = fields.get(i);
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    //!!! CSV'de ders programi id'leri ';' ile ayriliyor
+                    values.put(header.get(i), "lessonIdList".equals(header.get(i))
+                            ? Arrays.asList(value.split(";")) : value);
+                }
+            }
+            row.request = objectMapper.convertValue(values, requestType);
+        } catch (IOException | IllegalArgumentException e) {
+            row.error = ErrorMessages.USER_IMPORT_INVALID_ROW;
+        }
+        return row;
+    }
+
+    //!!! tirnakli alanlari ve "" kacisini destekleyen basit CSV satir ayristirici
+    private List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString().trim());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString().trim());
+        return fields;
+    }
+
+    private void processChunk(List<ImportRow> chunk, ImportContext context) {
+        //!!! 1) bean validation paralel
+        runParallel(chunk, this::validate);
+        //!!! 2) dosya ici tekrarlar, rehber ogretmen / ders programi ve DB unique kontrolu
+        checkReferences(chunk, context);
+        checkDuplicates(chunk, context);
+        //!!! 3) gecerli satirlarin sifreleri paralel hashleniyor
+        runParallel(chunk, row -> row.hashedPassword = passwordEncoder.encode(row.request.getPassword()));
+        //!!! 4) JDBC batch insert
+        List<ImportRow> validRows = chunk.stream().filter(ImportRow::isValid).collect(Collectors.toList());
+        if (!validRows.isEmpty()) {
+            insertRows(validRows, context);
+        }
+        chunk.stream()
+                .filter(row -> row.error != null)
+                .forEach(row -> context.errors.add(UserImportRowError.builder()
+                        .row(row.rowNumber)
+                        .username(row.request == null ? null : row.request.getUsername())
+                        .message(row.error)
+                        .build()));
+    }
+
+    private void runParallel(List<ImportRow> rows, Consumer<ImportRow> task) {
+        CompletableFuture.allOf(rows.stream()
+                        .filter(ImportRow::isValid)
+                        .map(row -> CompletableFuture.runAsync(() -> task.accept(row), workerExecutor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private void validate(ImportRow row) {
+        Set<ConstraintViolation<BaseUserRequest>> violations = validator.validate(row.request);
+        if (!violations.isEmpty()) {
+            row.error = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+    }
+
+    //!!! parcadaki satirlarin referans verdigi id'ler tek sorguyla kontrol ediliyor
+    private void checkReferences(List<ImportRow> chunk, ImportContext context) {
+        List<ImportRow> rows = chunk.stream().filter(ImportRow::isValid).collect(Collectors.toList());
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (context.roleType == RoleType.STUDENT) {
+            Set<Long> advisorTeacherIds = userRepository.findAdvisorTeacherIdsIn(rows.stream()
+                    .map(row -> ((StudentRequest) row.request).getAdvisorTeacherId())
+                    .collect(Collectors.toSet()), RoleType.TEACHER);
+            for (ImportRow row : rows) {
+                Long advisorTeacherId = ((StudentRequest) row.request).getAdvisorTeacherId();
+                if (!advisorTeacherIds.contains(advisorTeacherId)) {
+                    row.error = String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, advisorTeacherId);
+                }
+            }
+        } else {
+            Set<Long> referencedIds = rows.stream()
+                    .flatMap(row -> ((TeacherRequest) row.request).getLessonIdList().stream())
+                    .collect(Collectors.toSet());
+            Set<Long> lessonProgramIds = referencedIds.isEmpty()
+                    ? Collections.emptySet() : lessonProgramRepository.findExistingIds(referencedIds);
+            for (ImportRow row : rows) {
+                row.lessonProgramIds = ((TeacherRequest) row.request).getLessonIdList().stream()
+                        .filter(lessonProgramIds::contains)
+                        .collect(Collectors.toSet());
+                if (row.lessonProgramIds.isEmpty()) {
+                    row.error = ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE_WITHOUT_ID_LIST;
+                }
+            }
+        }
+    }
+
+    private void checkDuplicates(List<ImportRow> chunk, ImportContext context) {
+        List<ImportRow> candidates = new ArrayList<>();
+        for (ImportRow row : chunk) {
+            if (!row.isValid()) {
+                continue;
+            }
+            BaseUserRequest request = row.request;
+            //!!! ayni dosyada daha once gecen degerler
+            row.error = getInFileConflictMessage(request, context);
+            if (row.error != null) {
+                continue;
+            }
+            if (!bloomFilter.isReady() || bloomFilter.mightContainAny(request.getUsername(), request.getSsn(),
+                    request.getPhoneNumber(), request.getEmail())) {
+                candidates.add(row);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+        //!!! bloom filtresinin "olabilir" dedigi satirlar icin tek sorgu
+        List<UserUniquePropertiesView> conflicts = userRepository.findUniquePropertyConflictsIn(
+                candidates.stream().map(row -> row.request.getUsername()).collect(Collectors.toSet()),
+                candidates.stream().map(row -> row.request.getSsn()).collect(Collectors.toSet()),
+                candidates.stream().map(row -> row.request.getPhoneNumber()).collect(Collectors.toSet()),
+                candidates.stream().map(row -> row.request.getEmail()).collect(Collectors.toSet()));
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        for (ImportRow row : candidates) {
+            row.error = uniquePropertyValidator.getConflictMessage(conflicts, row.request.getUsername(),
+                    row.request.getSsn(), row.request.getPhoneNumber(), row.request.getEmail());
+        }
+    }
+
+    private String getInFileConflictMessage(BaseUserRequest request, ImportContext context) {
+        String message = null;
+        if (context.usernames.contains(request.getUsername())) {
+            message = String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, request.getUsername());
+        } else if (context.ssns.contains(request.getSsn())) {
+            message = String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN, request.getSsn());
+        } else if (context.phoneNumbers.contains(request.getPhoneNumber())) {
+            message = String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_PHONE, request.getPhoneNumber());
+        } else if (context.emails.contains(request.getEmail())) {
+            message = String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_EMAIL, request.getEmail());
+        }
+        if (message == null) {
+            context.usernames.add(request.getUsername());
+            context.ssns.add(request.getSsn());
+            context.phoneNumbers.add(request.getPhoneNumber());
+            context.emails.add(request.getEmail());
+        }
+        return message;
+    }
+
+    private void insertRows(List<ImportRow> rows, ImportContext context) {
+        allocateUserIds(rows);
+        if (context.roleType == RoleType.STUDENT) {
+            for (ImportRow row : rows) {
+                row.studentNumber = studentNumberAllocator.next();
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> insertBatch(rows, context));
+        } catch (DataIntegrityViolationException e) {
+            //!!! kontrol ile insert arasinda baska bir kayit geldiyse satir satir deneyip hatali olani raporluyoruz
+            for (ImportRow row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(
+                            status -> insertBatch(Collections.singletonList(row), context));
+                } catch (DataIntegrityViolationException rowException) {
+                    row.error = String.format(ErrorMessages.USER_IMPORT_ROW_CONFLICT, row.request.getUsername());
+                }
+            }
+        }
+        for (ImportRow row : rows) {
+            if (row.error == null) {
+                context.importedRows++;
+                bloomFilter.put(row.request.getUsername(), row.request.getSsn(), row.request.getPhoneNumber(),
+                        row.request.getEmail());
+                userSearchIndex.put(row.userId, row.request.getName(), row.request.getSurname(),
+                        row.request.getUsername(), row.studentNumber);
+            }
+        }
+    }
+
+    private void insertBatch(List<ImportRow> rows, ImportContext context) {
+        jdbcTemplate.batchUpdate(INSERT_USER_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                bindUser(statement, rows.get(i), context);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        if (context.roleType == RoleType.TEACHER) {
+            List<Object[]> lessonPrograms = new ArrayList<>();
+            for (ImportRow row : rows) {
+                row.lessonProgramIds.forEach(id -> lessonPrograms.add(new Object[]{row.userId, id}));
+            }
+            jdbcTemplate.batchUpdate(INSERT_USER_LESSON_PROGRAM_SQL, lessonPrograms);
+        }
+    }
+
+    //!!! Hibernate'in pooled optimizer'i ile ayni kural: her nextval degeri (deger - 49 .. deger) blogunun ust siniri
+    private void allocateUserIds(List<ImportRow> rows) {
+        long next = 0;
+        long hi = -1;
+        for (ImportRow row : rows) {
+            if (next > hi) {
+                hi = jdbcTemplate.queryForObject(NEXT_USER_ID_SQL, Long.class);
+                next = Math.max(1, hi - USER_ID_ALLOCATION_SIZE + 1);
+            }
+            row.userId = next++;
+        }
+    }
+
+    private void bindUser(PreparedStatement statement, ImportRow row, ImportContext context) throws SQLException {
+        BaseUserRequest request = row.request;
+        boolean student = request instanceof StudentRequest;
+        statement.setString(1, request.getUsername());
+        statement.setString(2, request.getSsn());
+        statement.setString(3, request.getName());
+        statement.setString(4, request.getSurname());
+        statement.setDate(5, Date.valueOf(request.getBirthDay()));
+        statement.setString(6, request.getBirthPlace());
+        statement.setString(7, row.hashedPassword);
+        statement.setString(8, request.getPhoneNumber());
+        statement.setString(9, request.getEmail());
+        statement.setObject(10, request.getBuiltIn(), Types.BOOLEAN);
+        statement.setString(11, student ? ((StudentRequest) request).getMotherName() : null);
+        statement.setString(12, student ? ((StudentRequest) request).getFatherName() : null);
+        statement.setInt(13, row.studentNumber);
+        //!!! tekil kayit ile ayni varsayilanlar: ogrenci aktif ve rehber degil, ogretmen request'teki gibi
+        statement.setBoolean(14, student);
+        statement.setBoolean(15, !student && Boolean.TRUE.equals(((TeacherRequest) request).getIsAdvisorTeacher()));
+        statement.setObject(16, student ? ((StudentRequest) request).getAdvisorTeacherId() : null, Types.BIGINT);
+        statement.setString(17, request.getGender().name());
+        statement.setLong(18, context.getUserRole().getId());
+        statement.setLong(19, row.userId);
+    }
+
+    private final class ImportContext {
+        private final RoleType roleType;
+        private final Class<? extends BaseUserRequest> requestType;
+        private final List<UserImportRowError> errors = new ArrayList<>();
+        private final Set<String> usernames = new HashSet<>();
+        private final Set<String> ssns = new HashSet<>();
+        private final Set<String> phoneNumbers = new HashSet<>();
+        private final Set<String> emails = new HashSet<>();
+        private long totalRows;
+        private long importedRows;
+        private UserRole userRole;
+
+        private ImportContext(RoleType roleType) {
+            if (roleType != RoleType.STUDENT && roleType != RoleType.TEACHER) {
+                throw new BadRequestException(ErrorMessages.NOT_PERMITTED_METHOD_MESSAGE);
+            }
+            this.roleType = roleType;
+            this.requestType = roleType == RoleType.STUDENT ? StudentRequest.class : TeacherRequest.class;
+        }
+
+        //!!! rol import basina bir kez yukleniyor
+        private UserRole getUserRole() {
+            if (userRole == null) {
+                userRole = userRoleService.getUserRole(roleType);
+            }
+            return userRole;
+        }
+    }
+
+    private static final class ImportRow {
+        private final long rowNumber;
+        private BaseUserRequest request;
+        private String error;
+        private String hashedPassword;
+        private int studentNumber;
+        private long userId;
+        private Set<Long> lessonProgramIds;
+
+        private ImportRow(long rowNumber) {
+            this.rowNumber = rowNumber;
+        }
+
+        private boolean isValid() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.project.service.user;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+//!!! Soft delete edilen kullanicilarin bagimli satirlarini ve kendisini arka planda, kucuk transaction'larla siler
+@Service
+@RequiredArgsConstructor
+public class UserPurgeService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserPurgeService.class);
+
+    private static final String PENDING_USERS_SQL =
+            "SELECT id FROM t_user WHERE deleted_at IS NOT NULL ORDER BY deleted_at LIMIT ?";
+
+    private static final String DELETE_STUDENT_INFOS_SQL =
+            "DELETE FROM student_info WHERE id IN (SELECT id FROM student_info " +
+                    "WHERE teacher_id = :userId OR student_id = :userId LIMIT :batchSize)";
+
+    private static final String DELETE_MEET_STUDENTS_SQL =
+            "DELETE FROM meet_student_table WHERE student_id = :userId AND meet_id IN " +
+                    "(SELECT meet_id FROM meet_student_table WHERE student_id = :userId LIMIT :batchSize)";
+
+    private static final String DELETE_LESSON_PROGRAM_LINKS_SQL =
+            "DELETE FROM user_lessonprogram WHERE user_id = :userId AND lesson_program_id IN " +
+                    "(SELECT lesson_program_id FROM user_lessonprogram WHERE user_id = :userId LIMIT :batchSize)";
+
+    private static final String ADVISOR_MEETS_SQL =
+            "SELECT id FROM meet WHERE advisory_teacher_id = :userId LIMIT :batchSize";
+
+    private static final String DELETE_MEET_STUDENT_LINKS_SQL = "DELETE FROM meet_student_table WHERE meet_id IN (:meetIds)";
+
+    private static final String DELETE_MEETS_SQL = "DELETE FROM meet WHERE id IN (:meetIds)";
+
+    private static final String DELETE_USER_SQL = "DELETE FROM t_user WHERE id = :userId AND deleted_at IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${backendapi.app.userPurge.batchSize:500}")
+    private int batchSize;
+
+    @Value("${backendapi.app.userPurge.queueCapacity:1000}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor purgeExecutor;
+
+    //!!! ayni kullanici hem delete isteginden hem periyodik taramadan kuyruga iki kez girmesin
+    private final Set<Long> queuedUserIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    private void init() {
+        purgeExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-purge");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void requestPurge(Long userId) {
+        //!!! cagiran bir transaction icindeyse deleted_at commit edilmeden purge baslamasin
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(userId);
+                }
+            });
+        } else {
+            enqueue(userId);
+        }
+    }
+
+    //!!! kuyruk doluysa is kaybolmaz, satir deleted_at ile isaretli kaldigi icin periyodik tarama tekrar alir
+    private void enqueue(Long userId) {
+        if (!queuedUserIds.add(userId)) {
+            return;
+        }
+        try {
+            purgeExecutor.execute(() -> {
+                try {
+                    purgeUser(userId);
+                } catch (RuntimeException e) {
+                    LOGGER.error("Purge of deleted user {} failed, it will be retried", userId, e);
+                } finally {
+                    queuedUserIds.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queuedUserIds.remove(userId);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${backendapi.app.userPurge.sweepDelayMs:60000}",
+            fixedDelayString = "${backendapi.app.userPurge.sweepDelayMs:60000}")
+    public void purgePendingUsers() {
+        List<Long> userIds = jdbcTemplate.queryForList(PENDING_USERS_SQL, Long.class, queueCapacity);
+        userIds.forEach(this::enqueue);
+    }
+
+    private void purgeUser(Long userId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("batchSize", batchSize);
+
+        long deletedRows = deleteInBatches(DELETE_STUDENT_INFOS_SQL, params)
+                + deleteInBatches(DELETE_MEET_STUDENTS_SQL, params)
+                + deleteInBatches(DELETE_LESSON_PROGRAM_LINKS_SQL, params)
+                + deleteAdvisorMeets(params);
+        Integer deletedUsers = transactionTemplate.execute(status ->
+                namedParameterJdbcTemplate.update(DELETE_USER_SQL, params));
+
+        LOGGER.info("Purged deleted user {} and {} dependent rows", userId,
+                deletedRows + (deletedUsers == null ? 0 : deletedUsers));
+    }
+
+    //!!! her batch ayri transaction: lock'lar kisa tutulur, buyuk ogretmen kayitlari tek seferde kilitlenmez
+    private long deleteInBatches(String sql, MapSqlParameterSource params) {
+        long total = 0;
+        int deleted;
+        do {
+            Integer updated = transactionTemplate.execute(status -> namedParameterJdbcTemplate.update(sql, params));
+            deleted = updated == null ? 0 : updated;
+            total += deleted;
+        } while (deleted > 0);
+        return total;
+    }
+
+    private long deleteAdvisorMeets(MapSqlParameterSource params) {
+        long total = 0;
+        List<Long> meetIds;
+        do {
+            meetIds = namedParameterJdbcTemplate.queryForList(ADVISOR_MEETS_SQL, params, Long.class);
+            if (meetIds.isEmpty()) {
+                break;
+            }
+            MapSqlParameterSource meetParams = new MapSqlParameterSource("meetIds", meetIds);
+            Integer deleted = transactionTemplate.execute(status ->
+                    namedParameterJdbcTemplate.update(DELETE_MEET_STUDENT_LINKS_SQL, meetParams)
+                            + namedParameterJdbcTemplate.update(DELETE_MEETS_SQL, meetParams));
+            total += deleted == null ? 0 : deleted;
+        } while (meetIds.size() == batchSize);
+        return total;
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        purgeExecutor.shutdown();
+    }
+}
@@ -0,0 +1,474 @@
+package com.project.service.user;
+
+import com.project.repository.UserRepository;
+import com.project.repository.projection.UserSearchView;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+//!!! name, surname, username ve studentNumber icin bellek ici trigram index.
+//  LIKE '%..%' tabloyu taradigi icin arama burada yapilir, DB'ye sadece bulunan sayfanin id'leri ile gidilir
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    //!!! bir kullanicinin alanlari arka arkaya '\n' ile ayrilarak tutulur: name, surname, username, studentNumber
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private static final int EXACT_FIELD = 0;
+    private static final int FIELD_PREFIX = 1;
+    private static final int WORD_PREFIX = 2;
+    private static final int INFIX = 3;
+    private static final int NO_MATCH = 4;
+
+    private final UserRepository userRepository;
+
+    @Value("${backendapi.app.userSearch.enabled:true}")
+    private boolean enabled;
+
+    //!!! type-ahead icin sadece ilk sonuclar siralanir, daha derin sayfalar bos doner
+    @Value("${backendapi.app.userSearch.maxResults:1000}")
+    private int maxResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //!!! slot'lar sadece sona eklenir, bu yuzden her posting listesi artan sirada kalir
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private final Map<Long, Integer> slotsByUserId = new HashMap<>();
+    private long[] userIds = new long[1024];
+    //!!! dokumanlar tek bir char dizisinde ardisik durur; aday kontrolu sirali bellek okur, String'lere atlamaz
+    private char[] text = new char[64 * 1024];
+    private int textLength;
+    private int[] starts = new int[1024];
+    private int[] lengths = new int[1024];
+    private int slotCount;
+    private int liveCount;
+
+    //!!! startup'ta doldurulana kadar aramalar DB'ye gider
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long count;
+        try (Stream<UserSearchView> users = userRepository.streamAllSearchFields()) {
+            count = users.peek(user -> putIfAbsent(user.getId(), user.getName(), user.getSurname(),
+                            user.getUsername(), user.getStudentNumber()))
+                    .count();
+        }
+        ready = true;
+        LOGGER.info("User search index built from {} users, {} distinct trigrams", count, postings.size());
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void put(Long userId, String name, String surname, String username, int studentNumber) {
+        if (!enabled) {
+            return;
+        }
+        String document = document(name, surname, username, studentNumber);
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByUserId.get(userId);
+            if (slot != null && contentEquals(slot, document)) {
+                return;
+            }
+            if (slot != null) {
+                removeSlot(slot);
+            }
+            addDocument(userId, document);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //!!! startup taramasi sirasinda yazilan kullanicinin yeni hali eski satirla ezilmesin
+    private void putIfAbsent(Long userId, String name, String surname, String username, Integer studentNumber) {
+        lock.writeLock().lock();
+        try {
+            if (!slotsByUserId.containsKey(userId)) {
+                addDocument(userId, document(name, surname, username, studentNumber == null ? 0 : studentNumber));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotsByUserId.remove(userId);
+            if (slot != null) {
+                removeSlot(slot);
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    //!!! kelimelerin hepsi eslesmeli; 3 karakterden kisa kelimeler sadece kelime basinda aranir (type-ahead).
+    //  Adaylar slot sirasiyla gezilir, esit skorda kucuk slot once gelir. Istenen pencere alinabilecek en iyi
+    //  skorla dolunca kalan adaylar pencereye giremez, tarama durur; bu durumda toplam sayi taranan kisimdan tahmin edilir
+    public Page<Long> search(String query, int page, int size) {
+        PageRequest pageable = PageRequest.of(page, size);
+        String[] terms = terms(query);
+        if (terms.length == 0) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0);
+        }
+        int limit = (int) Math.min(maxResults, pageable.getOffset() + size);
+        TopRanks top = new TopRanks(limit);
+        lock.readLock().lock();
+        try {
+            IntList[] lists = postingLists(terms, true);
+            long total = 0;
+            if (lists != null) {
+                int bestScore = bestScore(terms);
+                int scanned = forEachCandidate(lists, slot -> {
+                    int score = 0;
+                    for (String term : terms) {
+                        int rank = rank(slot, term, term.length() < 3);
+                        if (rank == NO_MATCH) {
+                            return true;
+                        }
+                        score += rank;
+                    }
+                    top.offer(score, slot);
+                    return !top.isFullWithScore(bestScore);
+                });
+                total = scanned < lists[0].size
+                        ? Math.max(top.total, Math.round((double) top.total * lists[0].size / scanned))
+                        : top.total;
+            }
+            List<Long> content = new ArrayList<>();
+            for (int i = (int) Math.min(pageable.getOffset(), limit); i < top.size; i++) {
+                content.add(userIds[(int) top.keys[i]]);
+            }
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //!!! bir adayin alabilecegi en iyi skor. Kisa kelimede tam alan eslesmesi ancak o uzunlukta bir alan varsa mumkun
+    private int bestScore(String[] terms) {
+        int score = 0;
+        for (String term : terms) {
+            if (term.length() < 3 && !postings.containsKey(shortFieldGram(term))) {
+                score += FIELD_PREFIX;
+            } else {
+                score += EXACT_FIELD;
+            }
+        }
+        return score;
+    }
+
+    //!!! /user/getUserByName ile ayni anlam: isim alani verilen metni icerir (buyuk/kucuk harf duyarsiz)
+    public boolean canSearchName(String name) {
+        String[] terms = terms(name);
+        return isReady() && terms.length > 0 && Arrays.stream(terms).allMatch(term -> term.length() >= 3);
+    }
+
+    public List<Long> searchName(String name) {
+        String literal = name.trim().toLowerCase(Locale.ROOT);
+        List<long[]> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            IntList[] lists = postingLists(terms(name), false);
+            if (lists != null) {
+                forEachCandidate(lists, slot -> {
+                    int start = starts[slot];
+                    int nameEnd = start;
+                    while (text[nameEnd] != FIELD_SEPARATOR) {
+                        nameEnd++;
+                    }
+                    int index = indexOf(literal, start, nameEnd);
+                    if (index >= 0) {
+                        int rank = index == start ? (nameEnd - start == literal.length() ? EXACT_FIELD : FIELD_PREFIX)
+                                : text[index - 1] == ' ' ? WORD_PREFIX : INFIX;
+                        matches.add(new long[]{rank, slot, userIds[slot]});
+                    }
+                    return true;
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.<long[]>comparingLong(match -> match[0]).thenComparingLong(match -> match[1]));
+        List<Long> result = new ArrayList<>(matches.size());
+        matches.forEach(match -> result.add(match[2]));
+        return result;
+    }
+
+    private IntList[] postingLists(String[] terms, boolean prefixForShortTerms) {
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String term : terms) {
+            if (term.length() >= 3) {
+                addGrams(term, grams);
+            } else if (prefixForShortTerms) {
+                addGrams("  " + term, grams);
+            }
+        }
+        IntList[] lists = new IntList[grams.size()];
+        int i = 0;
+        for (Long gram : grams) {
+            IntList list = postings.get(gram);
+            if (list == null) {
+                return null;
+            }
+            lists[i++] = list;
+        }
+        //!!! en kisa listeden baslanir, digerlerinde ikili arama yapilir
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+        return lists;
+    }
+
+    //!!! consumer false donerse durur; en kisa listede bakilan aday sayisini doner
+    private int forEachCandidate(IntList[] lists, SlotConsumer consumer) {
+        IntList shortest = lists[0];
+        int[] cursors = new int[lists.length];
+        int i = 0;
+        candidates:
+        while (i < shortest.size) {
+            int slot = shortest.values[i++];
+            if (starts[slot] < 0) {
+                continue;
+            }
+            for (int j = 1; j < lists.length; j++) {
+                cursors[j] = lists[j].seek(slot, cursors[j]);
+                if (cursors[j] >= lists[j].size || lists[j].values[cursors[j]] != slot) {
+                    continue candidates;
+                }
+            }
+            if (!consumer.accept(slot)) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    //!!! dusuk deger daha iyi: tam alan > alan basi > kelime basi > icinde
+    private int rank(int slot, String term, boolean wordPrefixOnly) {
+        int start = starts[slot];
+        int end = start + lengths[slot];
+        int best = NO_MATCH;
+        char before = FIELD_SEPARATOR;
+        //!!! once sadece kelime baslarina bakilir, icinde gecme en son kontrol edilir
+        for (int i = start; i < end; i++) {
+            if ((before == FIELD_SEPARATOR || before == ' ') && regionMatches(i, end, term)) {
+                int termEnd = i + term.length();
+                if (before == ' ') {
+                    best = Math.min(best, WORD_PREFIX);
+                } else if (termEnd == end || text[termEnd] == FIELD_SEPARATOR) {
+                    return EXACT_FIELD;
+                } else {
+                    best = FIELD_PREFIX;
+                }
+            }
+            before = text[i];
+        }
+        if (best == NO_MATCH && !wordPrefixOnly && indexOf(term, start, end) >= 0) {
+            return INFIX;
+        }
+        return best;
+    }
+
+    private boolean regionMatches(int from, int end, String term) {
+        if (end - from < term.length()) {
+            return false;
+        }
+        for (int i = 0; i < term.length(); i++) {
+            if (text[from + i] != term.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int indexOf(String term, int from, int end) {
+        for (int i = from; i + term.length() <= end; i++) {
+            if (text[i] == term.charAt(0) && regionMatches(i, end, term)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean contentEquals(int slot, String document) {
+        return starts[slot] >= 0 && lengths[slot] == document.length()
+                && regionMatches(starts[slot], starts[slot] + lengths[slot], document);
+    }
+
+    private void addDocument(long userId, String document) {
+        if (slotCount == starts.length) {
+            userIds = Arrays.copyOf(userIds, slotCount * 2);
+            starts = Arrays.copyOf(starts, slotCount * 2);
+            lengths = Arrays.copyOf(lengths, slotCount * 2);
+        }
+        if (textLength + document.length() > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textLength + document.length()));
+        }
+        int slot = slotCount++;
+        document.getChars(0, document.length(), text, textLength);
+        starts[slot] = textLength;
+        lengths[slot] = document.length();
+        userIds[slot] = userId;
+        textLength += document.length();
+        slotsByUserId.put(userId, slot);
+        liveCount++;
+        Set<Long> grams = new LinkedHashSet<>();
+        for (String word : document.split("\\s+")) {
+            if (!word.isEmpty()) {
+                addGrams("  " + word + " ", grams);
+            }
+        }
+        for (String field : document.split(String.valueOf(FIELD_SEPARATOR))) {
+            if (!field.isEmpty() && field.length() < 3) {
+                grams.add(shortFieldGram(field));
+            }
+        }
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> new IntList()).add(slot));
+    }
+
+    //!!! posting'ler silinmez, start -1 olunca aramada atlanir
+    private void removeSlot(int slot) {
+        starts[slot] = -1;
+        liveCount--;
+    }
+
+    //!!! silinmis slot sayisi canli olanlari gectiginde index bellekteki dokumanlardan yeniden kurulur
+    private void compactIfNeeded() {
+        if (slotCount < 1024 || slotCount - liveCount <= liveCount) {
+            return;
+        }
+        char[] oldText = text;
+        long[] oldUserIds = userIds;
+        int[] oldStarts = starts;
+        int[] oldLengths = lengths;
+        int oldSlotCount = slotCount;
+        postings.clear();
+        slotsByUserId.clear();
+        text = new char[Math.max(64 * 1024, textLength)];
+        userIds = new long[Math.max(1024, liveCount * 2)];
+        starts = new int[userIds.length];
+        lengths = new int[userIds.length];
+        textLength = 0;
+        slotCount = 0;
+        liveCount = 0;
+        for (int slot = 0; slot < oldSlotCount; slot++) {
+            if (oldStarts[slot] >= 0) {
+                addDocument(oldUserIds[slot], new String(oldText, oldStarts[slot], oldLengths[slot]));
+            }
+        }
+    }
+
+    private static String document(String name, String surname, String username, int studentNumber) {
+        return normalize(name) + FIELD_SEPARATOR + normalize(surname) + FIELD_SEPARATOR + normalize(username)
+                + FIELD_SEPARATOR + (studentNumber > 0 ? String.valueOf(studentNumber) : "");
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] terms(String query) {
+        if (query == null) {
+            return new String[0];
+        }
+        return Arrays.stream(normalize(query).split("\\s+")).filter(term -> !term.isEmpty()).toArray(String[]::new);
+    }
+
+    private static void addGrams(String text, Set<Long> grams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    //!!! 1-2 karakterlik alanin tamami; kelime gram'lari FIELD_SEPARATOR icermedigi icin cakismaz
+    private static long shortFieldGram(String field) {
+        String padded = field.length() == 1 ? FIELD_SEPARATOR + "" + FIELD_SEPARATOR + field : FIELD_SEPARATOR + field;
+        return ((long) padded.charAt(0) << 32) | ((long) padded.charAt(1) << 16) | padded.charAt(2);
+    }
+
+    private interface SlotConsumer {
+        boolean accept(int slot);
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        //!!! from'dan itibaren value'dan kucuk olmayan ilk pozisyon
+        private int seek(int value, int from) {
+            int index = Arrays.binarySearch(values, from, size, value);
+            return index < 0 ? -index - 1 : index;
+        }
+    }
+
+    //!!! sadece istenen sayfanin sonuna kadar olan en iyi sonuclar tutulur: skor << 32 | slot
+    private static final class TopRanks {
+        private final long[] keys;
+        private int size;
+        private long total;
+
+        private TopRanks(int limit) {
+            keys = new long[limit];
+        }
+
+        private void offer(int score, int slot) {
+            total++;
+            long key = ((long) score << 32) | slot;
+            if (keys.length == 0 || (size == keys.length && key >= keys[size - 1])) {
+                return;
+            }
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            index = index < 0 ? -index - 1 : index;
+            System.arraycopy(keys, index, keys, index + 1, Math.min(size, keys.length - 1) - index);
+            keys[index] = key;
+            size = Math.min(size + 1, keys.length);
+        }
+
+        private boolean isFullWithScore(int score) {
+            return size > 0 && size == keys.length && (int) (keys[size - 1] >>> 32) == score;
+        }
+    }
+}
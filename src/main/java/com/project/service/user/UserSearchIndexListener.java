@@ -0,0 +1,48 @@
+package com.project.service.user;
+
+import com.project.entity.concretes.user.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+//!!! User entity yazimlarini UserSearchIndex'e tasir. Index EntityManagerFactory'den once olusturulamayacagi icin
+//  ObjectProvider ile ilk kullanimda aliniyor
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndexListener {
+
+    private final ObjectProvider<UserSearchIndex> userSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(User user) {
+        afterCommit(() -> userSearchIndex.getObject().put(user.getId(), user.getName(), user.getSurname(),
+                user.getUsername(), user.getStudentNumber()));
+    }
+
+    @PostRemove
+    public void afterRemove(User user) {
+        Long userId = user.getId();
+        afterCommit(() -> userSearchIndex.getObject().remove(userId));
+    }
+
+    //!!! rollback olan yazimlar index'e girmesin
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.project.service.validator;
+
+import com.project.repository.UserRepository;
+import com.project.repository.projection.UserUniquePropertiesView;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.annotation.PostConstruct;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+//!!! Kayitli username/ssn/phone/email degerleri icin Bloom filter. "yok" cevabi kesindir, "olabilir" cevabinda DB'ye gidilir
+@Component
+@RequiredArgsConstructor
+public class UniquePropertyBloomFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UniquePropertyBloomFilter.class);
+
+    private final UserRepository userRepository;
+
+    @Value("${backendapi.app.uniqueCheck.bloomFilter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${backendapi.app.uniqueCheck.bloomFilter.expectedInsertions:400000}")
+    private long expectedInsertions;
+
+    @Value("${backendapi.app.uniqueCheck.bloomFilter.falsePositiveRate:0.01}")
+    private double falsePositiveRate;
+
+    private AtomicLongArray bits;
+    private long bitSize;
+    private int hashFunctions;
+
+    //!!! startup'ta doldurulana kadar butun kontroller DB'ye gider
+    private volatile boolean ready;
+
+    @PostConstruct
+    private void init() {
+        bitSize = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        hashFunctions = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+        bits = new AtomicLongArray((int) ((bitSize + 63) / 64));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long count;
+        try (Stream<UserUniquePropertiesView> users = userRepository.streamAllUniqueProperties()) {
+            count = users.peek(user -> put(user.getUsername(), user.getSsn(), user.getPhoneNumber(), user.getEmail()))
+                    .count();
+        }
+        ready = true;
+        LOGGER.info("Unique property filter built from {} users", count);
+    }
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    public void put(String username, String ssn, String phoneNumber, String email) {
+        if (!enabled) {
+            return;
+        }
+        put("u:", username);
+        put("s:", ssn);
+        put("p:", phoneNumber);
+        put("e:", email);
+    }
+
+    //!!! bos ("") degerler degismeyen alanlari temsil ediyor, kontrol disi
+    public boolean mightContainAny(String username, String ssn, String phoneNumber, String email) {
+        return mightContain("u:", username) || mightContain("s:", ssn)
+                || mightContain("p:", phoneNumber) || mightContain("e:", email);
+    }
+
+    private void put(String prefix, String value) {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        long hash = hash(prefix + normalize(value));
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = bitIndex(hash, i);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // baska bir thread ayni kelimeyi degistirdi, tekrar dene
+            }
+        }
+    }
+
+    private boolean mightContain(String prefix, String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        long hash = hash(prefix + normalize(value));
+        for (int i = 1; i <= hashFunctions; i++) {
+            long index = bitIndex(hash, i);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    //!!! degisiklik kontrolleri buyuk/kucuk harf duyarsiz; "SuperAdmin" ile "superadmin" ayni bitlere dusmeli ki
+    //  filtre bunlardan biri icin kesin "yok" demesin, karar DB'ye kalsin
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    //!!! double hashing: tek 64 bit hash'in iki yarisindan k farkli indeks uretiliyor
+    private long bitIndex(long hash, int i) {
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % bitSize;
+    }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93e7f4a88b9L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -5,31 +5,88 @@ import com.project.exception.ConflictException;
 import com.project.payload.messages.ErrorMessages;
 import com.project.payload.request.abstracts.AbstractUserRequest;
 import com.project.repository.UserRepository;
+import com.project.repository.projection.UserUniquePropertiesView;
+import com.project.service.helper.EntityVersionHelper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class UniquePropertyValidator {
 
     private final UserRepository userRepository;
-
+    private final UniquePropertyBloomFilter bloomFilter;
+    private final EntityVersionHelper entityVersionHelper;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate conflictLookupTemplate;
+
+    //!!! INSERT/UPDATE hatasindan sonra cagiranin transaction'i kullanilamaz (PostgreSQL abort eder),
+    //  cakisan alan ayri bir transaction'da aranir
+    @PostConstruct
+    private void init() {
+        conflictLookupTemplate = new TransactionTemplate(transactionManager);
+        conflictLookupTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        conflictLookupTemplate.setReadOnly(true);
+    }
 
     public void checkDuplicate(String username, String ssn, String phone, String email){
+        //!!! filtre hicbir degeri gormediyse cakisma olamaz, DB'ye gitmiyoruz
+        if(bloomFilter.isReady() && !bloomFilter.mightContainAny(username, ssn, phone, email)){
+            return;
+        }
+        checkConflicts(username, ssn, phone, email, 0L);
+    }
 
-        if(userRepository.existsByUsername(username)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, username));
+    //!!! dort alan tek sorguda kontrol ediliyor
+    private void checkConflicts(String username, String ssn, String phone, String email, Long excludedUserId){
+        List<UserUniquePropertiesView> conflicts =
+                userRepository.findUniquePropertyConflicts(username, ssn, phone, email, excludedUserId);
+        String message = getConflictMessage(conflicts, username, ssn, phone, email);
+        if(message != null){
+            throw new ConflictException(message);
         }
-        if(userRepository.existsBySsn(ssn)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN, ssn));
+    }
+
+    //!!! mesaj onceligi eskisi gibi username > ssn > phone > email, cakisma yoksa null
+    public String getConflictMessage(List<UserUniquePropertiesView> conflicts,
+                                     String username, String ssn, String phone, String email){
+        if(conflicts.stream().anyMatch(conflict -> username.equals(conflict.getUsername()))){
+            return String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, username);
+        }
+        if(conflicts.stream().anyMatch(conflict -> ssn.equals(conflict.getSsn()))){
+            return String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN, ssn);
         }
-        if(userRepository.existsByPhoneNumber(phone)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_PHONE, phone));
+        if(conflicts.stream().anyMatch(conflict -> phone.equals(conflict.getPhoneNumber()))){
+            return String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_PHONE, phone);
         }
-        if(userRepository.existsByEmail(email)){
-            throw new ConflictException(String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_EMAIL, email));
+        if(conflicts.stream().anyMatch(conflict -> email.equals(conflict.getEmail()))){
+            return String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_EMAIL, email);
         }
+        return null;
+    }
 
+    //!!! kontrol ile insert arasinda ayni degerle kayit gelirse DB unique constraint'i yakalar,
+    //  hata ayni ConflictException mesajlarina cevriliyor
+    public User saveWithUniqueCheck(User user){
+        User savedUser;
+        try {
+            savedUser = entityVersionHelper.saveVersioned(() -> userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            conflictLookupTemplate.executeWithoutResult(status ->
+                    checkConflicts(user.getUsername(), user.getSsn(), user.getPhoneNumber(), user.getEmail(),
+                            user.getId() == null ? 0L : user.getId()));
+            throw e;
+        }
+        bloomFilter.put(savedUser.getUsername(), savedUser.getSsn(), savedUser.getPhoneNumber(), savedUser.getEmail());
+        return savedUser;
     }
 
     public void checkUniqueProperties(User user, AbstractUserRequest abstractUserRequest){
@@ -0,0 +1,2 @@
+-- PostgreSQL migration ile ayni sequence; H2 test semasini Hibernate olusturdugu icin veri tasima yok
+CREATE SEQUENCE IF NOT EXISTS student_number_seq START WITH 1000 INCREMENT BY 50;
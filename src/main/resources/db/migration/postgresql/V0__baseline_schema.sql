@@ -0,0 +1,103 @@
+-- Flyway'den onceki sema: uygulamanin ilk surumunde Hibernate'in (ddl-auto=update) olusturdugu tablolarin aynisi.
+-- Bu sema ile calisan mevcut veritabanlari V0'da baseline alinir (spring.flyway.baseline-version=0) ve V1'den devam eder;
+-- bos veritabaninda sema burada olusur. Boylece V1-V6 iki durumda da tablolari hazir bulur, V7 bir sey degistirmez.
+CREATE TABLE roles (
+    id        serial PRIMARY KEY,
+    role_name varchar(255),
+    role_type varchar(20)
+);
+
+CREATE TABLE education_term (
+    id                     bigserial PRIMARY KEY,
+    end_date               date         NOT NULL,
+    last_registration_date date         NOT NULL,
+    start_date             date         NOT NULL,
+    term                   varchar(255) NOT NULL
+);
+
+CREATE TABLE lesson (
+    lesson_id     bigserial PRIMARY KEY,
+    credit_score  integer,
+    is_compulsory boolean,
+    lesson_name   varchar(255)
+);
+
+CREATE TABLE lesson_program (
+    id                bigserial PRIMARY KEY,
+    day               varchar(255),
+    start_time        time,
+    stop_time         time,
+    education_term_id bigint REFERENCES education_term (id)
+);
+
+CREATE TABLE lesson_program_lesson (
+    lessonprogram_id bigint NOT NULL REFERENCES lesson_program (id),
+    lesson_id        bigint NOT NULL REFERENCES lesson (lesson_id),
+    PRIMARY KEY (lessonprogram_id, lesson_id)
+);
+
+CREATE TABLE t_user (
+    id                 bigserial PRIMARY KEY,
+    advisor_teacher_id bigint,
+    birth_day          date,
+    birth_place        varchar(255),
+    built_in           boolean,
+    email              varchar(255) UNIQUE,
+    father_name        varchar(255),
+    gender             varchar(255),
+    is_active          boolean NOT NULL,
+    is_advisor         boolean,
+    mother_name        varchar(255),
+    name               varchar(255),
+    password           varchar(255),
+    phone_number       varchar(255) UNIQUE,
+    ssn                varchar(255) UNIQUE,
+    student_number     integer NOT NULL,
+    surname            varchar(255),
+    username           varchar(255) UNIQUE,
+    user_role_id       integer REFERENCES roles (id)
+);
+
+CREATE TABLE user_lessonprogram (
+    user_id           bigint NOT NULL REFERENCES t_user (id),
+    lesson_program_id bigint NOT NULL REFERENCES lesson_program (id),
+    PRIMARY KEY (user_id, lesson_program_id)
+);
+
+CREATE TABLE meet (
+    id                  bigserial PRIMARY KEY,
+    date                date,
+    description         varchar(255),
+    start_time          time,
+    stop_time           time,
+    advisory_teacher_id bigint REFERENCES t_user (id)
+);
+
+CREATE TABLE meet_student_table (
+    meet_id    bigint NOT NULL REFERENCES meet (id),
+    student_id bigint NOT NULL REFERENCES t_user (id),
+    PRIMARY KEY (meet_id, student_id)
+);
+
+CREATE TABLE student_info (
+    id                bigserial PRIMARY KEY,
+    absentee          integer,
+    exam_average      double precision,
+    final_exam        double precision,
+    info_note         varchar(255),
+    letter_grade      varchar(255),
+    midterm_exam      double precision,
+    education_term_id bigint REFERENCES education_term (id),
+    lesson_lesson_id  bigint REFERENCES lesson (lesson_id),
+    student_id        bigint REFERENCES t_user (id),
+    teacher_id        bigint REFERENCES t_user (id)
+);
+
+CREATE TABLE contact_message (
+    id        bigserial PRIMARY KEY,
+    date_time timestamp,
+    email     varchar(255) NOT NULL,
+    message   varchar(255) NOT NULL,
+    name      varchar(255) NOT NULL,
+    subject   varchar(255) NOT NULL
+);
@@ -0,0 +1,3 @@
+-- Token iptal sayaci t_user'da tutulur: uygulama yeniden baslayinca kaybolmaz, tum node'lar ayni degeri okur.
+-- Mevcut kullanicilar 0 ile baslar, JDBC ile yapilan insert'ler de default degeri alir.
+ALTER TABLE t_user ADD COLUMN IF NOT EXISTS token_epoch integer NOT NULL DEFAULT 0;
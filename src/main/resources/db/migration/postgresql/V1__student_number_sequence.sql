@@ -0,0 +1,21 @@
+-- Ogrenci numaralari icin sequence. INCREMENT BY degeri StudentNumberAllocator.BLOCK_SIZE ile ayni olmali,
+-- her nextval uygulamaya 50 numaralik bir blok ayirir.
+CREATE SEQUENCE IF NOT EXISTS student_number_seq START WITH 1000 INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 't_user') THEN
+        -- sequence mevcut en buyuk numaranin ustunden baslar
+        PERFORM setval('student_number_seq',
+                       GREATEST((SELECT COALESCE(MAX(student_number), 0) FROM t_user) + 1, 1000), false);
+
+        -- daha once ayni numarayi almis ogrenci yoksa numaralar DB seviyesinde de unique
+        IF NOT EXISTS (SELECT student_number FROM t_user WHERE student_number > 0
+                       GROUP BY student_number HAVING COUNT(*) > 1) THEN
+            CREATE UNIQUE INDEX IF NOT EXISTS ux_t_user_student_number ON t_user (student_number)
+                WHERE student_number > 0;
+        ELSE
+            RAISE WARNING 't_user has duplicate student numbers, unique index ux_t_user_student_number not created';
+        END IF;
+    END IF;
+END $$;
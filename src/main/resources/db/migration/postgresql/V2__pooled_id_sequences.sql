@@ -0,0 +1,31 @@
+-- IDENTITY (serial) kolonlar pooled sequence kullanimina geciriliyor.
+-- Entity siniflarindaki @SequenceGenerator(allocationSize = 50) ile ayni INCREMENT BY kullanilmali:
+-- Hibernate her nextval degerini (deger - 49 .. deger) araliginin ust siniri olarak kullanir.
+DO $$
+DECLARE
+    r      record;
+    max_id bigint;
+BEGIN
+    FOR r IN SELECT * FROM (VALUES
+        ('t_user', 'id', 't_user_id_seq'),
+        ('roles', 'id', 'roles_id_seq'),
+        ('meet', 'id', 'meet_id_seq'),
+        ('student_info', 'id', 'student_info_id_seq'),
+        ('lesson_program', 'id', 'lesson_program_id_seq'),
+        ('lesson', 'lesson_id', 'lesson_lesson_id_seq'),
+        ('education_term', 'id', 'education_term_id_seq'),
+        ('contact_message', 'id', 'contact_message_id_seq')
+    ) AS t (table_name, column_name, sequence_name)
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS %I INCREMENT BY 50', r.sequence_name);
+        EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', r.sequence_name);
+
+        IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = r.table_name) THEN
+            -- serial default degeri kaldirilmazsa default ile yapilan insert islemleri Hibernate bloklariyla cakisabilir
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN %I DROP DEFAULT', r.table_name, r.column_name);
+            EXECUTE format('SELECT COALESCE(MAX(%I), 0) FROM %I', r.column_name, r.table_name) INTO max_id;
+            -- ilk blok mevcut en buyuk id degerinin hemen ustunden baslar
+            PERFORM setval(r.sequence_name, max_id + 50, false);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,25 @@
+-- Kullanici silme islemi deleted_at kolonunu doldurur, fiziksel silme UserPurgeService ile arka planda yapilir.
+-- Purge sorgulari kullanici id'si ile bagimli tablolari taradigi icin foreign key kolonlarina index ekleniyor
+-- (PostgreSQL foreign key kolonlarini otomatik indexlemez).
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 't_user') THEN
+        ALTER TABLE t_user ADD COLUMN IF NOT EXISTS deleted_at timestamp;
+        -- sadece purge bekleyen satirlar indexlenir, tarama sorgusu bu index ile calisir
+        CREATE INDEX IF NOT EXISTS ix_t_user_deleted_at ON t_user (deleted_at) WHERE deleted_at IS NOT NULL;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'student_info') THEN
+        CREATE INDEX IF NOT EXISTS ix_student_info_teacher_id ON student_info (teacher_id);
+        CREATE INDEX IF NOT EXISTS ix_student_info_student_id ON student_info (student_id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'meet') THEN
+        CREATE INDEX IF NOT EXISTS ix_meet_advisory_teacher_id ON meet (advisory_teacher_id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'meet_student_table') THEN
+        CREATE INDEX IF NOT EXISTS ix_meet_student_table_student_id ON meet_student_table (student_id);
+        CREATE INDEX IF NOT EXISTS ix_meet_student_table_meet_id ON meet_student_table (meet_id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'user_lessonprogram') THEN
+        CREATE INDEX IF NOT EXISTS ix_user_lessonprogram_user_id ON user_lessonprogram (user_id);
+    END IF;
+END $$;
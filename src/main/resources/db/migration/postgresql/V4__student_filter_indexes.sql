@@ -0,0 +1,14 @@
+-- Ogrenci filtreleme (/students/filter) icin composite index'ler. User entity'sindeki @Table(indexes) ile ayni
+-- isimler kullaniliyor, boylece yeni kurulumda Hibernate'in olusturdugu index'lerle cakismaz.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 't_user') THEN
+        CREATE INDEX IF NOT EXISTS ix_t_user_role_active_number ON t_user (user_role_id, is_active, student_number, id);
+        CREATE INDEX IF NOT EXISTS ix_t_user_advisor_number ON t_user (advisor_teacher_id, student_number, id);
+        CREATE INDEX IF NOT EXISTS ix_t_user_role_birth_day ON t_user (user_role_id, birth_day, id);
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'user_lessonprogram') THEN
+        -- primary key (user_id, lesson_program_id) ders programina gore aramada kullanilamiyor
+        CREATE INDEX IF NOT EXISTS ix_user_lessonprogram_program_user ON user_lessonprogram (lesson_program_id, user_id);
+    END IF;
+END $$;
@@ -0,0 +1,24 @@
+-- Uzun suredir pasif olan ogrenciler StudentArchiveService ile student_archive tablosuna tasinir.
+-- inactive_since pasife alinma zamanini tutar; mevcut pasif ogrenciler icin saklama suresi bu migration'dan baslar.
+CREATE TABLE IF NOT EXISTS student_archive (
+    user_id        bigint PRIMARY KEY,
+    username       varchar(255),
+    name           varchar(255),
+    surname        varchar(255),
+    student_number integer NOT NULL,
+    inactive_since timestamp,
+    archived_at    timestamp,
+    record         text
+);
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 't_user') THEN
+        ALTER TABLE t_user ADD COLUMN IF NOT EXISTS inactive_since timestamp;
+        UPDATE t_user SET inactive_since = now()
+        WHERE is_active = false AND inactive_since IS NULL
+          AND user_role_id IN (SELECT id FROM roles WHERE role_type = 'STUDENT');
+        -- arsiv taramasi sadece pasif satirlari okur
+        CREATE INDEX IF NOT EXISTS ix_t_user_inactive_since ON t_user (inactive_since) WHERE inactive_since IS NOT NULL;
+    END IF;
+END $$;
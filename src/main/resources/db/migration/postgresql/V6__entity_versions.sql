@@ -0,0 +1,17 @@
+-- User, Meet, LessonProgram ve StudentInfo @Version ile optimistic locking kullanir.
+-- Mevcut satirlar 0 ile baslar; kolon NOT NULL, JDBC ile yapilan insert'ler de default degeri alir.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 't_user') THEN
+        ALTER TABLE t_user ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'meet') THEN
+        ALTER TABLE meet ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'lesson_program') THEN
+        ALTER TABLE lesson_program ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'student_info') THEN
+        ALTER TABLE student_info ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+    END IF;
+END $$;
@@ -0,0 +1,124 @@
+-- Sema artik migration'larla yonetiliyor (spring.jpa.hibernate.ddl-auto=validate).
+-- Daha once Hibernate'in olusturdugu kurulumlarda tablolar zaten var, IF NOT EXISTS ile atlanir;
+-- yeni kurulumda tablolar entity eslemeleriyle birebir ayni kolonlarla burada olusur.
+-- Sequence'ler V1 ve V2'de olusturuluyor.
+CREATE TABLE IF NOT EXISTS roles (
+    id        integer PRIMARY KEY,
+    role_name varchar(255),
+    role_type varchar(20)
+);
+
+CREATE TABLE IF NOT EXISTS education_term (
+    id                     bigint PRIMARY KEY,
+    term                   varchar(255) NOT NULL,
+    start_date             date         NOT NULL,
+    end_date               date         NOT NULL,
+    last_registration_date date         NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS lesson (
+    lesson_id     bigint PRIMARY KEY,
+    lesson_name   varchar(255),
+    credit_score  integer,
+    is_compulsory boolean
+);
+
+CREATE TABLE IF NOT EXISTS lesson_program (
+    id                bigint PRIMARY KEY,
+    day               varchar(255),
+    start_time        time,
+    stop_time         time,
+    version           bigint NOT NULL DEFAULT 0,
+    education_term_id bigint REFERENCES education_term (id)
+);
+
+CREATE TABLE IF NOT EXISTS lesson_program_lesson (
+    lessonprogram_id bigint NOT NULL REFERENCES lesson_program (id),
+    lesson_id        bigint NOT NULL REFERENCES lesson (lesson_id),
+    PRIMARY KEY (lessonprogram_id, lesson_id)
+);
+
+CREATE TABLE IF NOT EXISTS t_user (
+    id                 bigint PRIMARY KEY,
+    username           varchar(255) UNIQUE,
+    ssn                varchar(255) UNIQUE,
+    name               varchar(255),
+    surname            varchar(255),
+    birth_day          date,
+    birth_place        varchar(255),
+    password           varchar(255),
+    phone_number       varchar(255) UNIQUE,
+    email              varchar(255) UNIQUE,
+    gender             varchar(255),
+    built_in           boolean,
+    mother_name        varchar(255),
+    father_name        varchar(255),
+    student_number     integer NOT NULL,
+    is_active          boolean NOT NULL,
+    is_advisor         boolean,
+    advisor_teacher_id bigint,
+    inactive_since     timestamp,
+    deleted_at         timestamp,
+    version            bigint  NOT NULL DEFAULT 0,
+    user_role_id       integer REFERENCES roles (id)
+);
+
+CREATE TABLE IF NOT EXISTS user_lessonprogram (
+    user_id           bigint NOT NULL REFERENCES t_user (id),
+    lesson_program_id bigint NOT NULL REFERENCES lesson_program (id),
+    PRIMARY KEY (user_id, lesson_program_id)
+);
+
+CREATE TABLE IF NOT EXISTS meet (
+    id                  bigint PRIMARY KEY,
+    description         varchar(255),
+    date                date,
+    start_time          time,
+    stop_time           time,
+    version             bigint NOT NULL DEFAULT 0,
+    advisory_teacher_id bigint REFERENCES t_user (id)
+);
+
+CREATE TABLE IF NOT EXISTS meet_student_table (
+    meet_id    bigint NOT NULL REFERENCES meet (id),
+    student_id bigint NOT NULL REFERENCES t_user (id),
+    PRIMARY KEY (meet_id, student_id)
+);
+
+CREATE TABLE IF NOT EXISTS student_info (
+    id                bigint PRIMARY KEY,
+    absentee          integer,
+    midterm_exam      double precision,
+    final_exam        double precision,
+    exam_average      double precision,
+    info_note         varchar(255),
+    letter_grade      varchar(255),
+    version           bigint NOT NULL DEFAULT 0,
+    education_term_id bigint REFERENCES education_term (id),
+    lesson_lesson_id  bigint REFERENCES lesson (lesson_id),
+    student_id        bigint REFERENCES t_user (id),
+    teacher_id        bigint REFERENCES t_user (id)
+);
+
+CREATE TABLE IF NOT EXISTS contact_message (
+    id        bigint PRIMARY KEY,
+    name      varchar(255) NOT NULL,
+    email     varchar(255) NOT NULL,
+    subject   varchar(255) NOT NULL,
+    message   varchar(255) NOT NULL,
+    date_time timestamp
+);
+
+-- V1, V3, V4 ve V5 index'lerini sadece tablo varsa olusturuyordu; yeni kurulumda burada tamamlanir
+CREATE UNIQUE INDEX IF NOT EXISTS ux_t_user_student_number ON t_user (student_number) WHERE student_number > 0;
+CREATE INDEX IF NOT EXISTS ix_t_user_deleted_at ON t_user (deleted_at) WHERE deleted_at IS NOT NULL;
+CREATE INDEX IF NOT EXISTS ix_t_user_inactive_since ON t_user (inactive_since) WHERE inactive_since IS NOT NULL;
+CREATE INDEX IF NOT EXISTS ix_t_user_role_active_number ON t_user (user_role_id, is_active, student_number, id);
+CREATE INDEX IF NOT EXISTS ix_t_user_advisor_number ON t_user (advisor_teacher_id, student_number, id);
+CREATE INDEX IF NOT EXISTS ix_t_user_role_birth_day ON t_user (user_role_id, birth_day, id);
+CREATE INDEX IF NOT EXISTS ix_student_info_teacher_id ON student_info (teacher_id);
+CREATE INDEX IF NOT EXISTS ix_student_info_student_id ON student_info (student_id);
+CREATE INDEX IF NOT EXISTS ix_meet_student_table_student_id ON meet_student_table (student_id);
+CREATE INDEX IF NOT EXISTS ix_meet_student_table_meet_id ON meet_student_table (meet_id);
+CREATE INDEX IF NOT EXISTS ix_user_lessonprogram_user_id ON user_lessonprogram (user_id);
+CREATE INDEX IF NOT EXISTS ix_user_lessonprogram_program_user ON user_lessonprogram (lesson_program_id, user_id);
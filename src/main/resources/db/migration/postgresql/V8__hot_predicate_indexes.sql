@@ -0,0 +1,10 @@
+-- Sik kullanilan filtreler icin index seti. HotQueryIndexTest bu sorgularin seq scan'e dusmedigini kontrol eder.
+-- t_user.advisor_teacher_id ve t_user.user_role_id filtreleri V4'teki composite index'lerin ilk kolonu ile karsilaniyor,
+-- student_info, meet_student_table ve user_lessonprogram kolonlari V3/V4/V7'de indexlendi.
+
+-- ogretmenin meet listesi ve meet cakisma kontrolu (advisory_teacher_id + date); tek kolonlu index bunun on eki
+CREATE INDEX IF NOT EXISTS ix_meet_advisory_teacher_date ON meet (advisory_teacher_id, date);
+DROP INDEX IF EXISTS ix_meet_advisory_teacher_id;
+
+-- iletisim mesajlarinda tarih araligi aramasi
+CREATE INDEX IF NOT EXISTS ix_contact_message_date_time ON contact_message (date_time);
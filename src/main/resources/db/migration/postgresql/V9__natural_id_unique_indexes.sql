@@ -0,0 +1,16 @@
+-- UserRole.roleType ve Lesson.lessonName @NaturalId; natural-id cache'i bu degerlerin tekil oldugunu varsayar.
+-- Mevcut veride tekrar eden deger varsa index olusturulmaz, uyari verilir.
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT role_type FROM roles GROUP BY role_type HAVING COUNT(*) > 1) THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS ux_roles_role_type ON roles (role_type);
+    ELSE
+        RAISE WARNING 'roles has duplicate role types, unique index ux_roles_role_type not created';
+    END IF;
+
+    IF NOT EXISTS (SELECT lesson_name FROM lesson GROUP BY lesson_name HAVING COUNT(*) > 1) THEN
+        CREATE UNIQUE INDEX IF NOT EXISTS ux_lesson_lesson_name ON lesson (lesson_name);
+    ELSE
+        RAISE WARNING 'lesson has duplicate lesson names, unique index ux_lesson_lesson_name not created';
+    END IF;
+END $$;
@@ -0,0 +1,39 @@
+package com.project;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//!!! Test profilinde Hibernate'in calistirdigi SQL'leri yakalar; sadece start() ile acilan thread'de kayit tutar
+public class SqlStatementRecorder implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    public static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    public static List<String> stop() {
+        List<String> statements = RECORDED.get();
+        RECORDED.remove();
+        return statements == null ? new ArrayList<>() : statements;
+    }
+
+    public static long count(List<String> statements, String prefix) {
+        String normalized = prefix.toLowerCase(Locale.ROOT);
+        return statements.stream()
+                .filter(sql -> sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ").trim().startsWith(normalized))
+                .count();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
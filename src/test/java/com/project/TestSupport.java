@@ -0,0 +1,61 @@
+package com.project;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.Gender;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Testlerin ortak kullanici ve login yardimcilari
+public final class TestSupport {
+
+    //!!! uygulama acilisinda olusturulan SuperAdmin ve testlerdeki kullanicilarin sifresi
+    public static final String PASSWORD = "12345678";
+
+    private TestSupport() {
+    }
+
+    //!!! ssn/telefon benzersiz kalsin diye her test sinifi kendi serisini kullanir: 999 -> 999-99-0001 / 999-999-0001
+    public static User.UserBuilder user(String username, int series, int number, UserRole role) {
+        return User.builder()
+                .username(username)
+                .name(username)
+                .surname("Surname")
+                .birthDay(LocalDate.of(2000, 1, 1))
+                .birthPlace("ISTANBUL")
+                .ssn(String.format("%03d-%02d-%04d", series, series % 100, number))
+                .phoneNumber(String.format("%03d-%03d-%04d", series, series, number))
+                .gender(Gender.FEMALE)
+                .email(username + "@test.com")
+                .password("not-used")
+                .userRole(role);
+    }
+
+    public static MockHttpServletRequestBuilder loginRequest(ObjectMapper objectMapper, String username,
+                                                             String password) throws Exception {
+        String body = objectMapper.writeValueAsString(
+                objectMapper.createObjectNode().put("username", username).put("password", password));
+        return post("/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    public static String login(MockMvc mockMvc, ObjectMapper objectMapper, String username, String password)
+            throws Exception {
+        String response = mockMvc.perform(loginRequest(objectMapper, username, password))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response).get("token").asText();
+    }
+
+    public static String login(MockMvc mockMvc, ObjectMapper objectMapper, String username) throws Exception {
+        return login(mockMvc, objectMapper, username, PASSWORD);
+    }
+}
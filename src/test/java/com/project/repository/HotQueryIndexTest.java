@@ -0,0 +1,70 @@
+package com.project.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//!!! Migration'larin olusturdugu sema uzerinde (PostgreSQL) sik kullanilan filtrelerin plani kontrol edilir.
+//  enable_seqscan kapatilinca planlayici uygun index varsa onu secer; index yoksa yine Seq Scan doner ve test kirilir.
+//  Calisan bir PostgreSQL ister, sadece -Dpostgres=true ile calisir
+@SpringBootTest
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+class HotQueryIndexTest {
+
+    private static final Map<String, String> HOT_QUERIES = new LinkedHashMap<>();
+
+    static {
+        HOT_QUERIES.put("students of advisor",
+                "SELECT id FROM t_user WHERE advisor_teacher_id = 1 AND deleted_at IS NULL");
+        HOT_QUERIES.put("users by role",
+                "SELECT id FROM t_user WHERE user_role_id = 1 AND deleted_at IS NULL");
+        HOT_QUERIES.put("student infos of student",
+                "SELECT id FROM student_info WHERE student_id = 1");
+        HOT_QUERIES.put("student infos of teacher",
+                "SELECT id FROM student_info WHERE teacher_id = 1");
+        HOT_QUERIES.put("meets of teacher on date",
+                "SELECT id FROM meet WHERE advisory_teacher_id = 1 AND date = DATE '2026-01-01'");
+        HOT_QUERIES.put("meets of student",
+                "SELECT meet_id FROM meet_student_table WHERE student_id = 1");
+        HOT_QUERIES.put("students of meet",
+                "SELECT student_id FROM meet_student_table WHERE meet_id = 1");
+        HOT_QUERIES.put("lesson programs of user",
+                "SELECT lesson_program_id FROM user_lessonprogram WHERE user_id = 1");
+        HOT_QUERIES.put("users of lesson program",
+                "SELECT user_id FROM user_lessonprogram WHERE lesson_program_id = 1");
+        HOT_QUERIES.put("contact messages between dates",
+                "SELECT id FROM contact_message WHERE date_time >= TIMESTAMP '2026-01-01 00:00' " +
+                        "AND date_time < TIMESTAMP '2026-02-01 00:00'");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void hotQueriesUseIndexes() {
+        Map<String, String> plans = new LinkedHashMap<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            //!!! SET LOCAL transaction bitince geri alinir, havuzdaki baglanti etkilenmez
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            HOT_QUERIES.forEach((name, sql) -> {
+                List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+                plans.put(name, String.join("\n", plan));
+            });
+            status.setRollbackOnly();
+        });
+
+        plans.forEach((name, plan) -> assertThat(plan).as("%s%n%s", name, plan).doesNotContain("Seq Scan"));
+    }
+}
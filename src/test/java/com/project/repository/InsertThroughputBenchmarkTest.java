@@ -0,0 +1,142 @@
+package com.project.repository;
+
+import com.project.entity.concretes.business.Meet;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.Gender;
+import com.project.entity.enums.RoleType;
+import com.project.repository.business.MeetRepository;
+import com.project.service.UserRoleService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//!!! Cok satirli insert yollari JDBC batch'leri ile yazilmali: her turda hazirlanan statement sayisi satir sayisina
+//  degil batch sayisina bagli kalir. Normal kosuda tek tur; olcum icin
+//  mvn test -Dtest=InsertThroughputBenchmarkTest -Dbenchmark=true (uc tur, sureler log'a yazilir)
+@SpringBootTest
+@ActiveProfiles("test")
+class InsertThroughputBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InsertThroughputBenchmarkTest.class);
+
+    private static final int STUDENTS = 2000;
+    private static final int MEETS = 500;
+    private static final int STUDENTS_PER_MEET = 20;
+    private static final int ROUNDS = Boolean.getBoolean("benchmark") ? 3 : 1;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeetRepository meetRepository;
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size}")
+    private int batchSize;
+
+    private final List<User> students = new ArrayList<>();
+
+    private final List<Meet> meets = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        meetRepository.deleteAllInBatch(meets);
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.deleteAll(userRepository.findAllById(students.stream().map(User::getId).toList())));
+    }
+
+    @Test
+    void bulkInsertsAreWrittenInJdbcBatches() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserRole studentRole = userRoleService.getUserRole(RoleType.STUDENT);
+        for (int round = 1; round <= ROUNDS; round++) {
+            String prefix = "r" + round;
+
+            statistics.clear();
+            long start = System.nanoTime();
+            List<User> saved = transactionTemplate.execute(status ->
+                    userRepository.saveAll(newStudents(prefix, studentRole)));
+            students.addAll(saved);
+            report("students", STUDENTS, start, statistics);
+
+            statistics.clear();
+            start = System.nanoTime();
+            meets.addAll(transactionTemplate.execute(status -> meetRepository.saveAll(newMeets(saved))));
+            report("meets (" + STUDENTS_PER_MEET + " students each)", MEETS, start, statistics);
+        }
+    }
+
+    private List<User> newStudents(String prefix, UserRole studentRole) {
+        List<User> students = new ArrayList<>(STUDENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(User.builder()
+                    .username(prefix + "s" + i)
+                    .ssn(prefix + "-ssn-" + i)
+                    .phoneNumber(prefix + "-phone-" + i)
+                    .email(prefix + "s" + i + "@school.com")
+                    .name("Name")
+                    .surname("Surname")
+                    .birthDay(LocalDate.of(2005, 1, 1))
+                    .birthPlace("ISTANBUL")
+                    .password("password")
+                    .gender(Gender.FEMALE)
+                    .isActive(true)
+                    .isAdvisor(Boolean.FALSE)
+                    .userRole(studentRole)
+                    .build());
+        }
+        return students;
+    }
+
+    private List<Meet> newMeets(List<User> students) {
+        List<Meet> meets = new ArrayList<>(MEETS);
+        for (int i = 0; i < MEETS; i++) {
+            int from = (i * STUDENTS_PER_MEET) % STUDENTS;
+            meets.add(Meet.builder()
+                    .description("Meet " + i)
+                    .date(LocalDate.of(2030, 1, 1).plusDays(i))
+                    .startTime(LocalTime.of(10, 0))
+                    .stopTime(LocalTime.of(11, 0))
+                    .studentList(new HashSet<>(students.subList(from, from + STUDENTS_PER_MEET)))
+                    .build());
+        }
+        return meets;
+    }
+
+    //!!! batch'siz yazimda her satir icin bir statement hazirlanirdi; batch ile tabloya gore birkac statement kalir
+    private void report(String name, int rows, long start, Statistics statistics) {
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(rows);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(rows / batchSize + 5);
+        LOGGER.info("{}: {} rows in {} ms ({} rows/s), {} statements prepared, {} entities inserted", name, rows,
+                elapsedMs, rows * 1000 / elapsedMs, statistics.getPrepareStatementCount(),
+                statistics.getEntityInsertCount());
+    }
+}
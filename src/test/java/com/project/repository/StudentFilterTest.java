@@ -0,0 +1,154 @@
+package com.project.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.Gender;
+import com.project.entity.enums.RoleType;
+import com.project.repository.business.LessonProgramRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Ogrenci filtresi kriterlerin kesisimini dondurmeli ve keyset ile sayfalanabilmeli
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentFilterTest {
+
+    private static final int SSN_SERIES = 999;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    private final List<User> createdUsers = new ArrayList<>();
+
+    private User advisor;
+
+    private LessonProgram lessonProgram;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        lessonProgram = lessonProgramRepository.save(LessonProgram.builder()
+                .day(Day.MONDAY)
+                .startTime(LocalTime.of(9, 0))
+                .stopTime(LocalTime.of(10, 0))
+                .build());
+        advisor = userRepository.save(user("filterAdvisor", SSN_SERIES, 0, teacherRole).isAdvisor(true).build());
+        createdUsers.add(advisor);
+        for (int i = 1; i <= 6; i++) {
+            Set<LessonProgram> lessonPrograms = new HashSet<>();
+            if (i <= 2) {
+                lessonPrograms.add(lessonProgram);
+            }
+            createdUsers.add(userRepository.save(user("filterStudent" + i, SSN_SERIES, i, studentRole)
+                    .advisorTeacherId(advisor.getId())
+                    .isActive(i != 6)
+                    .gender(i % 2 == 0 ? Gender.FEMALE : Gender.MALE)
+                    .birthDay(LocalDate.of(2000 + i, 1, 1))
+                    .studentNumber(9000 + i)
+                    .lessonProgramList(lessonPrograms)
+                    .build()));
+        }
+        token = login(mockMvc, objectMapper, "SuperAdmin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(createdUsers);
+        createdUsers.clear();
+        lessonProgramRepository.deleteById(lessonProgram.getId());
+    }
+
+    @Test
+    void criteriaAreCombined() throws Exception {
+        assertThat(studentNumbers(filter(params("advisorTeacherId", advisor.getId())))).hasSize(6);
+        assertThat(studentNumbers(filter(params("advisorTeacherId", advisor.getId(), "active", false))))
+                .containsExactly(9006);
+        assertThat(studentNumbers(filter(params("advisorTeacherId", advisor.getId(), "gender", "FEMALE",
+                "active", true)))).containsExactly(9002, 9004);
+        assertThat(studentNumbers(filter(params("advisorTeacherId", advisor.getId(),
+                "birthDayFrom", "2002-01-01", "birthDayTo", "2004-12-31")))).containsExactly(9002, 9003, 9004);
+        assertThat(studentNumbers(filter(params("studentNumberFrom", 9004, "studentNumberTo", 9005))))
+                .containsExactly(9004, 9005);
+        assertThat(studentNumbers(filter(params("lessonProgramId", lessonProgram.getId()))))
+                .containsExactly(9001, 9002);
+    }
+
+    @Test
+    void resultsArePagedWithCursor() throws Exception {
+        MultiValueMap<String, String> params = params("advisorTeacherId", advisor.getId(), "size", 4,
+                "sort", "studentNumber", "type", "desc");
+        JsonNode firstPage = filter(params);
+        assertThat(studentNumbers(firstPage)).containsExactly(9006, 9005, 9004, 9003);
+        assertThat(firstPage.get("hasNext").asBoolean()).isTrue();
+
+        params.set("after", firstPage.get("nextCursor").asText());
+        JsonNode secondPage = filter(params);
+        assertThat(studentNumbers(secondPage)).containsExactly(9002, 9001);
+        assertThat(secondPage.get("hasNext").asBoolean()).isFalse();
+    }
+
+    private MultiValueMap<String, String> params(Object... keyValues) {
+        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            params.add((String) keyValues[i], String.valueOf(keyValues[i + 1]));
+        }
+        return params;
+    }
+
+    private List<Integer> studentNumbers(JsonNode slice) {
+        List<Integer> numbers = new ArrayList<>();
+        slice.get("content").forEach(student -> numbers.add(student.get("studentNumber").asInt()));
+        return numbers;
+    }
+
+    private JsonNode filter(MultiValueMap<String, String> params) throws Exception {
+        String response = mockMvc.perform(get("/students/filter")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .params(params))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,143 @@
+package com.project.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Liste endpoint'leri User entity'lerini yuklememeli; yuklenen entity sayisi satir sayisindan bagimsiz olmali
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserListProjectionTest {
+
+    private static final int SSN_SERIES = 555;
+
+    private static final int STUDENT_COUNT = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> createdUsers = new ArrayList<>();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+
+        User teacher = userRepository.save(user("projectionTeacher", SSN_SERIES, 0, teacherRole)
+                .isAdvisor(true)
+                .password(passwordEncoder.encode(PASSWORD))
+                .build());
+        createdUsers.add(teacher);
+        for (int i = 1; i <= STUDENT_COUNT; i++) {
+            createdUsers.add(userRepository.save(user("projectionStudent" + i, SSN_SERIES, i, studentRole)
+                    .advisorTeacherId(teacher.getId())
+                    .studentNumber(5000 + i)
+                    .isActive(true)
+                    .fatherName("Father")
+                    .motherName("Mother")
+                    .password("not-used")
+                    .build()));
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(createdUsers);
+        createdUsers.clear();
+    }
+
+    @Test
+    void userListsAreReadAsProjections() throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+
+        long emptyListLoads = entityLoads(token, "/user/getUserByName?name=nobody-matches");
+
+        assertThat(entityLoads(token, "/user/getUserByName?name=projection")).isEqualTo(emptyListLoads);
+        assertThat(entityLoads(token, "/user/getAllUserByPage/Student?sort=name")).isEqualTo(emptyListLoads);
+        assertThat(entityLoads(token, "/teacher/getAllAdvisorTeacher")).isEqualTo(emptyListLoads);
+
+        JsonNode users = objectMapper.readTree(getJson(token, "/user/getUserByName?name=projectionStudent"));
+        assertThat(users).hasSize(STUDENT_COUNT);
+        assertThat(users.get(0).get("userRole").asText()).isEqualTo("STUDENT");
+        assertThat(users.get(0).get("email").asText()).isEqualTo(users.get(0).get("username").asText() + "@test.com");
+
+        JsonNode page = objectMapper.readTree(getJson(token, "/user/getAllUserByPage/Student?sort=name&type=asc"));
+        assertThat(page.get("content").get(0).get("username").asText()).isEqualTo("projectionStudent1");
+    }
+
+    @Test
+    void advisorStudentsAreReadAsProjections() throws Exception {
+        String token = login(mockMvc, objectMapper, "projectionTeacher");
+
+        statistics.clear();
+        //!!! controller kullanici adini "username" header'indan okuyor
+        String response = mockMvc.perform(get("/teacher/getAllStudentByAdvisorUsername")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .header("username", "projectionTeacher"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode students = objectMapper.readTree(response);
+
+        assertThat(students).hasSize(STUDENT_COUNT);
+        assertThat(students.get(0).get("studentNumber").asInt()).isGreaterThan(5000);
+        assertThat(students.get(0).get("motherName").asText()).isEqualTo("Mother");
+        //!!! sadece filtrede kimligi dogrulanan ogretmen ve rolu
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2);
+    }
+
+    private long entityLoads(String token, String url) throws Exception {
+        statistics.clear();
+        getJson(token, url);
+        return statistics.getEntityLoadCount();
+    }
+
+    private String getJson(String token, String url) throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
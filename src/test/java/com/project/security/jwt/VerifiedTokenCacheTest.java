@@ -0,0 +1,54 @@
+package com.project.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+//!!! Ayni token ikinci kez geldiginde imza tekrar dogrulanmaz, hit/miss sayilari metric olarak gorunur
+@SpringBootTest
+@ActiveProfiles("test")
+class VerifiedTokenCacheTest {
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void secondVerificationIsCacheHitWithoutParsing() {
+        String token = jwtUtils.generateJwtTokenFromUsername("cachedTokenUser");
+        JwtParser parser = (JwtParser) ReflectionTestUtils.getField(jwtUtils, "jwtParser");
+        JwtParser parserSpy = spy(parser);
+        ReflectionTestUtils.setField(jwtUtils, "jwtParser", parserSpy);
+        double hits = gets("hit");
+        double misses = gets("miss");
+        try {
+            Claims first = jwtUtils.getVerifiedClaims(token);
+            Claims second = jwtUtils.getVerifiedClaims(token);
+
+            assertThat(second).isSameAs(first);
+            assertThat(second.getSubject()).isEqualTo("cachedTokenUser");
+        } finally {
+            ReflectionTestUtils.setField(jwtUtils, "jwtParser", parser);
+        }
+
+        verify(parserSpy, times(1)).parseClaimsJws(token);
+        assertThat(gets("miss")).isEqualTo(misses + 1);
+        assertThat(gets("hit")).isEqualTo(hits + 1);
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get(VerifiedTokenCache.GETS_COUNTER).tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,133 @@
+package com.project.security.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.loginRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Login limitleri: IP limiti filtrede 429 + Retry-After doner; username limitleri sadece basarisiz denemeleri
+//  sayar, biri ayni IP'den, digeri tum IP'lerden gelenleri. Her test kendi IP ve username'ini kullanir
+@SpringBootTest(properties = {
+        "backendapi.app.rateLimit.login.ip.capacity=4",
+        "backendapi.app.rateLimit.login.ip.refillPerMinute=4",
+        "backendapi.app.rateLimit.login.username.capacity=2",
+        "backendapi.app.rateLimit.login.username.refillPerMinute=2",
+        "backendapi.app.rateLimit.login.account.capacity=3",
+        "backendapi.app.rateLimit.login.account.refillPerMinute=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LoginRateLimitTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void ipLimitRejectsWithRetryAfterBeforeAuthentication() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            login("10.0.0.1", "noSuchUser" + i, PASSWORD).andExpect(status().isUnauthorized());
+        }
+
+        //!!! 4/dakika: bir token 15 saniyede dolar
+        login("10.0.0.1", "SuperAdmin", PASSWORD)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "15"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.path").value("/auth/login"));
+        login("10.0.0.2", "SuperAdmin", PASSWORD).andExpect(status().isOk());
+    }
+
+    @Test
+    void successfulLoginsDoNotUseUsernameLimit() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            login("10.0.1.1", "SuperAdmin", PASSWORD).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void failedLoginsAreLimitedPerIpAndUsername() throws Exception {
+        login("10.0.2.1", "SuperAdmin", "wrongPassword").andExpect(status().isUnauthorized());
+        login("10.0.2.1", "SuperAdmin", "wrongPassword").andExpect(status().isUnauthorized());
+
+        //!!! dogru sifre de reddedilir, 2/dakika: bir deneme hakki 30 saniyede dolar
+        login("10.0.2.1", "SuperAdmin", PASSWORD)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+        //!!! baska IP'den deneyen kullanici kilitlenmez
+        login("10.0.2.2", "SuperAdmin", PASSWORD).andExpect(status().isOk());
+    }
+
+    @Test
+    void failedLoginsFromManyIpsAreLimitedPerUsername() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            login("10.0.3." + i, "stuffedUser", "wrongPassword").andExpect(status().isUnauthorized());
+        }
+
+        //!!! her IP'nin kendi hakki dursa da hesabin toplam hakki bitti, 3/dakika: 20 saniye
+        login("10.0.3.4", "stuffedUser", "wrongPassword")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "20"));
+    }
+
+    @Test
+    void concurrentFailedLoginsCannotExceedLimit() throws Exception {
+        int attempts = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return login("10.0.4.1", "raceUser", "wrongPassword").andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            List<Integer> results = new ArrayList<>();
+            for (Future<Integer> status : statuses) {
+                results.add(status.get(30, TimeUnit.SECONDS));
+            }
+
+            //!!! IP limiti dort istegi de gecirir; hak kontrol edilip ayni adimda alindigi icin sadece 2'si sifre
+            //  kontrolune ulasir
+            assertThat(results).filteredOn(status -> status == HttpStatus.UNAUTHORIZED.value()).hasSize(2);
+            assertThat(results).filteredOn(status -> status == HttpStatus.TOO_MANY_REQUESTS.value()).hasSize(2);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ResultActions login(String ip, String username, String password) throws Exception {
+        //!!! filtre servlet path'e bakar; MockMvc bunu Tomcat gibi kendisi doldurmaz
+        return mockMvc.perform(loginRequest(objectMapper, username, password)
+                .servletPath("/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                }));
+    }
+}
@@ -0,0 +1,98 @@
+package com.project.security.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+
+import static com.project.TestSupport.login;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Kimligi dogrulanmis bir istekte kullanici satiri sadece AuthTokenFilter'da bir kez okunmali
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CurrentUserStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void currentUserIsLoadedOncePerRequest() throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+
+        statistics.clear();
+        mockMvc.perform(get("/auth/user").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        //!!! sadece filtredeki kullanici sorgusu; eager rol ikinci seviye cache'ten geliyor, servis tekrar sorgulamiyor
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void authenticatedWriteReusesCurrentUser() throws Exception {
+        String adminToken = login(mockMvc, objectMapper, "SuperAdmin");
+        ObjectNode user = userJson("adminTwo", "222-22-2222", "admintwo@admin.com", "222-222-2222");
+        mockMvc.perform(post("/user/save/Admin")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + adminToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user.put("password", "12345678"))))
+                .andExpect(status().isOk());
+        String token = login(mockMvc, objectMapper, "adminTwo");
+
+        statistics.clear();
+        user.remove("password");
+        mockMvc.perform(patch("/user/updateUser")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(user.put("birthPlace", "ANKARA"))))
+                .andExpect(status().isOk());
+
+        //!!! kullanici sadece filtrede okunuyor; rol cache'ten geliyor, UPDATE ve token epoch arttirma disinda
+        //  statement yok
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private ObjectNode userJson(String username, String ssn, String email, String phoneNumber) {
+        return objectMapper.createObjectNode()
+                .put("username", username)
+                .put("name", "Name" + username)
+                .put("surname", "Surname")
+                .put("birthDay", "1990-01-01")
+                .put("ssn", ssn)
+                .put("birthPlace", "ISTANBUL")
+                .put("phoneNumber", phoneNumber)
+                .put("gender", "MALE")
+                .put("email", email);
+    }
+}
@@ -0,0 +1,57 @@
+package com.project.security.service;
+
+import com.project.payload.request.LoginRequest;
+import com.project.service.AuthenticationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+
+//!!! Login'de kullanici sorgusu cagiran thread'de kalir, sadece BCrypt hash havuzunda calisir
+@SpringBootTest
+@ActiveProfiles("test")
+class LoginHashingThreadTest {
+
+    @Autowired
+    private AuthenticationService authenticationService;
+
+    @Autowired
+    private DaoAuthenticationProvider authenticationProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Test
+    void onlyPasswordCheckRunsOnHashingPool() {
+        List<String> lookupThreads = new ArrayList<>();
+        doAnswer(invocation -> {
+            lookupThreads.add(Thread.currentThread().getName());
+            return invocation.callRealMethod();
+        }).when(userDetailsService).loadUserByUsername(anyString());
+        long hashed = meterRegistry.get("auth.password.hashing.duration").timer().count();
+
+        assertThat(authenticationService.authenticateUser(new LoginRequest("SuperAdmin", "12345678"), "127.0.0.1")
+                .getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        assertThat(lookupThreads).containsExactly(Thread.currentThread().getName());
+        assertThat(meterRegistry.get("auth.password.hashing.duration").timer().count()).isGreaterThan(hashed);
+        assertThat((PasswordEncoder) ReflectionTestUtils.invokeMethod(authenticationProvider, "getPasswordEncoder"))
+                .isInstanceOf(OffloadingPasswordEncoder.class);
+    }
+}
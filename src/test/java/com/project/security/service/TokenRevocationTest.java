@@ -0,0 +1,125 @@
+package com.project.security.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.SqlStatementRecorder;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.RoleType;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.security.jwt.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.List;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Stateless modda principal token'dan olusur, epoch bellekten okunur; sifre degisince eski token'lar reddedilir
+//  ve epoch t_user'da kalici oldugu icin yeniden baslatmadan sonra da reddedilmeye devam eder
+@SpringBootTest(properties = "backendapi.app.statelessPrincipal=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TokenRevocationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.save(user("revokeAdmin", 272, 1,
+                userRoleRepository.findByEnumRoleEquals(RoleType.ADMIN).orElseThrow())
+                .password(passwordEncoder.encode(PASSWORD))
+                .built_in(false)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(admin.getId());
+    }
+
+    @Test
+    void principalAndEpochCheckNeedNoQueries() throws Exception {
+        String token = login(mockMvc, objectMapper, admin.getUsername());
+
+        //!!! AuthTokenFilter'in stateless adimlari; epoch login'de token olusturulurken bellege alindi
+        SqlStatementRecorder.start();
+        List<String> statements;
+        UserDetailsImpl principal;
+        try {
+            Claims claims = jwtUtils.getVerifiedClaims(token);
+            assertThat(jwtUtils.isRevoked(claims)).isFalse();
+            principal = jwtUtils.getPrincipalFromClaims(claims);
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        assertThat(statements).isEmpty();
+        assertThat(principal.getId()).isEqualTo(admin.getId());
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly(RoleType.ADMIN.name());
+        getCurrentUser(token, status().isOk());
+    }
+
+    @Test
+    void passwordChangeRevokesEarlierTokens() throws Exception {
+        String token = login(mockMvc, objectMapper, admin.getUsername());
+        getCurrentUser(token, status().isOk());
+
+        mockMvc.perform(patch("/auth/updatePassword")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(objectMapper.createObjectNode()
+                                .put("oldPassword", PASSWORD)
+                                .put("newPassword", "87654321"))))
+                .andExpect(status().isOk());
+
+        getCurrentUser(token, status().isUnauthorized());
+        getCurrentUser(login(mockMvc, objectMapper, admin.getUsername(), "87654321"), status().isOk());
+
+        //!!! epoch veritabaninda: bos bellekle baslayan yeni bir registry (yeniden baslatma) DB'den yukleyip reddeder
+        assertThat(userRepository.findTokenEpoch(admin.getId())).contains(1);
+        TokenRevocationRegistry restarted = new TokenRevocationRegistry(userRepository);
+        assertThat(restarted.isRevoked(admin.getId(), 0)).isTrue();
+        assertThat(restarted.isRevoked(admin.getId(), 1)).isFalse();
+    }
+
+    private void getCurrentUser(String token, ResultMatcher expectedStatus) throws Exception {
+        mockMvc.perform(get("/auth/user").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(expectedStatus);
+    }
+}
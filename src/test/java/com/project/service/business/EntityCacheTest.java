@@ -0,0 +1,134 @@
+package com.project.service.business;
+
+import com.project.SqlStatementRecorder;
+import com.project.config.CaffeineRegionFactory;
+import com.project.entity.concretes.business.EducationTerm;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.entity.enums.Term;
+import com.project.payload.request.business.LessonRequest;
+import com.project.payload.response.ResponseMessage;
+import com.project.payload.response.business.LessonResponse;
+import com.project.repository.business.EducationTermRepository;
+import com.project.repository.business.LessonRepository;
+import com.project.service.UserRoleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//!!! Rol, ders ve egitim donemi ikinci seviye cache'ten okunmali: ilk yuklemeden sonra ayni kayit icin SQL calismaz
+@SpringBootTest
+@ActiveProfiles("test")
+class EntityCacheTest {
+
+    @Autowired
+    private UserRoleService userRoleService;
+
+    @Autowired
+    private LessonService lessonService;
+
+    @Autowired
+    private EducationTermService educationTermService;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private EducationTermRepository educationTermRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Lesson lesson;
+
+    private EducationTerm educationTerm;
+
+    @AfterEach
+    void tearDown() {
+        if (lesson != null) {
+            lessonRepository.deleteById(lesson.getLessonId());
+        }
+        if (educationTerm != null) {
+            educationTermRepository.deleteById(educationTerm.getId());
+        }
+    }
+
+    @Test
+    void roleByTypeIsServedFromNaturalIdCache() {
+        userRoleService.getUserRole(RoleType.TEACHER);
+
+        List<String> statements = record(() -> userRoleService.getUserRole(RoleType.TEACHER));
+
+        assertThat(statements).isEmpty();
+        assertThat(hitRatio(UserRole.class.getSimpleName() + "##NaturalId")).isPositive();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserRole.class.getSimpleName())
+                .tag("result", "hit").functionCounter().count()).isPositive();
+    }
+
+    @Test
+    void lessonByIdAndByNameIsServedFromCacheAndFollowsRename() {
+        lesson = lessonRepository.save(Lesson.builder()
+                .lessonName("CacheLesson")
+                .creditScore(3)
+                .isCompulsory(false)
+                .build());
+
+        lessonService.isLessonExistById(lesson.getLessonId());
+        assertThat(record(() -> lessonService.isLessonExistById(lesson.getLessonId()))).isEmpty();
+        lessonService.getLessonByLessonName("CacheLesson");
+        assertThat(record(() -> lessonService.getLessonByLessonName("CacheLesson"))).isEmpty();
+
+        //!!! ad degisince eski ad cache'ten bulunmamali, yeni ad bulunmali
+        lessonService.updateLessonById(lesson.getLessonId(), LessonRequest.builder()
+                .lessonName("CacheLesson2")
+                .creditScore(3)
+                .isCompulsory(false)
+                .build());
+
+        ResponseMessage<LessonResponse> renamed = lessonService.getLessonByLessonName("CacheLesson2");
+        assertThat(renamed.getObject().getLessonName()).isEqualTo("CacheLesson2");
+        assertThat(lessonService.getLessonByLessonName("CacheLesson").getStatus()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(lessonService.isLessonExistById(lesson.getLessonId()).getLessonName()).isEqualTo("CacheLesson2");
+    }
+
+    @Test
+    void educationTermByIdIsServedFromCache() {
+        educationTerm = educationTermRepository.save(EducationTerm.builder()
+                .term(Term.FALL_SEMESTER)
+                .startDate(LocalDate.of(2030, 9, 1))
+                .endDate(LocalDate.of(2031, 1, 31))
+                .lastRegistrationDate(LocalDate.of(2030, 8, 15))
+                .build());
+
+        educationTermService.findEducationTermById(educationTerm.getId());
+
+        assertThat(record(() -> educationTermService.findEducationTermById(educationTerm.getId()))).isEmpty();
+        assertThat(hitRatio(EducationTerm.class.getSimpleName())).isPositive();
+    }
+
+    private double hitRatio(String cache) {
+        return meterRegistry.get(CaffeineRegionFactory.HIT_RATIO_GAUGE).tag("cache", cache).gauge().value();
+    }
+
+    private List<String> record(Supplier<?> lookup) {
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            lookup.get();
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,232 @@
+package com.project.service.business;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.SqlStatementRecorder;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.business.Meet;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.RoleType;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.business.MeetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Many-to-many guncellemelerinde join tablosuna sadece degisen satirlar yazilmali
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class JoinTableDeltaTest {
+
+    private static final int SSN_SERIES = 321;
+
+    private static final int MEET_STUDENTS = 60;
+
+    private static final LocalDate MEET_DATE = LocalDate.now().plusDays(10);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private MeetRepository meetRepository;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<User> students = new ArrayList<>();
+
+    private final List<LessonProgram> lessonPrograms = new ArrayList<>();
+
+    private User teacher;
+
+    @BeforeEach
+    void setUp() {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        for (Day day : List.of(Day.MONDAY, Day.WEDNESDAY, Day.FRIDAY)) {
+            lessonPrograms.add(lessonProgramRepository.save(LessonProgram.builder()
+                    .day(day)
+                    .startTime(LocalTime.of(9, 0))
+                    .stopTime(LocalTime.of(10, 0))
+                    .build()));
+        }
+        teacher = userRepository.save(user("deltaTeacher", SSN_SERIES, 100, teacherRole)
+                .password(passwordEncoder.encode(PASSWORD))
+                .isAdvisor(true)
+                .lessonProgramList(new HashSet<>(lessonPrograms.subList(0, 2)))
+                .build());
+        for (int i = 1; i <= MEET_STUDENTS + 1; i++) {
+            students.add(userRepository.save(user("deltaStudent" + i, SSN_SERIES, i, studentRole)
+                    .isActive(true)
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        meetRepository.deleteAll(meetRepository.getByAdvisoryTeacher_IdEquals(teacher.getId()));
+        userRepository.deleteAll(students);
+        students.clear();
+        userRepository.deleteById(teacher.getId());
+        lessonPrograms.forEach(lessonProgram -> lessonProgramRepository.deleteById(lessonProgram.getId()));
+        lessonPrograms.clear();
+    }
+
+    @Test
+    void addingOneStudentToMeetInsertsOneRow() throws Exception {
+        Long meetId = saveMeet(students.subList(0, MEET_STUDENTS));
+        String token = login(mockMvc, objectMapper, "deltaTeacher");
+
+        List<String> statements = record(put("/meet/update/" + meetId), token, meetJson(students));
+
+        assertThat(SqlStatementRecorder.count(statements, "insert into meet_student_table")).isEqualTo(1);
+        assertThat(SqlStatementRecorder.count(statements, "delete from meet_student_table")).isZero();
+        //!!! meet satirinda sadece version artar, baska yazma yok
+        assertThat(SqlStatementRecorder.count(statements, "update meet set version=?")).isEqualTo(1);
+        assertThat(writes(statements)).isEqualTo(2);
+        assertThat(meetStudentCount(meetId)).isEqualTo(MEET_STUDENTS + 1);
+
+        statements = record(put("/meet/update/" + meetId), token, meetJson(students.subList(1, MEET_STUDENTS + 1)));
+
+        assertThat(SqlStatementRecorder.count(statements, "delete from meet_student_table")).isEqualTo(1);
+        assertThat(SqlStatementRecorder.count(statements, "insert into meet_student_table")).isZero();
+        assertThat(meetStudentCount(meetId)).isEqualTo(MEET_STUDENTS);
+    }
+
+    @Test
+    void teacherLessonProgramsAreWrittenAsDelta() throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+
+        ObjectNode choose = objectMapper.createObjectNode().put("teacherId", teacher.getId());
+        choose.withArray("lessonProgramId").add(lessonPrograms.get(2).getId());
+        List<String> statements = record(post("/teacher/addLessonProgram"), token, choose);
+
+        assertThat(SqlStatementRecorder.count(statements, "insert into user_lessonprogram")).isEqualTo(1);
+        assertThat(SqlStatementRecorder.count(statements, "delete from user_lessonprogram")).isZero();
+
+        ObjectNode update = teacherJson();
+        update.withArray("lessonIdList").add(lessonPrograms.get(1).getId()).add(lessonPrograms.get(2).getId());
+        statements = record(put("/teacher/update/" + teacher.getId()), token, update);
+
+        assertThat(SqlStatementRecorder.count(statements, "delete from user_lessonprogram")).isEqualTo(1);
+        assertThat(SqlStatementRecorder.count(statements, "insert into user_lessonprogram")).isZero();
+        //!!! kullanici merge edilirken meet baglantilarina dokunulmaz
+        assertThat(SqlStatementRecorder.count(statements, "delete from meet_student_table")).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_lessonprogram WHERE user_id = ?",
+                Long.class, teacher.getId())).isEqualTo(2);
+    }
+
+    private List<String> record(MockHttpServletRequestBuilder request, String token, ObjectNode body) throws Exception {
+        SqlStatementRecorder.start();
+        ResultActions result;
+        List<String> statements;
+        try {
+            result = mockMvc.perform(request
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)));
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        result.andExpect(status().isOk());
+        return statements;
+    }
+
+    private long writes(List<String> statements) {
+        return SqlStatementRecorder.count(statements, "insert")
+                + SqlStatementRecorder.count(statements, "update")
+                + SqlStatementRecorder.count(statements, "delete");
+    }
+
+    private Long saveMeet(List<User> meetStudents) {
+        return transactionTemplate.execute(status -> meetRepository.save(Meet.builder()
+                .description("Delta meet")
+                .date(MEET_DATE)
+                .startTime(LocalTime.of(13, 0))
+                .stopTime(LocalTime.of(14, 0))
+                .advisoryTeacher(userRepository.getReferenceById(teacher.getId()))
+                .studentList(new HashSet<>(userRepository.findAllById(
+                        meetStudents.stream().map(User::getId).toList())))
+                .build()).getId());
+    }
+
+    private long meetStudentCount(Long meetId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meet_student_table WHERE meet_id = ?",
+                Long.class, meetId);
+        return count == null ? 0 : count;
+    }
+
+    private ObjectNode meetJson(List<User> meetStudents) {
+        ObjectNode meet = objectMapper.createObjectNode()
+                .put("description", "Delta meet")
+                .put("date", MEET_DATE.toString())
+                .put("startTime", "13:00")
+                .put("stopTime", "14:00");
+        meetStudents.forEach(student -> meet.withArray("studentIds").add(student.getId()));
+        return meet;
+    }
+
+    private ObjectNode teacherJson() {
+        return objectMapper.createObjectNode()
+                .put("username", "deltaTeacher")
+                .put("name", "deltaTeacher")
+                .put("surname", "Surname")
+                .put("birthDay", "2000-01-01")
+                .put("birthPlace", "ISTANBUL")
+                .put("ssn", teacher.getSsn())
+                .put("phoneNumber", teacher.getPhoneNumber())
+                .put("gender", "MALE")
+                .put("email", teacher.getEmail())
+                .put("password", "12345678")
+                .put("isAdvisorTeacher", true);
+    }
+}
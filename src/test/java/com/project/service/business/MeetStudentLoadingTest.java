@@ -0,0 +1,206 @@
+package com.project.service.business;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.SqlStatementRecorder;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.repository.business.MeetRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Meet kaydinda ogrenciler tek IN sorgusu ile yuklenmeli, sorgu sayisi ogrenci sayisindan bagimsiz olmali
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MeetStudentLoadingTest {
+
+    private static final int SSN_SERIES = 333;
+
+    private static final int STUDENT_COUNT = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private MeetRepository meetRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> students = new ArrayList<>();
+
+    private User teacher;
+
+    @BeforeEach
+    void setUp() {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        teacher = userRepository.save(user("meetTeacher", SSN_SERIES, 0, teacherRole)
+                .isAdvisor(true)
+                .password(passwordEncoder.encode(PASSWORD))
+                .build());
+        for (int i = 1; i <= STUDENT_COUNT; i++) {
+            students.add(userRepository.save(user("meetStudent" + i, SSN_SERIES, i, studentRole)
+                    .advisorTeacherId(teacher.getId())
+                    .isActive(true)
+                    .password("not-used")
+                    .build()));
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        meetRepository.deleteAll(meetRepository.getByAdvisoryTeacher_IdEquals(teacher.getId()));
+        userRepository.deleteAll(students);
+        students.clear();
+        userRepository.delete(teacher);
+    }
+
+    @Test
+    void meetStudentsAreLoadedWithOneQuery() throws Exception {
+        String token = login(mockMvc, objectMapper, "meetTeacher");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        ObjectNode meet = objectMapper.createObjectNode()
+                .put("description", "Term review")
+                .put("date", LocalDate.now().plusDays(3).toString())
+                .put("startTime", "10:00")
+                .put("stopTime", "11:00");
+        students.forEach(student -> meet.withArray("studentIds").add(student.getId()));
+        mockMvc.perform(post("/meet/save")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(meet)))
+                .andExpect(status().isOk());
+
+        //!!! id ile tek tek find yok; sorgular: filtredeki ogretmen, ogretmenin meet'leri, ogrenciler (IN),
+        //  ogrencilerin o gunku meet'leri
+        assertThat(statistics.getEntityFetchCount()).isLessThanOrEqualTo(1);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(4);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM meet_student_table m JOIN meet ON meet.id = m.meet_id " +
+                "WHERE meet.advisory_teacher_id = ?", Long.class, teacher.getId())).isEqualTo(STUDENT_COUNT);
+    }
+
+    @Test
+    void meetResponseListsStudentsInIdOrder() throws Exception {
+        String token = login(mockMvc, objectMapper, "meetTeacher");
+        ObjectNode meet = objectMapper.createObjectNode()
+                .put("description", "Term review")
+                .put("date", LocalDate.now().plusDays(3).toString())
+                .put("startTime", "10:00")
+                .put("stopTime", "11:00");
+        for (int i = students.size() - 1; i >= 0; i--) {
+            meet.withArray("studentIds").add(students.get(i).getId());
+        }
+
+        String response = mockMvc.perform(post("/meet/save")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(meet)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> studentIds = new ArrayList<>();
+        objectMapper.readTree(response).get("object").get("students")
+                .forEach(student -> studentIds.add(student.get("id").asLong()));
+        assertThat(studentIds).isSortedAccordingTo(Comparator.naturalOrder()).hasSize(STUDENT_COUNT);
+    }
+
+    @Test
+    void unknownStudentIsRejected() throws Exception {
+        String token = login(mockMvc, objectMapper, "meetTeacher");
+        ObjectNode meet = objectMapper.createObjectNode()
+                .put("description", "Term review")
+                .put("date", LocalDate.now().plusDays(3).toString())
+                .put("startTime", "10:00")
+                .put("stopTime", "11:00");
+        meet.withArray("studentIds").add(students.get(0).getId()).add(Long.MAX_VALUE);
+
+        mockMvc.perform(post("/meet/save")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(meet)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void teacherConflictIsCheckedAgainstMeetsOfThatDay() throws Exception {
+        String token = login(mockMvc, objectMapper, "meetTeacher");
+        LocalDate date = LocalDate.now().plusDays(3);
+        saveMeet(token, date, "10:00", "11:00").andExpect(status().isOk());
+
+        //!!! ogretmenin meet'leri sadece istenen gun icin yuklenir
+        SqlStatementRecorder.start();
+        List<String> statements;
+        try {
+            saveMeet(token, date.plusDays(1), "10:00", "11:00").andExpect(status().isOk());
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        assertThat(statements)
+                .filteredOn(sql -> sql.contains("advisory_teacher_id=?"))
+                .singleElement().asString()
+                .doesNotContain("join")
+                .contains("date=?");
+        saveMeet(token, date, "10:30", "11:30").andExpect(status().isConflict());
+    }
+
+    private ResultActions saveMeet(String token, LocalDate date, String startTime, String stopTime) throws Exception {
+        ObjectNode meet = objectMapper.createObjectNode()
+                .put("description", "Term review")
+                .put("date", date.toString())
+                .put("startTime", startTime)
+                .put("stopTime", stopTime);
+        meet.withArray("studentIds").add(students.get(0).getId());
+        return mockMvc.perform(post("/meet/save")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(meet)));
+    }
+}
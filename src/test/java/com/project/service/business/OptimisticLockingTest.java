@@ -0,0 +1,166 @@
+package com.project.service.business;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.Gender;
+import com.project.entity.enums.RoleType;
+import com.project.exception.ConflictException;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.service.validator.UniquePropertyValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.project.TestSupport.login;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Ayni kaydi es zamanli guncelleyenlerden sonra gelen ConflictException almali, If-Match eski ETag ile reddedilmeli
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OptimisticLockingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    @Autowired
+    private UniquePropertyValidator uniquePropertyValidator;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User teacher;
+
+    private LessonProgram lessonProgram;
+
+    @BeforeEach
+    void setUp() {
+        lessonProgram = lessonProgramRepository.save(LessonProgram.builder()
+                .day(Day.TUESDAY)
+                .startTime(LocalTime.of(14, 0))
+                .stopTime(LocalTime.of(15, 0))
+                .build());
+        teacher = userRepository.save(User.builder()
+                .username("versionTeacher")
+                .name("versionTeacher")
+                .surname("Surname")
+                .birthDay(LocalDate.of(1990, 1, 1))
+                .birthPlace("ISTANBUL")
+                .ssn("242-24-0001")
+                .phoneNumber("242-242-0001")
+                .gender(Gender.MALE)
+                .email("versionTeacher@version.com")
+                .password(passwordEncoder.encode("12345678"))
+                .isAdvisor(false)
+                .isActive(true)
+                .lessonProgramList(new HashSet<>(Set.of(lessonProgram)))
+                .userRole(userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(teacher.getId());
+        lessonProgramRepository.deleteById(lessonProgram.getId());
+    }
+
+    @Test
+    void updateWithStaleIfMatchIsRejected() throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+        String eTag = mockMvc.perform(get("/user/getUserById/" + teacher.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        updateTeacher(token, "FirstEdit", eTag)
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        //!!! ikinci yonetici hala eski ETag'i tutuyor, ilk guncellemenin uzerine yazamaz
+        updateTeacher(token, "SecondEdit", eTag).andExpect(status().isConflict());
+        assertThat(name()).isEqualTo("FirstEdit");
+
+        updateTeacher(token, "SecondEdit", "\"1\"").andExpect(status().isOk());
+        assertThat(name()).isEqualTo("SecondEdit");
+    }
+
+    @Test
+    void concurrentWriteIsSurfacedAsConflict() {
+        User staleTeacher = userRepository.findById(teacher.getId()).orElseThrow();
+        //!!! baska bir istek kaydi okuma ile yazma arasinda guncelledi
+        jdbcTemplate.update("UPDATE t_user SET name = ?, version = version + 1 WHERE id = ?",
+                "OtherWriter", teacher.getId());
+
+        staleTeacher.setName("StaleWriter");
+
+        assertThatThrownBy(() -> uniquePropertyValidator.saveWithUniqueCheck(staleTeacher))
+                .isInstanceOf(ConflictException.class);
+        assertThat(name()).isEqualTo("OtherWriter");
+    }
+
+    private String name() {
+        return jdbcTemplate.queryForObject("SELECT name FROM t_user WHERE id = ?", String.class, teacher.getId());
+    }
+
+    private ResultActions updateTeacher(String token, String name, String ifMatch) throws Exception {
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("username", "versionTeacher")
+                .put("name", name)
+                .put("surname", "Surname")
+                .put("birthDay", "1990-01-01")
+                .put("birthPlace", "ISTANBUL")
+                .put("ssn", "242-24-0001")
+                .put("phoneNumber", "242-242-0001")
+                .put("gender", "MALE")
+                .put("email", "versionTeacher@version.com")
+                .put("password", "12345678")
+                .put("isAdvisorTeacher", false);
+        request.withArray("lessonIdList").add(lessonProgram.getId());
+        return mockMvc.perform(put("/teacher/update/" + teacher.getId())
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+}
@@ -0,0 +1,181 @@
+package com.project.service.business;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.project.SqlStatementRecorder;
+import com.project.entity.concretes.business.Lesson;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.Gender;
+import com.project.entity.enums.RoleType;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.business.LessonRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.project.TestSupport.login;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Guncellemeler managed entity uzerinden yapilmali: UPDATE'e sadece degisen kolonlar girer, request'te olmayan veri kaybolmaz
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PartialUpdateTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User teacher;
+
+    private LessonProgram lessonProgram;
+
+    private Lesson lesson;
+
+    @AfterEach
+    void tearDown() {
+        if (teacher != null) {
+            userRepository.deleteById(teacher.getId());
+        }
+        if (lessonProgram != null) {
+            lessonProgramRepository.deleteById(lessonProgram.getId());
+        }
+        if (lesson != null) {
+            lessonRepository.deleteById(lesson.getLessonId());
+        }
+    }
+
+    @Test
+    void teacherUpdateWritesChangedColumnsAndKeepsOtherFields() throws Exception {
+        lessonProgram = lessonProgramRepository.save(LessonProgram.builder()
+                .day(Day.THURSDAY)
+                .startTime(LocalTime.of(9, 0))
+                .stopTime(LocalTime.of(10, 0))
+                .build());
+        teacher = userRepository.save(User.builder()
+                .username("patchTeacher")
+                .name("patchTeacher")
+                .surname("Surname")
+                .birthDay(LocalDate.of(1990, 1, 1))
+                .birthPlace("ISTANBUL")
+                .ssn("232-23-0001")
+                .phoneNumber("232-232-0001")
+                .gender(Gender.FEMALE)
+                .email("patchTeacher@patch.com")
+                .password(passwordEncoder.encode("12345678"))
+                .isAdvisor(false)
+                .isActive(true)
+                .lessonProgramList(new HashSet<>(Set.of(lessonProgram)))
+                .userRole(userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow())
+                .build());
+
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("username", "patchTeacher")
+                .put("name", "Renamed")
+                .put("surname", "Surname")
+                .put("birthDay", "1990-01-01")
+                .put("birthPlace", "ISTANBUL")
+                .put("ssn", "232-23-0001")
+                .put("phoneNumber", "232-232-0001")
+                .put("gender", "FEMALE")
+                .put("email", "patchTeacher@patch.com")
+                .put("password", "12345678")
+                .put("isAdvisorTeacher", false);
+        request.withArray("lessonIdList").add(lessonProgram.getId());
+
+        List<String> updates = updates(put("/teacher/update/" + teacher.getId()), request);
+
+        //!!! sifre degistigi icin eski tokenlar iptal: epoch kendi UPDATE'i ile arttirilir
+        assertThat(updates).containsExactly(
+                "update t_user set name=?, password=?, version=? where id=? and version=?",
+                "update t_user set token_epoch=token_epoch+1 where id=?");
+        //!!! eskiden yeni builder ile kaydedildigi icin is_active null'a donuyordu
+        assertThat(jdbcTemplate.queryForObject("SELECT is_active FROM t_user WHERE id = ?",
+                Boolean.class, teacher.getId())).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_lessonprogram WHERE user_id = ?",
+                Long.class, teacher.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void lessonUpdateWritesOnlyChangedColumn() throws Exception {
+        lesson = lessonRepository.save(Lesson.builder()
+                .lessonName("PatchLesson")
+                .creditScore(3)
+                .isCompulsory(true)
+                .build());
+
+        ObjectNode request = objectMapper.createObjectNode()
+                .put("lessonName", "PatchLesson")
+                .put("creditScore", 5)
+                .put("isCompulsory", true);
+
+        List<String> updates = updates(put("/lessons/update/" + lesson.getLessonId()), request);
+
+        assertThat(updates).containsExactly("update lesson set credit_score=? where lesson_id=?");
+        assertThat(lessonRepository.findById(lesson.getLessonId()).orElseThrow().getCreditScore()).isEqualTo(5);
+    }
+
+    private List<String> updates(MockHttpServletRequestBuilder request, ObjectNode body) throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+        SqlStatementRecorder.start();
+        ResultActions result;
+        List<String> statements;
+        try {
+            result = mockMvc.perform(request
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(body)));
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+        result.andExpect(status().isOk());
+        return statements.stream()
+                .map(statement -> statement.replaceAll("\\s+", " ").trim().toLowerCase(Locale.ROOT))
+                .filter(statement -> statement.startsWith("update"))
+                .collect(Collectors.toList());
+    }
+}
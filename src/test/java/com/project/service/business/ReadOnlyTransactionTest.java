@@ -0,0 +1,186 @@
+package com.project.service.business;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.config.MeteredJpaTransactionManager;
+import com.project.entity.concretes.business.Meet;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.repository.business.MeetRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Okuma endpoint'leri tek read-only transaction'da calismali; okuma sorgularinin entity'leri icin snapshot alinmamali
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadOnlyTransactionTest {
+
+    private static final int SSN_SERIES = 212;
+
+    private static final int MEET_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private MeetRepository meetRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<User> users = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        users.add(userRepository.save(user("readOnlyTeacher", SSN_SERIES, 0, teacherRole).isAdvisor(true).build()));
+        users.add(userRepository.save(user("readOnlyStudent", SSN_SERIES, 1, studentRole)
+                .password(passwordEncoder.encode(PASSWORD))
+                .isActive(true)
+                .build()));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < MEET_COUNT; i++) {
+                meetRepository.save(Meet.builder()
+                        .description("Meet " + i)
+                        .date(LocalDate.now().plusDays(i + 1))
+                        .startTime(LocalTime.of(10, 0))
+                        .stopTime(LocalTime.of(11, 0))
+                        .advisoryTeacher(userRepository.getReferenceById(users.get(0).getId()))
+                        .studentList(new HashSet<>(userRepository.findAllById(List.of(users.get(1).getId()))))
+                        .build());
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        meetRepository.deleteAll(meetRepository.getByAdvisoryTeacher_IdEquals(users.get(0).getId()));
+        userRepository.deleteAll(userRepository.findAllById(users.stream().map(User::getId).toList()));
+        users.clear();
+    }
+
+    @Test
+    void readEndpointUsesOneReadOnlyTransaction() throws Exception {
+        String token = login(mockMvc, objectMapper, "readOnlyStudent");
+        double acquiredBefore = acquiredConnections();
+        long transactionsBefore = transactions();
+
+        String response = mockMvc.perform(get("/meet/getAllMeetByStudent")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode meets = objectMapper.readTree(response);
+
+        assertThat(meets).hasSize(MEET_COUNT);
+        Timer timer = meterRegistry.find(MeteredJpaTransactionManager.TRANSACTION_TIMER)
+                .tags("name", "MeetService.getAllMeetByStudent", "readOnly", "true")
+                .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        //!!! repository cagrilari ve lazy yuklemeler servis transaction'ina katiliyor, istek tek connection ile bitiyor
+        assertThat(transactions() - transactionsBefore).isEqualTo(1);
+        assertThat(acquiredConnections() - acquiredBefore).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void entityReadThroughRepositoryStaysWritable() throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+        User student = users.get(1);
+
+        //!!! servis ogrenciyi findById ile okuyup ayni istekte degistiriyor
+        mockMvc.perform(get("/students/changeStatus?id=" + student.getId() + "&status=false")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        assertThat(userRepository.findById(student.getId()).orElseThrow().isActive()).isFalse();
+    }
+
+    @Test
+    void readQueriesDoNotSnapshotEntities() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        //!!! istek boyunca acik EntityManager (OpenEntityManagerInViewFilter) taklit ediliyor
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            Session session = entityManager.unwrap(Session.class);
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+
+            //!!! read-only hint'i olmayan okumalar read-only transaction icinde de yazilabilir kalir
+            User user = readOnly.execute(status -> userRepository.findById(users.get(1).getId()).orElseThrow());
+            assertThat(session.isReadOnly(user)).isFalse();
+
+            List<Meet> meets = readOnly.execute(status ->
+                    meetRepository.findByStudentList_IdEquals(users.get(1).getId()));
+            assertThat(meets).hasSize(MEET_COUNT).allMatch(session::isReadOnly);
+            assertThat(session.isDefaultReadOnly()).isFalse();
+            assertThat(session.isReadOnly(user)).isFalse();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private long transactions() {
+        return meterRegistry.find(MeteredJpaTransactionManager.TRANSACTION_TIMER).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private double acquiredConnections() {
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").timer();
+        return acquire == null ? 0 : acquire.count();
+    }
+}
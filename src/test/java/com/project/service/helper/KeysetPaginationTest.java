@@ -0,0 +1,172 @@
+package com.project.service.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.contactMessage.entity.ContactMessage;
+import com.project.contactMessage.repository.ContactMessageRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.project.TestSupport.login;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Keyset sayfalar esit ve null sort degerlerinde de satir atlamadan/tekrarlamadan ilerlemeli, COUNT calismamali
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+
+    private static final int PAGE_SIZE = 4;
+
+    //!!! test profilindeki backendapi.app.paging.maxPageSize
+    private static final int MAX_PAGE_SIZE = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContactMessageRepository contactMessageRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<ContactMessage> messages;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime base = LocalDateTime.of(2023, 9, 13, 10, 0);
+        List<ContactMessage> rows = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            //!!! 5 farkli zaman degeri ve 3 null ile ayni sort degerine sahip bir suru satir olusuyor
+            LocalDateTime dateTime = i < 3 ? null : base.plusMinutes(i % 5);
+            rows.add(ContactMessage.builder()
+                    .name("Name" + i)
+                    .email("keyset" + i + "@mail.com")
+                    .subject("Keyset")
+                    .message("Message " + i)
+                    .dateTime(dateTime)
+                    .build());
+        }
+        messages = contactMessageRepository.saveAll(rows);
+    }
+
+    @AfterEach
+    void tearDown() {
+        contactMessageRepository.deleteAll();
+    }
+
+    @Test
+    void descendingCursorVisitsEveryRowOnce() throws Exception {
+        Comparator<ContactMessage> order = Comparator
+                .comparing(ContactMessage::getDateTime, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparing(ContactMessage::getId)
+                .reversed();
+
+        assertThat(walk("desc")).containsExactlyElementsOf(expectedNames(order));
+    }
+
+    @Test
+    void ascendingCursorVisitsEveryRowOnce() throws Exception {
+        Comparator<ContactMessage> order = Comparator
+                .comparing(ContactMessage::getDateTime, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+                .thenComparing(ContactMessage::getId);
+
+        assertThat(walk("asc")).containsExactlyElementsOf(expectedNames(order));
+    }
+
+    @Test
+    void cursorFromAnotherSortOrderIsRejected() throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+        JsonNode firstPage = getPage(token, "", "asc");
+
+        mockMvc.perform(get("/contactMessages/getAll")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .param("after", firstPage.get("nextCursor").asText())
+                        .param("size", String.valueOf(PAGE_SIZE))
+                        .param("type", "desc"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void pageSizeBelowOneIsRejected() throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+
+        for (String size : List.of("0", "-1")) {
+            mockMvc.perform(get("/contactMessages/getAll")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                            .param("after", "")
+                            .param("size", size))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void pageSizeIsCappedAtConfiguredMaximum() throws Exception {
+        JsonNode page = getPage(login(mockMvc, objectMapper, "SuperAdmin"), "", "desc", 10_000_000);
+
+        assertThat(page.get("content")).hasSize(MAX_PAGE_SIZE);
+        assertThat(page.get("size").asInt()).isEqualTo(MAX_PAGE_SIZE);
+        assertThat(page.get("hasNext").asBoolean()).isTrue();
+    }
+
+    private List<String> walk(String type) throws Exception {
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<String> names = new ArrayList<>();
+        String after = "";
+        JsonNode page;
+        do {
+            page = getPage(token, after, type);
+            page.get("content").forEach(row -> names.add(row.get("name").asText()));
+            after = page.path("nextCursor").asText();
+        } while (page.get("hasNext").asBoolean());
+
+        assertThat(Arrays.stream(statistics.getQueries()).map(String::toLowerCase)).noneMatch(q -> q.contains("count("));
+        return names;
+    }
+
+    private JsonNode getPage(String token, String after, String type) throws Exception {
+        JsonNode page = getPage(token, after, type, PAGE_SIZE);
+        assertThat(page.get("content").size()).isLessThanOrEqualTo(PAGE_SIZE);
+        return page;
+    }
+
+    private JsonNode getPage(String token, String after, String type, int size) throws Exception {
+        String response = mockMvc.perform(get("/contactMessages/getAll")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .param("after", after)
+                        .param("size", String.valueOf(size))
+                        .param("type", type))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+
+    private List<String> expectedNames(Comparator<ContactMessage> order) {
+        return messages.stream().sorted(order).map(ContactMessage::getName).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.service.helper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.contactMessage.entity.ContactMessage;
+import com.project.contactMessage.repository.ContactMessageRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.project.TestSupport.login;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Page cevaplarindaki toplam sayi endpoint'in CountStrategy'sine gore hesaplanmali ve countType ile belirtilmeli
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PageCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContactMessageRepository contactMessageRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        List<ContactMessage> rows = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            rows.add(ContactMessage.builder()
+                    .name("Name" + i)
+                    .email(i < 8 ? "count@mail.com" : "other" + i + "@mail.com")
+                    .subject("Count")
+                    .message("Message " + i)
+                    .dateTime(LocalDateTime.of(2023, 9, 13, 10, i))
+                    .build());
+        }
+        contactMessageRepository.saveAll(rows);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        token = login(mockMvc, objectMapper, "SuperAdmin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        contactMessageRepository.deleteAll();
+    }
+
+    @Test
+    void cachedCountIsReusedForTheSameFilter() throws Exception {
+        JsonNode first = getPage("/contactMessages/searchByEmail", "email", "count@mail.com", 0, 5);
+        assertThat(first.get("countType").asText()).isEqualTo("CACHED");
+        assertThat(first.get("totalElements").asLong()).isEqualTo(8);
+
+        statistics.clear();
+        JsonNode second = getPage("/contactMessages/searchByEmail", "email", "count@mail.com", 0, 5);
+        assertThat(second.get("totalElements").asLong()).isEqualTo(8);
+        assertThat(countQueries()).isZero();
+    }
+
+    @Test
+    void lastPageTotalComesFromTheContent() throws Exception {
+        statistics.clear();
+        JsonNode page = getPage("/contactMessages/searchByEmail", "email", "count@mail.com", 1, 5);
+
+        assertThat(page.get("countType").asText()).isEqualTo("EXACT");
+        assertThat(page.get("totalElements").asLong()).isEqualTo(8);
+        assertThat(countQueries()).isZero();
+    }
+
+    @Test
+    void estimatedCountFallsBackToExactWithoutPlannerStatistics() throws Exception {
+        //!!! H2'de pg_class yok, ESTIMATED endpoint kesin COUNT ile cevap verir
+        JsonNode page = getPage("/contactMessages/getAll", "subject", "Count", 0, 5);
+
+        assertThat(page.get("countType").asText()).isEqualTo("EXACT");
+        assertThat(page.get("totalElements").asLong()).isEqualTo(12);
+    }
+
+    private long countQueries() {
+        return Arrays.stream(statistics.getQueries()).map(String::toLowerCase).filter(q -> q.contains("count(")).count();
+    }
+
+    private JsonNode getPage(String url, String filterName, String filterValue, int page, int size) throws Exception {
+        String response = mockMvc.perform(get(url)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .param(filterName, filterValue)
+                        .param("page", String.valueOf(page))
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
@@ -0,0 +1,169 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.business.LessonProgram;
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.Day;
+import com.project.entity.enums.RoleType;
+import com.project.repository.StudentArchiveRepository;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.repository.business.LessonProgramRepository;
+import com.project.repository.business.StudentInfoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Saklama suresini asan pasif ogrenciler bagimli satirlariyla arsive tasinmali, arsiv endpoint'ten okunabilmeli
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentArchiveTest {
+
+    private static final int SSN_SERIES = 444;
+
+    private static final int EXPIRED_COUNT = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private StudentArchiveService studentArchiveService;
+
+    @Autowired
+    private StudentArchiveRepository studentArchiveRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+
+    @Autowired
+    private LessonProgramRepository lessonProgramRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> createdUsers = new ArrayList<>();
+
+    private final List<Long> archivedIds = new ArrayList<>();
+
+    private LessonProgram lessonProgram;
+
+    @AfterEach
+    void tearDown() {
+        studentArchiveRepository.deleteAllById(archivedIds);
+        archivedIds.clear();
+        userRepository.deleteAll(userRepository.findAllById(createdUsers.stream().map(User::getId).toList()));
+        createdUsers.clear();
+        if (lessonProgram != null) {
+            lessonProgramRepository.deleteById(lessonProgram.getId());
+        }
+    }
+
+    @Test
+    void expiredInactiveStudentsAreMovedToArchive() throws Exception {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        lessonProgram = lessonProgramRepository.save(LessonProgram.builder()
+                .day(Day.TUESDAY)
+                .startTime(LocalTime.of(9, 0))
+                .stopTime(LocalTime.of(10, 0))
+                .build());
+        User teacher = save(user("archiveTeacher", SSN_SERIES, 0, teacherRole).isAdvisor(true));
+
+        LocalDateTime longAgo = LocalDateTime.now().minusYears(3);
+        List<User> expired = new ArrayList<>();
+        for (int i = 1; i <= EXPIRED_COUNT; i++) {
+            expired.add(save(user("archiveExpired" + i, SSN_SERIES, i, studentRole)
+                    .studentNumber(4000 + i)
+                    .advisorTeacherId(teacher.getId())
+                    .inactiveSince(longAgo)
+                    .lessonProgramList(Set.of(lessonProgram))));
+        }
+        //!!! yakin zamanda pasife alinan ve aktif ogrenci arsive tasinmaz
+        User recent = save(user("archiveRecent", SSN_SERIES, 10, studentRole)
+                .studentNumber(4010)
+                .inactiveSince(LocalDateTime.now().minusDays(5)));
+        User active = save(user("archiveActive", SSN_SERIES, 11, studentRole).studentNumber(4011).isActive(true));
+        studentInfoRepository.save(StudentInfo.builder().teacher(teacher).student(expired.get(0)).absentee(2).build());
+
+        assertThat(studentArchiveService.archiveInactiveStudents()).isEqualTo(EXPIRED_COUNT);
+        expired.forEach(student -> archivedIds.add(student.getId()));
+
+        Long archivedId = expired.get(0).getId();
+        assertThat(count("SELECT COUNT(*) FROM t_user WHERE id = ?", archivedId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM student_info WHERE student_id = ?", archivedId)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM user_lessonprogram WHERE user_id = ?", archivedId)).isZero();
+        assertThat(userRepository.findAllById(List.of(recent.getId(), active.getId(), teacher.getId()))).hasSize(3);
+        assertThat(studentArchiveService.archiveInactiveStudents()).isZero();
+
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+        JsonNode page = objectMapper.readTree(getJson(token, "/students/archive?size=10&sort=username&type=asc"));
+        assertThat(page.get("content")).hasSize(EXPIRED_COUNT);
+        assertThat(page.get("content").get(0).get("username").asText()).isEqualTo("archiveExpired1");
+        assertThat(page.get("content").get(0).has("record")).isFalse();
+
+        JsonNode archived = objectMapper.readTree(getJson(token, "/students/archive/" + archivedId)).get("object");
+        JsonNode record = archived.get("record");
+        assertThat(record.get("user").get("username").asText()).isEqualTo("archiveExpired1");
+        assertThat(record.get("user").has("password")).isFalse();
+        assertThat(record.get("studentInfos")).hasSize(1);
+        assertThat(record.get("studentInfos").get(0).get("absentee").asInt()).isEqualTo(2);
+        assertThat(record.get("lessonProgramIds").get(0).asLong()).isEqualTo(lessonProgram.getId());
+
+        mockMvc.perform(get("/students/archive/" + recent.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotFound());
+    }
+
+    private long count(String sql, Long id) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, id);
+        return count == null ? 0 : count;
+    }
+
+    private User save(User.UserBuilder builder) {
+        User user = userRepository.save(builder.password(passwordEncoder.encode(PASSWORD)).build());
+        createdUsers.add(user);
+        return user;
+    }
+
+    private String getJson(String token, String url) throws Exception {
+        return mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,168 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.payload.request.user.StudentBulkRequest;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Toplu ogrenci islemleri ogrencileri yuklemeden tek UPDATE ile calismali ve etkilenen satir sayisini donmeli
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StudentBulkOperationTest {
+
+    private static final int SSN_SERIES = 777;
+
+    private static final int STUDENT_COUNT = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<User> createdUsers = new ArrayList<>();
+
+    private User firstAdvisor;
+
+    private User secondAdvisor;
+
+    private Set<Long> studentIds;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        firstAdvisor = userRepository.save(user("bulkAdvisor1", SSN_SERIES, 1, teacherRole).isAdvisor(true).build());
+        secondAdvisor = userRepository.save(user("bulkAdvisor2", SSN_SERIES, 2, teacherRole).isAdvisor(true).build());
+        createdUsers.add(firstAdvisor);
+        createdUsers.add(secondAdvisor);
+        studentIds = new HashSet<>();
+        for (int i = 1; i <= STUDENT_COUNT; i++) {
+            User student = userRepository.save(user("bulkStudent" + i, SSN_SERIES, 10 + i, studentRole)
+                    .advisorTeacherId(firstAdvisor.getId())
+                    .isActive(true)
+                    .build());
+            createdUsers.add(student);
+            studentIds.add(student.getId());
+        }
+        token = login(mockMvc, objectMapper, "SuperAdmin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(userRepository.findAllById(createdUsers.stream().map(User::getId).toList()));
+        createdUsers.clear();
+    }
+
+    @Test
+    void statusIsChangedWithoutLoadingStudents() throws Exception {
+        Set<Long> ids = new HashSet<>(studentIds);
+        //!!! ogretmen id'si de verilse sadece ogrenciler degisir
+        ids.add(firstAdvisor.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JsonNode response = bulk(StudentBulkRequest.builder()
+                .operation(StudentBulkRequest.Operation.SET_STATUS)
+                .studentIds(ids)
+                .status(false)
+                .build(), status().isOk());
+
+        assertThat(response.get("object").get("affectedCount").asInt()).isEqualTo(STUDENT_COUNT);
+        //!!! sadece filtrede kimligi dogrulanan admin ve rolu
+        assertThat(statistics.getEntityLoadCount()).isLessThanOrEqualTo(2);
+        assertThat(userRepository.findAllById(studentIds)).noneMatch(User::isActive);
+
+        //!!! durumu zaten ayni olan ogrenciler yeniden yazilmaz
+        JsonNode repeated = bulk(StudentBulkRequest.builder()
+                .operation(StudentBulkRequest.Operation.SET_STATUS)
+                .studentIds(ids)
+                .status(false)
+                .build(), status().isOk());
+        assertThat(repeated.get("object").get("affectedCount").asInt()).isZero();
+    }
+
+    @Test
+    void advisorIsReassignedAndUnassignedByFilter() throws Exception {
+        JsonNode reassigned = bulk(StudentBulkRequest.builder()
+                .operation(StudentBulkRequest.Operation.REASSIGN_ADVISOR)
+                .currentAdvisorTeacherId(firstAdvisor.getId())
+                .advisorTeacherId(secondAdvisor.getId())
+                .build(), status().isOk());
+
+        assertThat(reassigned.get("object").get("affectedCount").asInt()).isEqualTo(STUDENT_COUNT);
+        assertThat(userRepository.findAllById(studentIds))
+                .allMatch(student -> secondAdvisor.getId().equals(student.getAdvisorTeacherId()));
+
+        //!!! rehberlik kaldirilan ogretmenin ogrencileri gercekten kaydedilmeli
+        mockMvc.perform(delete("/teacher/deleteAdvisorTeacherById/" + secondAdvisor.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        assertThat(userRepository.findAllById(studentIds)).allMatch(student -> student.getAdvisorTeacherId() == null);
+    }
+
+    @Test
+    void invalidSelectionIsRejected() throws Exception {
+        bulk(StudentBulkRequest.builder()
+                .operation(StudentBulkRequest.Operation.UNASSIGN_ADVISOR)
+                .studentIds(studentIds)
+                .currentAdvisorTeacherId(firstAdvisor.getId())
+                .build(), status().isBadRequest());
+        bulk(StudentBulkRequest.builder()
+                .operation(StudentBulkRequest.Operation.REASSIGN_ADVISOR)
+                .studentIds(studentIds)
+                .build(), status().isBadRequest());
+    }
+
+    private JsonNode bulk(StudentBulkRequest request, ResultMatcher expectedStatus) throws Exception {
+        String response = mockMvc.perform(patch("/students/bulk")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(expectedStatus)
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
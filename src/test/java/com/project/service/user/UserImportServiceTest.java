@@ -0,0 +1,207 @@
+package com.project.service.user;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.payload.messages.ErrorMessages;
+import com.project.payload.response.ResponseMessage;
+import com.project.payload.response.user.UserImportResponse;
+import com.project.payload.response.user.UserImportRowError;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.service.validator.UniquePropertyValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+//!!! Toplu import: referans hatalari ve satir hatalari satir numarasiyla raporlanmali,
+//  insert'u patlayan parca geri alinip satir satir yeniden denenmeli
+@SpringBootTest
+@ActiveProfiles("test")
+class UserImportServiceTest {
+
+    private static final int SSN_SERIES = 262;
+
+    private static final String STUDENT_HEADER = "username,name,surname,birthDay,ssn,birthPlace,phoneNumber," +
+            "gender,email,password,motherName,fatherName,advisorTeacherId";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @SpyBean
+    private UniquePropertyValidator uniquePropertyValidator;
+
+    @Value("${backendapi.app.userImport.batchSize}")
+    private int batchSize;
+
+    private final List<User> createdUsers = new ArrayList<>();
+
+    private final List<String> importedUsernames = new ArrayList<>();
+
+    private User advisorTeacher;
+
+    private User teacher;
+
+    private User student;
+
+    @BeforeEach
+    void setUp() {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        advisorTeacher = save(user("impAdvisor", SSN_SERIES, 1, teacherRole).isAdvisor(true).build());
+        teacher = save(user("impTeacher", SSN_SERIES, 2, teacherRole).isAdvisor(false).build());
+        student = save(user("impStudent", SSN_SERIES, 3, studentRole).advisorTeacherId(advisorTeacher.getId()).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        importedUsernames.stream()
+                .map(userRepository::findByUsername)
+                .filter(Objects::nonNull)
+                .forEach(createdUsers::add);
+        userRepository.deleteAll(userRepository.findAllById(createdUsers.stream().map(User::getId).toList()));
+        createdUsers.clear();
+    }
+
+    @Test
+    void onlyAdvisorTeachersAreAcceptedAsAdvisor() {
+        User admin = userRepository.findByUsername("SuperAdmin");
+
+        UserImportResponse response = importStudents(
+                row("impRef1", 11, advisorTeacher.getId()),
+                row("impRef2", 12, teacher.getId()),
+                row("impRef3", 13, student.getId()),
+                row("impRef4", 14, admin.getId()),
+                row("impRef5", 15, 987654L));
+
+        assertThat(response.getTotalRows()).isEqualTo(5);
+        assertThat(response.getImportedRows()).isEqualTo(1);
+        assertThat(response.getErrors())
+                .extracting(UserImportRowError::getRow, UserImportRowError::getMessage)
+                .containsExactly(
+                        tuple(2L, String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, teacher.getId())),
+                        tuple(3L, String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, student.getId())),
+                        tuple(4L, String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, admin.getId())),
+                        tuple(5L, String.format(ErrorMessages.NOT_FOUND_ADVISOR_MESSAGE, 987654L)));
+        assertThat(userRepository.findByUsername("impRef1").getAdvisorTeacherId()).isEqualTo(advisorTeacher.getId());
+    }
+
+    @Test
+    void unknownLessonProgramIsReportedForTeacherRow() {
+        String csv = "username,name,surname,birthDay,ssn,birthPlace,phoneNumber,gender,email,password," +
+                "isAdvisorTeacher,lessonIdList\n" +
+                "impLesson,impLesson,Surname,2000-01-01,262-26-0021,ISTANBUL,262-262-0021,MALE," +
+                "impLesson@import.com,12345678,false,987654;987655\n";
+        importedUsernames.add("impLesson");
+
+        UserImportResponse response = importUsers(RoleType.TEACHER, csv);
+
+        assertThat(response.getImportedRows()).isZero();
+        assertThat(response.getErrors())
+                .extracting(UserImportRowError::getRow, UserImportRowError::getMessage)
+                .containsExactly(tuple(1L, ErrorMessages.NOT_FOUND_LESSON_PROGRAM_MESSAGE_WITHOUT_ID_LIST));
+    }
+
+    @Test
+    void invalidRowsAreReportedAndValidRowsImported() {
+        UserImportResponse response = importStudents(
+                row("impRow1", 31, advisorTeacher.getId()),
+                row("impRow2", 32, advisorTeacher.getId()).replace("262-26-0032", "262-26-0000"),
+                row("impRow3", 33, advisorTeacher.getId()).replace("2000-01-01", "not-a-date"),
+                row("impRow1", 34, advisorTeacher.getId()),
+                row("impRow5", 35, advisorTeacher.getId()).replace("262-26-0035", student.getSsn()));
+
+        assertThat(response.getTotalRows()).isEqualTo(5);
+        assertThat(response.getImportedRows()).isEqualTo(1);
+        assertThat(response.getErrors())
+                .extracting(UserImportRowError::getRow, UserImportRowError::getUsername,
+                        UserImportRowError::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(2L, "impRow2", "Please enter valid SSN number"),
+                        tuple(3L, null, ErrorMessages.USER_IMPORT_INVALID_ROW),
+                        tuple(4L, "impRow1", String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_USERNAME, "impRow1")),
+                        tuple(5L, "impRow5", String.format(ErrorMessages.ALREADY_REGISTER_MESSAGE_SSN,
+                                student.getSsn())));
+        assertThat(userRepository.findByUsername("impRow1")).isNotNull();
+        assertThat(userRepository.findByUsername("impRow5")).isNull();
+    }
+
+    @Test
+    void failedChunkIsRolledBackAndRetriedRowByRow() {
+        assertThat(batchSize).isEqualTo(2);
+        //!!! kontrol ile insert arasinda ayni ssn ile kayit gelmis gibi: kontrol cakismayi gormez, insert patlar
+        doReturn(null).when(uniquePropertyValidator).getConflictMessage(any(), any(), any(), any(), any());
+
+        UserImportResponse response = importStudents(
+                row("impChunk1", 41, advisorTeacher.getId()),
+                row("impChunk2", 42, advisorTeacher.getId()).replace("262-26-0042", student.getSsn()),
+                row("impChunk3", 43, advisorTeacher.getId()),
+                row("impChunk4", 44, advisorTeacher.getId()));
+
+        assertThat(response.getImportedRows()).isEqualTo(3);
+        assertThat(response.getErrors())
+                .extracting(UserImportRowError::getRow, UserImportRowError::getMessage)
+                .containsExactly(tuple(2L, String.format(ErrorMessages.USER_IMPORT_ROW_CONFLICT, "impChunk2")));
+        //!!! parcanin ilk denemesi geri alinmasaydi impChunk1 yeniden denemede cakisirdi
+        assertThat(Stream.of("impChunk1", "impChunk3", "impChunk4").map(userRepository::findByUsername))
+                .allMatch(Objects::nonNull);
+        assertThat(userRepository.findByUsername("impChunk2")).isNull();
+    }
+
+    private UserImportResponse importStudents(String... rows) {
+        return importUsers(RoleType.STUDENT, STUDENT_HEADER + "\n" + String.join("\n", rows) + "\n");
+    }
+
+    @SuppressWarnings("unchecked")
+    private UserImportResponse importUsers(RoleType roleType, String csv) {
+        DeferredResult<ResponseEntity<ResponseMessage<UserImportResponse>>> result = userImportService.importUsers(
+                roleType, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                UserImportService.TEXT_CSV_VALUE);
+        CompletableFuture<Object> done = new CompletableFuture<>();
+        result.setResultHandler(done::complete);
+        ResponseEntity<ResponseMessage<UserImportResponse>> response =
+                (ResponseEntity<ResponseMessage<UserImportResponse>>) done.orTimeout(30, TimeUnit.SECONDS).join();
+        return response.getBody().getObject();
+    }
+
+    private String row(String username, int number, Long advisorTeacherId) {
+        importedUsernames.add(username);
+        return String.join(",", username, username, "Surname", "2000-01-01",
+                String.format("262-26-%04d", number), "ISTANBUL", String.format("262-262-%04d", number), "FEMALE",
+                username + "@import.com", "12345678", "Mother", "Father", String.valueOf(advisorTeacherId));
+    }
+
+    private User save(User user) {
+        User saved = uniquePropertyValidator.saveWithUniqueCheck(user);
+        createdUsers.add(saved);
+        return saved;
+    }
+}
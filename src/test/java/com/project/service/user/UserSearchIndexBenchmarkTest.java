@@ -0,0 +1,71 @@
+package com.project.service.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//!!! 500k kullanicida type-ahead gecikmesi: mvn test -Dtest=UserSearchIndexBenchmarkTest -Dbenchmark=true
+//  Sure makineye bagli oldugu icin normal test kosusunda calismaz; calistirildiginda her sorgunun ortalamasi butceyi gecmemeli
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserSearchIndexBenchmarkTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UserSearchIndexBenchmarkTest.class);
+
+    private static final double BUDGET_MS = 10;
+    private static final int USERS = 500_000;
+    private static final int ROUNDS = 200;
+    private static final String[] NAMES = {"Ahmet", "Mehmet", "Ayse", "Fatma", "Zeynep", "Mustafa", "Emine", "Ali",
+            "Huseyin", "Hatice", "Ibrahim", "Elif", "Murat", "Merve", "Omer", "Esra", "Yusuf", "Busra", "Hasan", "Kubra"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Yildirim",
+            "Ozturk", "Aydin", "Ozdemir", "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt"};
+
+    @Test
+    void searchLatency() {
+        UserSearchIndex index = new UserSearchIndex(null);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxResults", 1000);
+
+        Random random = new Random(42);
+        long start = System.nanoTime();
+        for (int i = 1; i <= USERS; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            String surname = SURNAMES[random.nextInt(SURNAMES.length)];
+            index.put((long) i, name, surname, (name + surname).toLowerCase() + i, 100000 + i);
+        }
+        LOGGER.info("Built index of {} users in {} ms", USERS, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        //!!! ilk tur JIT isinmasi, ikinci tur raporlanir
+        for (int pass = 0; pass < 2; pass++) {
+            measure(index, pass == 1);
+        }
+        assertThat(index.search("zeynep", 0, 10).getContent()).hasSize(10);
+    }
+
+    private void measure(UserSearchIndex index, boolean report) {
+        for (String query : new String[]{"a", "ze", "zey", "zeynep", "zeynep ka", "yilmaz", "lma", "12345", "ozdemir42"}) {
+            long worst = 0;
+            long total = 0;
+            long matches = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long queryStart = System.nanoTime();
+                matches = index.search(query, 0, 10).getTotalElements();
+                long elapsed = System.nanoTime() - queryStart;
+                worst = Math.max(worst, elapsed);
+                total += elapsed;
+            }
+            if (report) {
+                double average = total / (ROUNDS * 1e6);
+                LOGGER.info("q={} matches={} avg={} ms max={} ms", query, matches,
+                        String.format("%.2f", average), String.format("%.2f", worst / 1e6));
+                assertThat(average).as("average latency of '%s'", query).isLessThan(BUDGET_MS);
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Kullanici aramasi index uzerinden siralanmis ve sayfali donmeli, index entity yazimlariyla guncel kalmali
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserSearchIndexTest {
+
+    private static final int SSN_SERIES = 888;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    private final List<User> createdUsers = new ArrayList<>();
+
+    private String token;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        createdUsers.add(userRepository.save(user("zeynepk", SSN_SERIES, 1, studentRole)
+                .name("Ayse Zeynep")
+                .surname("Kara")
+                .studentNumber(7001)
+                .build()));
+        createdUsers.add(userRepository.save(user("zeynep", SSN_SERIES, 2, studentRole)
+                .name("Zeynep")
+                .surname("Yilmaz")
+                .studentNumber(7002)
+                .build()));
+        createdUsers.add(userRepository.save(user("mzeynepoglu", SSN_SERIES, 3, studentRole)
+                .name("Mehmet")
+                .surname("Zeynepoglu")
+                .studentNumber(7003)
+                .build()));
+        token = login(mockMvc, objectMapper, "SuperAdmin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll(userRepository.findAllById(createdUsers.stream().map(User::getId).toList()));
+        createdUsers.clear();
+    }
+
+    @Test
+    void resultsAreRankedAndPaged() throws Exception {
+        assertThat(userSearchIndex.isReady()).isTrue();
+
+        JsonNode firstPage = search("zeynep", 0, 2);
+        assertThat(firstPage.get("totalElements").asInt()).isEqualTo(3);
+        //!!! tam eslesen username/isim once, kelime basi sonra
+        assertThat(firstPage.get("content").get(0).get("username").asText()).isEqualTo("zeynep");
+        assertThat(firstPage.get("content")).hasSize(2);
+
+        JsonNode secondPage = search("zeynep", 1, 2);
+        assertThat(secondPage.get("content")).hasSize(1);
+
+        //!!! kisa parcalar kelime basinda aranir, birden fazla kelime hepsi eslesmeli
+        assertThat(usernames(search("ze ka", 0, 10))).containsExactly("zeynepk");
+        assertThat(usernames(search("700", 0, 10))).hasSize(3);
+        assertThat(usernames(search("7002", 0, 10))).containsExactly("zeynep");
+    }
+
+    @Test
+    void indexFollowsUserWrites() throws Exception {
+        User renamed = createdUsers.get(2);
+        renamed.setName("Ahmet");
+        userRepository.save(renamed);
+        assertThat(usernames(search("mehmet", 0, 10))).isEmpty();
+        assertThat(usernames(search("ahmet", 0, 10))).containsExactly("mzeynepoglu");
+
+        userRepository.delete(createdUsers.remove(1));
+        assertThat(usernames(search("zeynep", 0, 10))).containsExactly("zeynepk", "mzeynepoglu");
+
+        //!!! getUserByName index'ten ayni anlamla (isim icerir) cevap verir
+        String response = mockMvc.perform(get("/user/getUserByName?name=EYNE")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(objectMapper.readTree(response)).hasSize(1);
+    }
+
+    @Test
+    void invalidPageOrSizeIsRejected() throws Exception {
+        for (String[] paging : new String[][]{{"-1", "10"}, {"0", "0"}, {"0", "-5"}}) {
+            mockMvc.perform(get("/user/search")
+                            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                            .param("q", "zeynep")
+                            .param("page", paging[0])
+                            .param("size", paging[1]))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void scanStopsOnceWindowHoldsBestRankedHits() {
+        UserSearchIndex index = new UserSearchIndex(null);
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "maxResults", 1000);
+        for (long id = 1; id <= 1000; id++) {
+            index.put(id, id % 2 == 0 ? "Ali" : "Veli Ali", "Surname", "user" + id, 0);
+        }
+        //!!! tek harfli isim tam alan eslesmesi, en sonda eklense de ilk sirada gelmeli
+        index.put(1001L, "A", "Surname", "a1001", 0);
+
+        Page<Long> page = index.search("a", 0, 3);
+
+        assertThat(page.getContent()).containsExactly(1001L, 2L, 4L);
+        assertThat(index.search("al", 0, 3).getContent()).containsExactly(2L, 4L, 6L);
+        //!!! tarama erken bittiginde toplam tahmin edilir, yine de bulunan sonuc sayisindan az olamaz
+        assertThat(page.getTotalElements()).isGreaterThanOrEqualTo(3);
+        assertThat(index.search("veli", 0, 600).getTotalElements()).isEqualTo(500);
+    }
+
+    private List<String> usernames(JsonNode page) {
+        List<String> usernames = new ArrayList<>();
+        page.get("content").forEach(user -> usernames.add(user.get("username").asText()));
+        return usernames;
+    }
+
+    private JsonNode search(String query, int page, int size) throws Exception {
+        String response = mockMvc.perform(get("/user/search")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .param("q", query)
+                        .param("page", String.valueOf(page))
+                        .param("size", String.valueOf(size)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
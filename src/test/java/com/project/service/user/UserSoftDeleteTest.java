@@ -0,0 +1,143 @@
+package com.project.service.user;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.entity.concretes.business.Meet;
+import com.project.entity.concretes.business.StudentInfo;
+import com.project.entity.concretes.user.User;
+import com.project.entity.concretes.user.UserRole;
+import com.project.entity.enums.RoleType;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.repository.business.MeetRepository;
+import com.project.repository.business.StudentInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.project.TestSupport.PASSWORD;
+import static com.project.TestSupport.login;
+import static com.project.TestSupport.loginRequest;
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//!!! Silinen kullanici aninda gorunmez olmali, bagimli satirlari ve kendisi arka planda batch'ler halinde silinmeli
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserSoftDeleteTest {
+
+    private static final int SSN_SERIES = 666;
+
+    private static final int STUDENT_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private StudentInfoRepository studentInfoRepository;
+
+    @Autowired
+    private MeetRepository meetRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void deletedTeacherIsHiddenAtOnceAndPurgedInBackground() throws Exception {
+        UserRole teacherRole = userRoleRepository.findByEnumRoleEquals(RoleType.TEACHER).orElseThrow();
+        UserRole studentRole = userRoleRepository.findByEnumRoleEquals(RoleType.STUDENT).orElseThrow();
+        User teacher = userRepository.save(user("purgeTeacher", SSN_SERIES, 0, teacherRole)
+                .isAdvisor(true)
+                .password(passwordEncoder.encode(PASSWORD))
+                .build());
+        List<User> students = new ArrayList<>();
+        for (int i = 1; i <= STUDENT_COUNT; i++) {
+            students.add(userRepository.save(user("purgeStudent" + i, SSN_SERIES, i, studentRole)
+                    .advisorTeacherId(teacher.getId())
+                    .password("not-used")
+                    .build()));
+        }
+        for (User student : students) {
+            studentInfoRepository.save(StudentInfo.builder().teacher(teacher).student(student).absentee(0).build());
+        }
+        //!!! advisoryTeacher PERSIST cascade'li, kullanicilar ayni transaction icinde managed olmali
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < 3; i++) {
+                meetRepository.save(Meet.builder()
+                        .description("Meet " + i)
+                        .date(LocalDate.now().plusDays(i + 1))
+                        .startTime(LocalTime.of(10, 0))
+                        .stopTime(LocalTime.of(11, 0))
+                        .advisoryTeacher(userRepository.getReferenceById(teacher.getId()))
+                        .studentList(new HashSet<>(userRepository.findAllById(students.stream().map(User::getId).toList())))
+                        .build());
+            }
+        });
+        String token = login(mockMvc, objectMapper, "SuperAdmin");
+
+        mockMvc.perform(delete("/user/delete/" + teacher.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        //!!! purge bitmeden once de kullanici hicbir sorguda gorunmemeli ve login olamamali
+        mockMvc.perform(get("/user/getUserById/" + teacher.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(loginRequest(objectMapper, "purgeTeacher", PASSWORD))
+                .andExpect(status().isUnauthorized());
+
+        awaitPurge(teacher.getId());
+
+        assertThat(count("SELECT COUNT(*) FROM student_info WHERE teacher_id = ?", teacher.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM meet WHERE advisory_teacher_id = ?", teacher.getId())).isZero();
+        assertThat(count("SELECT COUNT(*) FROM meet_student_table WHERE student_id = ?", students.get(0).getId()))
+                .isZero();
+        //!!! ogrenciler silinmez, sadece ogretmene bagli satirlar temizlenir
+        assertThat(userRepository.findAllById(students.stream().map(User::getId).toList())).hasSize(STUDENT_COUNT);
+
+        userRepository.deleteAll(students);
+    }
+
+    private void awaitPurge(Long userId) throws InterruptedException {
+        for (int i = 0; i < 100 && count("SELECT COUNT(*) FROM t_user WHERE id = ?", userId) > 0; i++) {
+            Thread.sleep(100);
+        }
+        assertThat(count("SELECT COUNT(*) FROM t_user WHERE id = ?", userId)).isZero();
+    }
+
+    private long count(String sql, Long id) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, id);
+        return count == null ? 0 : count;
+    }
+}
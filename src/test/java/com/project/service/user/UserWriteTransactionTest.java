@@ -0,0 +1,102 @@
+package com.project.service.user;
+
+import com.project.entity.concretes.user.User;
+import com.project.entity.enums.Gender;
+import com.project.entity.enums.RoleType;
+import com.project.payload.request.user.UserRequest;
+import com.project.repository.UserRepository;
+import com.project.repository.UserRoleRepository;
+import com.project.security.service.TokenRevocationRegistry;
+import com.project.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static com.project.TestSupport.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+
+//!!! Kullanici yazimi ile token iptali ayni transaction'da: iptal basarisiz olursa yazim da geri alinmali
+@SpringBootTest
+@ActiveProfiles("test")
+class UserWriteTransactionTest {
+
+    private static final int SSN_SERIES = 282;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private TokenRevocationRegistry tokenRevocationRegistry;
+
+    private User manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = userRepository.save(user("txManager", SSN_SERIES, 1,
+                userRoleRepository.findByEnumRoleEquals(RoleType.ASSISTANT_MANAGER).orElseThrow()).build());
+        doThrow(new IllegalStateException("revocation failed")).when(tokenRevocationRegistry).revokeTokens(anyLong());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(manager.getId());
+    }
+
+    @Test
+    void updateIsRolledBackWhenTokenRevocationFails() {
+        UserRequest request = UserRequest.builder()
+                .username("txManager")
+                .name("Renamed")
+                .surname("Surname")
+                .birthDay(LocalDate.of(2000, 1, 1))
+                .birthPlace("ISTANBUL")
+                .ssn(manager.getSsn())
+                .phoneNumber(manager.getPhoneNumber())
+                .gender(Gender.FEMALE)
+                .email(manager.getEmail())
+                .password("changed-password")
+                .build();
+
+        assertThatThrownBy(() -> userService.updateUser(request, manager.getId(), null))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(column("name")).isEqualTo("txManager");
+        assertThat(column("password")).isEqualTo("not-used");
+    }
+
+    @Test
+    void deleteIsRolledBackWhenTokenRevocationFails() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("username", "SuperAdmin");
+
+        assertThatThrownBy(() -> userService.deleteUserById(manager.getId(), request))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(column("deleted_at")).isNull();
+    }
+
+    private String column(String name) {
+        return jdbcTemplate.queryForObject("SELECT " + name + " FROM t_user WHERE id = ?", String.class,
+                manager.getId());
+    }
+}
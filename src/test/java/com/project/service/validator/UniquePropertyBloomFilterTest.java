@@ -0,0 +1,26 @@
+package com.project.service.validator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//!!! Filtre buyuk/kucuk harf ve bosluk farkli degerler icin "yok" dememeli, aksi halde cakisma DB'ye sorulmadan gecer
+class UniquePropertyBloomFilterTest {
+
+    @Test
+    void mixedCaseDuplicateMightBeContained() {
+        UniquePropertyBloomFilter filter = new UniquePropertyBloomFilter(null);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "expectedInsertions", 1000L);
+        ReflectionTestUtils.setField(filter, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.invokeMethod(filter, "init");
+
+        filter.put("MixedCase", "123-45-6789", "555-555-5555", "Mixed.Case@Test.com");
+
+        assertThat(filter.mightContainAny("mixedcase", "", "", "")).isTrue();
+        assertThat(filter.mightContainAny("MIXEDCASE", "", "", "")).isTrue();
+        assertThat(filter.mightContainAny("", "", "", " mixed.case@test.COM ")).isTrue();
+        assertThat(filter.mightContainAny("otherUser", "", "", "other@test.com")).isFalse();
+    }
+}